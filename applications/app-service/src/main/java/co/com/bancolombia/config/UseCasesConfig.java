@@ -1,10 +1,15 @@
 package co.com.bancolombia.config;
 
+import co.com.bancolombia.model.auth.gateways.PasswordHasher;
 import co.com.bancolombia.model.role.gateways.RoleRepository;
+import co.com.bancolombia.model.user.gateways.UserCache;
 import co.com.bancolombia.model.user.gateways.UserRepository;
+import co.com.bancolombia.model.user.gateways.UserStatisticsRepository;
 import co.com.bancolombia.usecase.auth.AuthUseCase;
+import co.com.bancolombia.usecase.statistics.UserStatisticsUseCase;
 import co.com.bancolombia.usecase.user.UserUseCase;
 import co.com.bancolombia.usecase.user.interfaces.IUserUseCase;
+import co.com.bancolombia.usecase.userimport.UserImportUseCase;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -14,12 +19,25 @@ public class UseCasesConfig {
     
     @Bean
     @Primary
-    public UserUseCase userUseCase(UserRepository userRepository, RoleRepository roleRepository) {
-        return new UserUseCase(userRepository, roleRepository);
+    public UserUseCase userUseCase(UserRepository userRepository, RoleRepository roleRepository,
+                                   UserCache userCache) {
+        return new UserUseCase(userRepository, roleRepository, userCache);
     }
     
     @Bean
-    public AuthUseCase authUseCase(UserUseCase userUseCase) {
-        return new AuthUseCase(userUseCase);
+    public UserStatisticsUseCase userStatisticsUseCase(UserStatisticsRepository userStatisticsRepository) {
+        return new UserStatisticsUseCase(userStatisticsRepository);
+    }
+
+    @Bean
+    public UserImportUseCase userImportUseCase(UserRepository userRepository, RoleRepository roleRepository,
+                                               PasswordHasher passwordHasher) {
+        return new UserImportUseCase(userRepository, roleRepository, passwordHasher);
+    }
+
+    @Bean
+    public AuthUseCase authUseCase(UserUseCase userUseCase, UserRepository userRepository,
+                                   PasswordHasher passwordHasher, UserCache userCache) {
+        return new AuthUseCase(userUseCase, userRepository, passwordHasher, userCache);
     }
 }
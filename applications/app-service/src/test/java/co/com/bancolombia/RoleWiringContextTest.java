@@ -0,0 +1,66 @@
+package co.com.bancolombia;
+
+import co.com.bancolombia.api.authorization.AuthorizationPolicy;
+import co.com.bancolombia.api.authorization.AuthorizationPolicyProperties;
+import co.com.bancolombia.model.role.Role;
+import co.com.bancolombia.model.role.RolePermission;
+import co.com.bancolombia.model.role.gateways.RoleRepository;
+import co.com.bancolombia.r2dbc.role.CachedRoleRepository;
+import co.com.bancolombia.r2dbc.role.RoleCatalogProperties;
+import co.com.bancolombia.r2dbc.role.RoleRepositoryAdapter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Levanta en un contexto de Spring los componentes reales del catalogo de roles y de la politica de
+ * autorizacion, con sus constructores tal como los resuelve la aplicacion; solo la base de datos se simula.
+ */
+class RoleWiringContextTest {
+
+    private static final String ADMIN = "80e86d27-20a4-44be-b90d-44eeb378d409";
+
+    private final RoleRepositoryAdapter adapter = mock(RoleRepositoryAdapter.class);
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withBean(RoleRepositoryAdapter.class, () -> adapter)
+            .withBean(RoleCatalogProperties.class, () -> new RoleCatalogProperties(null))
+            .withBean(AuthorizationPolicyProperties.class, () -> new AuthorizationPolicyProperties(null, null))
+            .withUserConfiguration(CachedRoleRepository.class, AuthorizationPolicy.class);
+
+    @BeforeEach
+    void setUp() {
+        when(adapter.findAllPermissions())
+                .thenReturn(Flux.just(new RolePermission(ADMIN, "GET", "/api/v1/users/{id}", "ALL")));
+        when(adapter.findAll()).thenReturn(Flux.empty());
+    }
+
+    @Test
+    void startsWithThePolicyListeningToTheCachedCatalog() {
+        contextRunner.run(context -> {
+            assertThat(context).hasNotFailed();
+            assertThat(context.getBean(RoleRepository.class)).isInstanceOf(CachedRoleRepository.class);
+            verify(adapter, times(1)).findAllPermissions();
+        });
+    }
+
+    @Test
+    void roleWritesReloadThePolicy() {
+        Role role = new Role(ADMIN, "ADMIN", "Administrador");
+        when(adapter.createRole(any(Role.class))).thenReturn(Mono.just(role));
+
+        contextRunner.run(context -> {
+            StepVerifier.create(context.getBean(RoleRepository.class).createRole(role))
+                    .expectNext(role)
+                    .verifyComplete();
+
+            verify(adapter, times(2)).findAllPermissions();
+        });
+    }
+}
@@ -0,0 +1,160 @@
+package co.com.bancolombia;
+
+import co.com.bancolombia.model.user.UserCursor;
+import co.com.bancolombia.model.user.UserSearchCriteria;
+import co.com.bancolombia.r2dbc.user.UserR2dbcRepository;
+import co.com.bancolombia.r2dbc.user.UserSearchQuery;
+import liquibase.command.CommandScope;
+import liquibase.command.core.UpdateCommandStep;
+import liquibase.command.core.helpers.DbUrlConnectionArgumentsCommandStep;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica contra un Postgres real, con el esquema de Liquibase y datos suficientes para que el
+ * planificador elija por costo, que ni la busqueda filtrada ni la aproximada recorren users completa.
+ * Necesita Docker, por eso no corre en {@code test} sino en {@code dockerTest}, que falla si Docker no esta.
+ */
+@Tag("docker")
+@Testcontainers
+class UserSearchQueryPlanTest {
+
+    private static final String ADMIN = "80e86d27-20a4-44be-b90d-44eeb378d409";
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 1, 5, 0, 0);
+    private static final LocalDateTime TO = FROM.plusDays(1);
+    private static final BigDecimal MIN_SALARY = new BigDecimal("2000000");
+    private static final BigDecimal MAX_SALARY = new BigDecimal("2010000");
+    private static final int LIMIT = 51;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void createSchemaAndData() throws Exception {
+        connection = DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        Database database = DatabaseFactory.getInstance()
+                .findCorrectDatabaseImplementation(new JdbcConnection(connection));
+        new CommandScope(UpdateCommandStep.COMMAND_NAME)
+                .addArgumentValue(DbUrlConnectionArgumentsCommandStep.DATABASE_ARG, database)
+                .addArgumentValue(UpdateCommandStep.CHANGELOG_FILE_ARG, "db/db.changelog-master.xml")
+                .execute();
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO users (id, name, last_name, email_address, base_salary, password,
+                                       creation_date, update_date, id_rol)
+                    SELECT 'user-' || g, 'name' || g, md5(g::text), 'user' || g || '@test.com',
+                           1000000 + (g % 5000) * 1000, 'hash',
+                           timestamp '2024-01-01' + g * interval '1 minute',
+                           timestamp '2024-01-01' + g * interval '1 minute',
+                           (SELECT id_rol FROM roles ORDER BY id_rol OFFSET g % 3 LIMIT 1)
+                    FROM generate_series(1, 50000) g
+                    """);
+            statement.execute("ANALYZE users");
+        }
+    }
+
+    @AfterAll
+    static void closeConnection() throws Exception {
+        connection.close();
+    }
+
+    static Stream<Arguments> filterCombinations() {
+        UserCursor after = new UserCursor(FROM.plusHours(1), "user-5000");
+        return Stream.of(
+                Arguments.of("role", criteria(ADMIN, null, null, null, null, null, null), null),
+                Arguments.of("name prefix", criteria(null, "name4321", null, null, null, null, null), null),
+                Arguments.of("last name prefix", criteria(null, null, "abc", null, null, null, null), null),
+                Arguments.of("salary range", criteria(null, null, null, MIN_SALARY, MAX_SALARY, null, null), null),
+                Arguments.of("creation range", criteria(null, null, null, null, null, FROM, TO), null),
+                Arguments.of("role and salary", criteria(ADMIN, null, null, MIN_SALARY, MAX_SALARY, null, null), null),
+                Arguments.of("role and creation", criteria(ADMIN, null, null, null, null, FROM, TO), null),
+                Arguments.of("role and last name", criteria(ADMIN, null, "abc", null, null, null, null), null),
+                Arguments.of("salary and creation", criteria(null, null, null, MIN_SALARY, MAX_SALARY, FROM, TO), null),
+                Arguments.of("role after cursor", criteria(ADMIN, null, null, null, null, null, null), after),
+                Arguments.of("all filters after cursor",
+                        criteria(ADMIN, "name", "a", MIN_SALARY, MAX_SALARY, FROM, TO), after));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("filterCombinations")
+    void filterCombinationUsesAnIndex(String name, UserSearchCriteria criteria, UserCursor after) throws Exception {
+        UserSearchQuery query = UserSearchQuery.of(criteria, after, LIMIT);
+
+        String plan = explain(query);
+
+        assertThat(plan).as(name + ":%n%s", plan).doesNotContain("Seq Scan on users");
+    }
+
+    @ParameterizedTest(name = "fuzzy {0}")
+    @ValueSource(strings = {"nme123", "user4567@tst", "c4ca4"})
+    void fuzzySearchUsesTheTrigramIndexes(String term) throws Exception {
+        String sql = UserR2dbcRepository.FUZZY_SEARCH.replace(":term", "$1").replace(":limit", "$2");
+
+        String plan;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET pg_trgm.word_similarity_threshold = 0.5");
+            plan = explain(new UserSearchQuery(sql, List.of(term, 20)));
+        }
+
+        assertThat(plan).as("%s:%n%s", term, plan)
+                .doesNotContain("Seq Scan on users")
+                .contains("_trgm");
+    }
+
+    // PREPARE acepta los parametros $n tal como los envia el driver R2DBC
+    private static String explain(UserSearchQuery query) throws Exception {
+        String arguments = query.bindings().stream()
+                .map(UserSearchQueryPlanTest::literal)
+                .collect(Collectors.joining(", "));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PREPARE user_search AS " + query.sql());
+            try (ResultSet rows = statement.executeQuery("EXPLAIN EXECUTE user_search(" + arguments + ")")) {
+                StringBuilder plan = new StringBuilder();
+                while (rows.next()) {
+                    plan.append(rows.getString(1)).append('\n');
+                }
+                return plan.toString();
+            } finally {
+                statement.execute("DEALLOCATE user_search");
+            }
+        }
+    }
+
+    private static String literal(Object value) {
+        if (value instanceof Number) {
+            return value.toString();
+        }
+        return "'" + value.toString().replace("'", "''") + "'";
+    }
+
+    private static UserSearchCriteria criteria(String idRol, String name, String lastName, BigDecimal minSalary,
+                                               BigDecimal maxSalary, LocalDateTime from, LocalDateTime to) {
+        return new UserSearchCriteria(idRol, name, lastName, minSalary, maxSalary, from, to);
+    }
+}
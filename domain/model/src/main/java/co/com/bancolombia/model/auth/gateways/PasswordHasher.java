@@ -0,0 +1,12 @@
+package co.com.bancolombia.model.auth.gateways;
+
+import reactor.core.publisher.Mono;
+
+public interface PasswordHasher {
+
+    Mono<String> encode(String rawPassword);
+
+    Mono<Boolean> matches(String rawPassword, String encodedPassword);
+
+    boolean needsRehash(String encodedPassword);
+}
@@ -0,0 +1,10 @@
+package co.com.bancolombia.model.exception;
+
+public class PreconditionFailedException extends BusinessException {
+
+    public static final String CODE = "PRECONDITION_FAILED";
+
+    public PreconditionFailedException(String message) {
+        super(CODE, message);
+    }
+}
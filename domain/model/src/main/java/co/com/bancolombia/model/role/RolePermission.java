@@ -0,0 +1,14 @@
+package co.com.bancolombia.model.role;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class RolePermission {
+    private String idRol;
+    private String httpMethod;
+    private String route;
+    private String scope;
+}
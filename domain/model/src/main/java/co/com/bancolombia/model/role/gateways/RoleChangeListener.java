@@ -0,0 +1,12 @@
+package co.com.bancolombia.model.role.gateways;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Recibe los cambios de roles o permisos para recalcular lo que dependa de ellos antes de que la
+ * escritura se confirme al llamador.
+ */
+public interface RoleChangeListener {
+
+    Mono<Void> onRolesChanged();
+}
@@ -0,0 +1,13 @@
+package co.com.bancolombia.model.role.gateways;
+
+import co.com.bancolombia.model.role.RolePermission;
+import reactor.core.publisher.Flux;
+
+/**
+ * Lectura de los permisos por rol. Va separada de {@link RoleRepository} porque quien la usa para
+ * autorizar tambien escucha las escrituras de roles y no debe depender del repositorio que le avisa.
+ */
+public interface RolePermissionRepository {
+
+    Flux<RolePermission> findAllPermissions();
+}
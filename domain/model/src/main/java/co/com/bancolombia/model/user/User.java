@@ -4,6 +4,7 @@ import lombok.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 
 @Data
@@ -22,6 +23,8 @@ public class User {
     private String idRol;
     private Role role;
     private String password;
+    private LocalDateTime creationDate;
+    private LocalDateTime updateDate;
 
     public static class UserBuilder {
         public UserBuilder name(String name) {
@@ -44,8 +47,7 @@ public class User {
             if(emailAddress == null || emailAddress.trim().isEmpty()){
                 throw new IllegalArgumentException("Email no puede ser Nulo o Vacio");
             }
-            String emailRegex = "^[A-Za-z0-9+_.-]+@([A-Za-z0-9.-]+\\.[A-Za-z]{2,})$";
-            if(!emailAddress.matches(emailRegex)){
+            if(!UserRules.isValidEmail(emailAddress)){
                 throw new IllegalArgumentException("Email no cumple con el formato ");
             }
             this.emailAddress = emailAddress;
@@ -56,7 +58,7 @@ public class User {
             if(baseSalary == null || baseSalary.compareTo(BigDecimal.ZERO) < 0){
                 throw new IllegalArgumentException("Salario no puede ser Nulo o menor que 0");
             }
-            if(baseSalary.compareTo(new BigDecimal("15000000")) > 0){
+            if(UserRules.exceedsMaxBaseSalary(baseSalary)){
                 throw new IllegalArgumentException("Salario no puede ser mayor que 15000000");
             }
             this.baseSalary = baseSalary;
@@ -96,8 +98,7 @@ public class User {
             throw new IllegalArgumentException("El correo electrónico no puede ser nulo o vacío");
         }
 
-        String emailRegex = "^[A-Za-z0-9+_.-]+@([A-Za-z0-9.-]+\\.[A-Za-z]{2,})$";
-        if (!emailAddress.matches(emailRegex)) {
+        if (!UserRules.isValidEmail(emailAddress)) {
             throw new IllegalArgumentException("El formato del correo electrónico no es válido");
         }
 
@@ -109,7 +110,7 @@ public class User {
             throw new IllegalArgumentException("El salario base debe ser mayor a 0");
         }
 
-        if (baseSalary.compareTo(new BigDecimal("15000000")) > 0) {
+        if (UserRules.exceedsMaxBaseSalary(baseSalary)) {
             throw new IllegalArgumentException("El salario base no puede ser mayor a 15,000,000");
         }
 
@@ -0,0 +1,89 @@
+package co.com.bancolombia.model.user;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cambios parciales sobre un usuario: solo las columnas presentes se actualizan. Un valor null en un campo
+ * opcional (fecha de nacimiento, direccion, telefono) lo borra; en los obligatorios no se admite.
+ */
+public record UserChanges(Map<UserField, Object> values) {
+
+    private static final Set<UserField> EDITABLE = Set.of(UserField.NAME, UserField.LAST_NAME,
+            UserField.BIRTH_DATE, UserField.ADDRESS, UserField.PHONE, UserField.EMAIL_ADDRESS,
+            UserField.BASE_SALARY, UserField.ID_ROL);
+    private static final Set<UserField> OPTIONAL = Set.of(UserField.BIRTH_DATE, UserField.ADDRESS, UserField.PHONE);
+
+    public UserChanges {
+        // EnumMap admite valores null, que aqui significan borrar el campo
+        values = Collections.unmodifiableMap(values.isEmpty() ? new EnumMap<>(UserField.class) : new EnumMap<>(values));
+    }
+
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    public boolean contains(UserField field) {
+        return values.containsKey(field);
+    }
+
+    public Object get(UserField field) {
+        return values.get(field);
+    }
+
+    public void validate() {
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("Debe enviar al menos un campo para actualizar");
+        }
+        values.forEach((field, value) -> {
+            if (!EDITABLE.contains(field)) {
+                throw new IllegalArgumentException("El campo " + field + " no se puede actualizar");
+            }
+            if (value == null && !OPTIONAL.contains(field)) {
+                throw new IllegalArgumentException("El campo " + field + " no puede ser nulo");
+            }
+        });
+        text(UserField.NAME, "El nombre no puede ser vacío");
+        text(UserField.LAST_NAME, "Los apellidos no pueden ser vacíos");
+        text(UserField.ADDRESS, null);
+        text(UserField.PHONE, null);
+        text(UserField.ID_ROL, "El ID del rol no puede ser vacío");
+        String email = text(UserField.EMAIL_ADDRESS, "El correo electrónico no puede ser vacío");
+        if (email != null && !UserRules.isValidEmail(email)) {
+            throw new IllegalArgumentException("El formato del correo electrónico no es válido");
+        }
+        if (contains(UserField.BIRTH_DATE) && get(UserField.BIRTH_DATE) != null
+                && !(get(UserField.BIRTH_DATE) instanceof LocalDate)) {
+            throw new IllegalArgumentException("La fecha de nacimiento no es válida");
+        }
+        if (contains(UserField.BASE_SALARY)) {
+            if (!(get(UserField.BASE_SALARY) instanceof BigDecimal salary)) {
+                throw new IllegalArgumentException("El salario base no es válido");
+            }
+            if (salary.compareTo(BigDecimal.ZERO) <= 0) {
+                throw new IllegalArgumentException("El salario base debe ser mayor a 0");
+            }
+            if (UserRules.exceedsMaxBaseSalary(salary)) {
+                throw new IllegalArgumentException("El salario base no puede ser mayor a 15,000,000");
+            }
+        }
+    }
+
+    private String text(UserField field, String blankMessage) {
+        Object value = get(field);
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof String text)) {
+            throw new IllegalArgumentException("El campo " + field + " debe ser texto");
+        }
+        if (blankMessage != null && text.isBlank()) {
+            throw new IllegalArgumentException(blankMessage);
+        }
+        return text;
+    }
+}
@@ -0,0 +1,9 @@
+package co.com.bancolombia.model.user;
+
+import java.time.LocalDateTime;
+
+/**
+ * Posicion de la ultima fila leida en el orden (creation_date, id).
+ */
+public record UserCursor(LocalDateTime creationDate, String id) {
+}
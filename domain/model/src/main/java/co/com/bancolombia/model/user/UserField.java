@@ -0,0 +1,24 @@
+package co.com.bancolombia.model.user;
+
+import java.util.Set;
+
+/**
+ * Campos de {@link UserProfile} que un cliente puede pedir de forma selectiva. El id, la fecha de creacion
+ * y la de actualizacion se leen siempre porque sostienen el cursor y los validadores de cache.
+ */
+public enum UserField {
+    ID,
+    NAME,
+    LAST_NAME,
+    BIRTH_DATE,
+    ADDRESS,
+    PHONE,
+    EMAIL_ADDRESS,
+    BASE_SALARY,
+    ID_ROL,
+    ROLE;
+
+    public static boolean selectsAll(Set<UserField> fields) {
+        return fields == null || fields.containsAll(Set.of(values()));
+    }
+}
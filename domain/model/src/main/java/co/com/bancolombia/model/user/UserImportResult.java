@@ -0,0 +1,22 @@
+package co.com.bancolombia.model.user;
+
+/**
+ * Resultado de una fila importada; {@code id} solo viene cuando el usuario se creo.
+ */
+public record UserImportResult(long line, String id, String emailAddress, Status status, String message) {
+
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID,
+        FAILED
+    }
+
+    public static UserImportResult created(long line, User user) {
+        return new UserImportResult(line, user.getId(), user.getEmailAddress(), Status.CREATED, null);
+    }
+
+    public static UserImportResult rejected(long line, String emailAddress, Status status, String message) {
+        return new UserImportResult(line, null, emailAddress, status, message);
+    }
+}
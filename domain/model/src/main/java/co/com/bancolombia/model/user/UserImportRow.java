@@ -0,0 +1,16 @@
+package co.com.bancolombia.model.user;
+
+/**
+ * Fila leida de un archivo de importacion. {@code error} trae el motivo cuando la fila no se pudo
+ * convertir en un {@link User}; en ese caso {@code user} es nulo.
+ */
+public record UserImportRow(long line, User user, String error) {
+
+    public static UserImportRow valid(long line, User user) {
+        return new UserImportRow(line, user, null);
+    }
+
+    public static UserImportRow invalid(long line, String error) {
+        return new UserImportRow(line, null, error);
+    }
+}
@@ -0,0 +1,9 @@
+package co.com.bancolombia.model.user;
+
+import java.util.List;
+
+/**
+ * Pagina de usuarios; {@code next} es nulo cuando no hay mas resultados.
+ */
+public record UserPage(List<UserProfile> users, UserCursor next) {
+}
@@ -0,0 +1,8 @@
+package co.com.bancolombia.model.user;
+
+/**
+ * Usuario tal como quedo despues de una actualizacion parcial y el correo que tenia antes, para poder
+ * invalidar en cache la entrada del correo anterior cuando cambia.
+ */
+public record UserPatchResult(User user, String previousEmailAddress) {
+}
@@ -0,0 +1,34 @@
+package co.com.bancolombia.model.user;
+
+import co.com.bancolombia.model.role.Role;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Modelo de lectura del usuario para consultas y listados. No incluye la contrasena: el flujo de
+ * credenciales sigue usando {@link User}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class UserProfile {
+    private String id;
+    private String name;
+    private String lastName;
+    private LocalDate birthDate;
+    private String address;
+    private String phone;
+    private String emailAddress;
+    private BigDecimal baseSalary;
+    private String idRol;
+    private Role role;
+    private LocalDateTime creationDate;
+    private LocalDateTime updateDate;
+}
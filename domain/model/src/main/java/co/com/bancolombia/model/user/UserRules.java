@@ -0,0 +1,26 @@
+package co.com.bancolombia.model.user;
+
+import java.math.BigDecimal;
+import java.util.regex.Pattern;
+
+/**
+ * Reglas de negocio compartidas por la creacion ({@link User}) y la actualizacion parcial ({@link UserChanges})
+ * de usuarios, para que ambas validen contra los mismos limites.
+ */
+public final class UserRules {
+
+    public static final Pattern EMAIL_FORMAT = Pattern.compile("^[A-Za-z0-9+_.-]+@([A-Za-z0-9.-]+\\.[A-Za-z]{2,})$");
+    public static final BigDecimal MAX_BASE_SALARY = new BigDecimal("15000000");
+
+    private UserRules() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static boolean isValidEmail(String emailAddress) {
+        return EMAIL_FORMAT.matcher(emailAddress).matches();
+    }
+
+    public static boolean exceedsMaxBaseSalary(BigDecimal baseSalary) {
+        return baseSalary.compareTo(MAX_BASE_SALARY) > 0;
+    }
+}
@@ -0,0 +1,26 @@
+package co.com.bancolombia.model.user;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Filtros opcionales de la busqueda de usuarios. Un valor nulo significa que el filtro no aplica;
+ * los prefijos se comparan sin distinguir mayusculas y los rangos incluyen sus extremos.
+ */
+public record UserSearchCriteria(String idRol,
+                                 String namePrefix,
+                                 String lastNamePrefix,
+                                 BigDecimal minSalary,
+                                 BigDecimal maxSalary,
+                                 LocalDateTime createdFrom,
+                                 LocalDateTime createdTo) {
+
+    public void validate() {
+        if (minSalary != null && maxSalary != null && minSalary.compareTo(maxSalary) > 0) {
+            throw new IllegalArgumentException("El salario minimo no puede ser mayor al salario maximo");
+        }
+        if (createdFrom != null && createdTo != null && createdFrom.isAfter(createdTo)) {
+            throw new IllegalArgumentException("La fecha inicial no puede ser posterior a la fecha final");
+        }
+    }
+}
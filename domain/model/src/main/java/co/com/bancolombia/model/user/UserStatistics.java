@@ -0,0 +1,33 @@
+package co.com.bancolombia.model.user;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Agregados de usuarios calculados en la base de datos para los tableros. {@code registrationsPerDay} trae
+ * un elemento por cada dia del periodo, con cero en los dias sin registros.
+ */
+public record UserStatistics(long totalUsers,
+                             List<RoleCount> usersPerRole,
+                             SalaryDistribution salary,
+                             List<DailyCount> registrationsPerDay) {
+
+    public record RoleCount(String idRol, String nombre, long users) {
+    }
+
+    /**
+     * Todos los valores son nulos cuando no hay usuarios.
+     */
+    public record SalaryDistribution(BigDecimal min,
+                                     BigDecimal max,
+                                     BigDecimal average,
+                                     BigDecimal p25,
+                                     BigDecimal median,
+                                     BigDecimal p75,
+                                     BigDecimal p90) {
+    }
+
+    public record DailyCount(LocalDate day, long users) {
+    }
+}
@@ -0,0 +1,16 @@
+package co.com.bancolombia.model.user.gateways;
+
+import co.com.bancolombia.model.user.User;
+import co.com.bancolombia.model.user.UserProfile;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+public interface UserCache {
+
+    Mono<UserProfile> getById(String id, Function<String, Mono<UserProfile>> loader);
+
+    Mono<User> getByEmailAddress(String emailAddress, Function<String, Mono<User>> loader);
+
+    Mono<Void> invalidate(User user);
+}
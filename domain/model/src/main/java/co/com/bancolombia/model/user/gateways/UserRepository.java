@@ -1,22 +1,62 @@
 package co.com.bancolombia.model.user.gateways;
 
 import co.com.bancolombia.model.user.User;
+import co.com.bancolombia.model.user.UserChanges;
+import co.com.bancolombia.model.user.UserCursor;
+import co.com.bancolombia.model.user.UserField;
+import co.com.bancolombia.model.user.UserPatchResult;
+import co.com.bancolombia.model.user.UserProfile;
+import co.com.bancolombia.model.user.UserSearchCriteria;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
 public interface UserRepository {
 
     Mono<User> createUser(User usuario);
 
+    /**
+     * Inserta el lote en una sola sentencia; los correos ya registrados se omiten.
+     *
+     * @return los correos de los usuarios que si se insertaron
+     */
+    Flux<String> createUsers(List<User> usuarios);
+
     Mono<User> updateUser(User usuario);
 
-    Mono<Boolean> emailAddressExists(String emailAddress);
+    /**
+     * Actualiza solo las columnas de {@code changes} en una sentencia condicionada a la version.
+     *
+     * @param expectedVersions valores de update_date aceptados; {@code null} acepta cualquier version
+     * @return el usuario actualizado, o vacio si no existe o su version ya no es ninguna de las esperadas
+     */
+    Mono<UserPatchResult> patchUser(String id, UserChanges changes, Set<LocalDateTime> expectedVersions);
+
+    Mono<Void> updatePassword(String id, String password);
 
     Mono<User> getUserById(String id);
 
     Mono<User> getUserByEmailAddress(String emailAddress);
 
-    Flux<User> findAll();
+    Mono<UserProfile> getUserProfileById(String id);
+
+    Mono<UserProfile> getUserProfileById(String id, Set<UserField> fields);
+
+    Flux<UserProfile> findProfilesByIds(Collection<String> ids);
+
+    Flux<UserProfile> findAll();
+
+    Flux<UserProfile> findPage(UserCursor after, int limit);
+
+    Flux<UserProfile> findPage(UserCursor after, int limit, Set<UserField> fields);
+
+    Flux<UserProfile> search(UserSearchCriteria criteria, UserCursor after, int limit);
+
+    Flux<UserProfile> fuzzySearch(String term, int limit);
 
     Mono<Void> deleteById(String id);
 }
@@ -0,0 +1,9 @@
+package co.com.bancolombia.model.user.gateways;
+
+import co.com.bancolombia.model.user.UserStatistics;
+import reactor.core.publisher.Mono;
+
+public interface UserStatisticsRepository {
+
+    Mono<UserStatistics> getStatistics();
+}
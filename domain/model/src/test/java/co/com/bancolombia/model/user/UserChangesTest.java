@@ -0,0 +1,54 @@
+package co.com.bancolombia.model.user;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserChangesTest {
+
+    @Test
+    void optionalFieldsCanBeCleared() {
+        Map<UserField, Object> values = new HashMap<>();
+        values.put(UserField.PHONE, null);
+        values.put(UserField.NAME, "Pedro");
+        UserChanges changes = new UserChanges(values);
+
+        assertDoesNotThrow(changes::validate);
+        assertTrue(changes.contains(UserField.PHONE));
+        assertNull(changes.get(UserField.PHONE));
+        assertFalse(changes.contains(UserField.ADDRESS));
+    }
+
+    @Test
+    void requiredFieldsCannotBeCleared() {
+        Map<UserField, Object> values = new HashMap<>();
+        values.put(UserField.EMAIL_ADDRESS, null);
+
+        assertThrows(IllegalArgumentException.class, () -> new UserChanges(values).validate());
+    }
+
+    @Test
+    void valuesAreValidatedLikeANewUser() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new UserChanges(Map.of(UserField.EMAIL_ADDRESS, "no-es-correo")).validate());
+        assertThrows(IllegalArgumentException.class,
+                () -> new UserChanges(Map.of(UserField.BASE_SALARY, new BigDecimal("15000001"))).validate());
+        assertThrows(IllegalArgumentException.class,
+                () -> new UserChanges(Map.of(UserField.ID, "otro")).validate());
+        assertThrows(IllegalArgumentException.class, () -> new UserChanges(Map.of()).validate());
+    }
+
+    @Test
+    void sharesTheLimitsOfANewUser() {
+        User user = User.builder().name("Juan").lastName("Perez").emailAddress("juan+pruebas@email.co")
+                .baseSalary(UserRules.MAX_BASE_SALARY).idRol("DEV").password("secreto").build();
+
+        assertDoesNotThrow(user::validateData);
+        assertDoesNotThrow(() -> new UserChanges(Map.of(UserField.EMAIL_ADDRESS, user.getEmailAddress(),
+                UserField.BASE_SALARY, user.getBaseSalary())).validate());
+    }
+}
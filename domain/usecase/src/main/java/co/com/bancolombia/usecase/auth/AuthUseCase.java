@@ -1,30 +1,59 @@
 package co.com.bancolombia.usecase.auth;
 
 import co.com.bancolombia.model.auth.Auth;
+import co.com.bancolombia.model.auth.gateways.PasswordHasher;
 import co.com.bancolombia.model.exception.AuthException;
+import co.com.bancolombia.model.user.User;
+import co.com.bancolombia.model.user.gateways.UserCache;
+import co.com.bancolombia.model.user.gateways.UserRepository;
 import co.com.bancolombia.usecase.user.UserUseCase;
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Mono;
 
 import java.util.UUID;
 import java.util.function.BiFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 @RequiredArgsConstructor
 public class AuthUseCase {
+    private static final Logger LOGGER = Logger.getLogger(AuthUseCase.class.getName());
+
     private final UserUseCase userUseCase;
+    private final UserRepository userRepository;
+    private final PasswordHasher passwordHasher;
+    private final UserCache userCache;
 
     public Mono<Auth> login(String email,
                             String password,
-                            BiFunction<UUID, UUID, String> tokenGenerator,
-                            BiFunction<String, String, Boolean> passwordMatches){
+                            BiFunction<UUID, UUID, String> tokenGenerator){
         return userUseCase.getUserByEmailAddress(email)
                 .switchIfEmpty(Mono.error(() -> new AuthException("User not found for email: " + email)))
-                .flatMap(user -> {
-                    if (!passwordMatches.apply(password, user.getPassword())) {
-                        return Mono.error(() -> new AuthException("Invalid credentials"));
-                    }
-                    String token = tokenGenerator.apply(UUID.fromString(user.getId()), UUID.fromString(user.getIdRol()));
-                    return Mono.just(new Auth(UUID.fromString(user.getId()), UUID.fromString(user.getIdRol()), token, user.getName()));
-                });
+                .flatMap(user -> passwordHasher.matches(password, user.getPassword())
+                        .flatMap(matches -> {
+                            if (!Boolean.TRUE.equals(matches)) {
+                                return Mono.error(() -> new AuthException("Invalid credentials"));
+                            }
+                            rehashIfOutdated(user, password);
+                            String token = tokenGenerator.apply(UUID.fromString(user.getId()), UUID.fromString(user.getIdRol()));
+                            return Mono.just(new Auth(UUID.fromString(user.getId()), UUID.fromString(user.getIdRol()), token, user.getName()));
+                        }));
+    }
+
+    /**
+     * Actualiza en segundo plano el hash almacenado cuando fue generado con un costo menor al actual.
+     * La contraseña ya se verifico, asi que el login no espera el nuevo hash ni falla por el; si la
+     * actualizacion no se completa queda registrada y se reintenta en el siguiente login.
+     */
+    private void rehashIfOutdated(User user, String password) {
+        if (!passwordHasher.needsRehash(user.getPassword())) {
+            return;
+        }
+        passwordHasher.encode(password)
+                .flatMap(hash -> userRepository.updatePassword(user.getId(), hash))
+                .then(Mono.defer(() -> userCache.invalidate(user)))
+                .subscribe(null, error -> LOGGER.log(Level.WARNING,
+                        "No se pudo actualizar el hash del usuario {0}: {1}",
+                        new Object[]{user.getId(), error.getMessage()}));
     }
 }
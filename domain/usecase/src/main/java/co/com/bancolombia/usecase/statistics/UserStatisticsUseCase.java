@@ -0,0 +1,20 @@
+package co.com.bancolombia.usecase.statistics;
+
+import co.com.bancolombia.model.exception.InvalidDataException;
+import co.com.bancolombia.model.user.UserStatistics;
+import co.com.bancolombia.model.user.gateways.UserStatisticsRepository;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class UserStatisticsUseCase {
+
+    private final UserStatisticsRepository userStatisticsRepository;
+
+    public Mono<UserStatistics> getStatistics() {
+        return userStatisticsRepository.getStatistics()
+                .onErrorMap(error ->
+                        new InvalidDataException("Error interno al obtener estadisticas de usuarios", error)
+                );
+    }
+}
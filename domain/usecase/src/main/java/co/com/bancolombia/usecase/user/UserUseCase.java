@@ -1,26 +1,49 @@
 package co.com.bancolombia.usecase.user;
 
+import co.com.bancolombia.model.exception.BusinessException;
 import co.com.bancolombia.model.exception.InvalidDataException;
+import co.com.bancolombia.model.exception.PreconditionFailedException;
 import co.com.bancolombia.model.exception.UserExistsException;
 import co.com.bancolombia.model.role.gateways.RoleRepository;
 import co.com.bancolombia.model.user.User;
+import co.com.bancolombia.model.user.UserChanges;
+import co.com.bancolombia.model.user.UserCursor;
+import co.com.bancolombia.model.user.UserField;
+import co.com.bancolombia.model.user.UserPage;
+import co.com.bancolombia.model.user.UserPatchResult;
+import co.com.bancolombia.model.user.UserProfile;
+import co.com.bancolombia.model.user.UserSearchCriteria;
+import co.com.bancolombia.model.user.gateways.UserCache;
 import co.com.bancolombia.model.user.gateways.UserRepository;
 import co.com.bancolombia.usecase.user.interfaces.IUserUseCase;
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Flux;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Predicate;
 
 @RequiredArgsConstructor
 public class UserUseCase implements IUserUseCase {
 
+    private static final int MIN_FUZZY_TERM_LENGTH = 3;
+    private static final int MAX_BATCH_IDS = 100;
+    private static final Set<UserField> VERSION_FIELDS = Set.of(UserField.ID_ROL);
+
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
+    private final UserCache userCache;
 
+    // El correo repetido y el rol inexistente los detectan las restricciones de users en el mismo INSERT;
+    // el rol se revisa antes porque el catalogo esta en memoria y no cuesta una consulta
     public Mono<User> saveUser(User user) {
         return Mono.fromRunnable(() -> validateData(user))
-                .then(confirmEmailNotRegistered(user.getEmailAddress()))
                 .then(confirmRoleExists(user.getIdRol()))
                 .then(Mono.fromCallable(() -> asignarId(user)))
                 .flatMap(this::createUser);
@@ -30,31 +53,81 @@ public class UserUseCase implements IUserUseCase {
         return Mono.fromRunnable(() -> validateData(usuario))
                 .then(userRepository.getUserById(id))
                 .switchIfEmpty(Mono.error(new UserExistsException(id)))
-                .then(confirmRoleExists(usuario.getIdRol()))
-                .then(Mono.fromCallable(() -> usuario.toBuilder().id(id).build()))
-                .flatMap(userRepository::updateUser);
+                .flatMap(existing -> confirmRoleExists(usuario.getIdRol())
+                        .then(Mono.fromCallable(() -> usuario.toBuilder()
+                                .id(id)
+                                .creationDate(existing.getCreationDate())
+                                .build()))
+                        .flatMap(userRepository::updateUser)
+                        // Se invalida el correo anterior y el nuevo por si el correo cambio
+                        .flatMap(updated -> userCache.invalidate(existing)
+                                .then(userCache.invalidate(updated))
+                                .thenReturn(updated)));
     }
 
-    private void validateData(User user) {
+    /*
+     * Una sola sentencia actualiza las columnas enviadas si la version sigue siendo la esperada. Si no se
+     * actualizo nada el usuario no existe o alguien mas lo modifico, y sin lecturas extra ambos casos se
+     * reportan como precondicion fallida.
+     */
+    public Mono<User> patchUser(String id, UserChanges changes, Set<LocalDateTime> expectedVersions) {
+        return Mono.fromRunnable(() -> validateChanges(changes))
+                .then(Mono.defer(() -> changes.contains(UserField.ID_ROL)
+                        ? confirmRoleExists((String) changes.get(UserField.ID_ROL))
+                        : Mono.<Void>empty()))
+                // Sin versiones validas la condicion nunca se cumple y no hace falta ir a la base de datos
+                .then(Mono.defer(() -> expectedVersions != null && expectedVersions.isEmpty()
+                        ? Mono.<UserPatchResult>empty()
+                        : userRepository.patchUser(id, changes, expectedVersions)))
+                .switchIfEmpty(Mono.error(() -> new PreconditionFailedException(
+                        "El usuario " + id + " no existe o fue modificado por otra solicitud")))
+                .flatMap(result -> invalidatePatched(result).then(withRole(result.user())))
+                .onErrorMap(error -> {
+                    if (error instanceof BusinessException) {
+                        return error;
+                    }
+                    return new InvalidDataException("Error interno al actualizar usuario", error);
+                });
+    }
+
+    // El RETURNING solo trae columnas de users; el rol viene del catalogo como en la consulta por id
+    private Mono<User> withRole(User user) {
+        if (user.getIdRol() == null) {
+            return Mono.just(user);
+        }
+        return roleRepository.getRoleById(user.getIdRol())
+                .map(role -> user.toBuilder().role(role).build())
+                .defaultIfEmpty(user);
+    }
+
+    private Mono<Void> invalidatePatched(UserPatchResult result) {
+        User updated = result.user();
+        if (result.previousEmailAddress() == null
+                || result.previousEmailAddress().equals(updated.getEmailAddress())) {
+            return userCache.invalidate(updated);
+        }
+        return userCache.invalidate(updated)
+                .then(userCache.invalidate(updated.toBuilder().emailAddress(result.previousEmailAddress()).build()));
+    }
+
+    private void validateChanges(UserChanges changes) {
         try {
-            user.validateData();
+            changes.validate();
         } catch (IllegalArgumentException e) {
             throw new InvalidDataException(e.getMessage());
         }
     }
 
-    private Mono<Void> confirmEmailNotRegistered(String emailAddress) {
-        return userRepository.emailAddressExists(emailAddress)
-                .flatMap(existe -> {
-                    if (existe) {
-                        return Mono.error(new UserExistsException(emailAddress));
-                    }
-                    return Mono.empty();
-                });
+    private void validateData(User user) {
+        try {
+            user.validateData();
+        } catch (IllegalArgumentException e) {
+            throw new InvalidDataException(e.getMessage());
+        }
     }
 
     public Mono<User> getUserByEmailAddress(String email_address) {
-        return userRepository.getUserByEmailAddress(email_address)
+        return userCache.getByEmailAddress(email_address, userRepository::getUserByEmailAddress)
                 .switchIfEmpty(Mono.error(new UserExistsException("Usuario no encontrado con Email: " + email_address)))
                 .onErrorMap(error -> {
                     if (error instanceof UserExistsException) {
@@ -82,20 +155,121 @@ public class UserUseCase implements IUserUseCase {
 
     private Mono<User> createUser(User user) {
         return userRepository.createUser(user)
-                .onErrorMap(error ->
-                        new InvalidDataException("Error interno al guardar usuario", error)
-                );
+                .onErrorMap(error -> {
+                    if (error instanceof UserExistsException || error instanceof InvalidDataException) {
+                        return error;
+                    }
+                    return new InvalidDataException("Error interno al guardar usuario", error);
+                });
     }
 
-    public Flux<User> getAllUsers() {
+    public Flux<UserProfile> getAllUsers() {
         return userRepository.findAll()
                 .onErrorMap(error ->
                         new InvalidDataException("Error interno al obtener usuarios", error)
                 );
     }
 
-    public Mono<User> getUserById(String id) {
-        return userRepository.getUserById(id)
+    public Mono<UserPage> getUsersPage(UserCursor after, int limit) {
+        if (limit < 1) {
+            return Mono.error(new InvalidDataException("El limite de la pagina debe ser mayor a 0"));
+        }
+        // Se pide un registro extra para saber si existe una pagina siguiente
+        return toPage(userRepository.findPage(after, limit + 1), limit);
+    }
+
+    // Con una seleccion parcial de campos la consulta solo lee esas columnas
+    public Mono<UserPage> getUsersPage(UserCursor after, int limit, Set<UserField> fields) {
+        if (UserField.selectsAll(fields)) {
+            return getUsersPage(after, limit);
+        }
+        if (limit < 1) {
+            return Mono.error(new InvalidDataException("El limite de la pagina debe ser mayor a 0"));
+        }
+        return toPage(userRepository.findPage(after, limit + 1, fields), limit);
+    }
+
+    public Mono<UserPage> searchUsers(UserSearchCriteria criteria, UserCursor after, int limit) {
+        if (limit < 1) {
+            return Mono.error(new InvalidDataException("El limite de la pagina debe ser mayor a 0"));
+        }
+        try {
+            criteria.validate();
+        } catch (IllegalArgumentException e) {
+            return Mono.error(new InvalidDataException(e.getMessage()));
+        }
+        return toPage(userRepository.search(criteria, after, limit + 1), limit);
+    }
+
+    // Con menos de tres caracteres no hay trigramas completos y la busqueda no puede usar el indice
+    public Flux<UserProfile> fuzzySearch(String term, int limit) {
+        String normalized = term == null ? "" : term.strip();
+        if (normalized.length() < MIN_FUZZY_TERM_LENGTH) {
+            return Flux.error(new InvalidDataException(
+                    "El termino de busqueda debe tener al menos " + MIN_FUZZY_TERM_LENGTH + " caracteres"));
+        }
+        if (limit < 1) {
+            return Flux.error(new InvalidDataException("El limite de resultados debe ser mayor a 0"));
+        }
+        return userRepository.fuzzySearch(normalized, limit)
+                .onErrorMap(error ->
+                        new InvalidDataException("Error interno al buscar usuarios", error)
+                );
+    }
+
+    private Mono<UserPage> toPage(Flux<UserProfile> rows, int limit) {
+        return rows.collectList()
+                .map(users -> {
+                    if (users.size() <= limit) {
+                        return new UserPage(users, null);
+                    }
+                    List<UserProfile> page = users.subList(0, limit);
+                    UserProfile last = page.get(limit - 1);
+                    return new UserPage(page, new UserCursor(last.getCreationDate(), last.getId()));
+                })
+                .onErrorMap(error -> {
+                    if (error instanceof InvalidDataException) {
+                        return error;
+                    }
+                    return new InvalidDataException("Error interno al obtener usuarios", error);
+                });
+    }
+
+    // El rol se toma del catalogo en memoria: editar un rol no invalida los perfiles que lo tienen en cache
+    public Mono<UserProfile> getUserById(String id) {
+        return userCache.getById(id, userRepository::getUserProfileById)
+                .flatMap(this::withCurrentRole)
+                .switchIfEmpty(Mono.error(new UserExistsException("Usuario no encontrado con ID: " + id)))
+                .onErrorMap(error -> {
+                    if (error instanceof UserExistsException) {
+                        return error;
+                    }
+                    return new InvalidDataException("Error interno al obtener usuario", error);
+                });
+    }
+
+    // La cache guarda perfiles completos; una seleccion parcial se consulta directamente con menos columnas
+    public Mono<UserProfile> getUserById(String id, Set<UserField> fields) {
+        if (UserField.selectsAll(fields)) {
+            return getUserById(id);
+        }
+        return userRepository.getUserProfileById(id, fields)
+                .switchIfEmpty(Mono.error(new UserExistsException("Usuario no encontrado con ID: " + id)))
+                .onErrorMap(error -> {
+                    if (error instanceof UserExistsException) {
+                        return error;
+                    }
+                    return new InvalidDataException("Error interno al obtener usuario", error);
+                });
+    }
+
+    /*
+     * Version actual del usuario para los validadores de cache: update_date e id_rol por llave primaria, sin
+     * pasar por la cache (otra instancia pudo modificarlo) y con el rol del catalogo como en getUserById.
+     */
+    public Mono<UserProfile> getUserVersion(String id) {
+        return userRepository.getUserProfileById(id, VERSION_FIELDS)
+                .flatMap(this::withCurrentRole)
                 .switchIfEmpty(Mono.error(new UserExistsException("Usuario no encontrado con ID: " + id)))
                 .onErrorMap(error -> {
                     if (error instanceof UserExistsException) {
@@ -105,6 +279,54 @@ public class UserUseCase implements IUserUseCase {
                 });
     }
 
+    // Si la cache tiene una version anterior (otra instancia modifico el usuario) se lee la fila de la base
+    public Mono<UserProfile> getCurrentUserById(String id, LocalDateTime version) {
+        return getUserById(id)
+                .filter(profile -> Objects.equals(profile.getUpdateDate(), version))
+                .switchIfEmpty(Mono.defer(() -> userRepository.getUserProfileById(id)
+                        .flatMap(this::withCurrentRole)
+                        .switchIfEmpty(Mono.error(new UserExistsException("Usuario no encontrado con ID: " + id)))
+                        .onErrorMap(error -> {
+                            if (error instanceof UserExistsException) {
+                                return error;
+                            }
+                            return new InvalidDataException("Error interno al obtener usuario", error);
+                        })));
+    }
+
+    private Mono<UserProfile> withCurrentRole(UserProfile profile) {
+        if (profile.getIdRol() == null) {
+            return Mono.just(profile);
+        }
+        return roleRepository.getRoleById(profile.getIdRol())
+                .map(role -> profile.toBuilder().role(role).build())
+                .defaultIfEmpty(profile);
+    }
+
+    /*
+     * Una sola consulta para los ids permitidos; los que no existen simplemente no aparecen en el mapa. El
+     * limite se revisa sobre la lista completa para que una solicitud grande no pase por tener pocos permitidos.
+     */
+    public Mono<Map<String, UserProfile>> getUsersByIds(List<String> ids, Predicate<String> allowed) {
+        if (ids == null || ids.isEmpty()) {
+            return Mono.error(new InvalidDataException("Debe enviar al menos un ID de usuario"));
+        }
+        if (ids.size() > MAX_BATCH_IDS) {
+            return Mono.error(new InvalidDataException(
+                    "No se pueden consultar mas de " + MAX_BATCH_IDS + " usuarios por solicitud"));
+        }
+        Set<String> readable = new LinkedHashSet<>();
+        ids.stream().filter(allowed).forEach(readable::add);
+        if (readable.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return userRepository.findProfilesByIds(readable)
+                .collectMap(UserProfile::getId)
+                .onErrorMap(error ->
+                        new InvalidDataException("Error interno al obtener usuarios", error)
+                );
+    }
+
     /*
         public Mono<Void> deleteUser(String id) {
             return userRepository.getUserById(id)
@@ -121,7 +343,8 @@ public class UserUseCase implements IUserUseCase {
         return userRepository.getUserById(id)
                 .switchIfEmpty(Mono.error(new UserExistsException("Usuario no encontrado con ID: "
                         + id)))
-                .flatMap(user -> userRepository.deleteById(id))
+                .flatMap(user -> userRepository.deleteById(id)
+                        .then(userCache.invalidate(user)))
                 .onErrorMap(error -> {
                     if (error instanceof UserExistsException) {
                         return error;
@@ -131,12 +354,12 @@ public class UserUseCase implements IUserUseCase {
     }
 
     @Override
-    public Mono<User> findById(Long id) {
+    public Mono<UserProfile> findById(Long id) {
         return getUserById(String.valueOf(id));
     }
 
     @Override
-    public Flux<User> findAll() {
+    public Flux<UserProfile> findAll() {
         return getAllUsers();
     }
 }
@@ -1,15 +1,36 @@
 package co.com.bancolombia.usecase.user.interfaces;
 
 import co.com.bancolombia.model.user.User;
+import co.com.bancolombia.model.user.UserChanges;
+import co.com.bancolombia.model.user.UserCursor;
+import co.com.bancolombia.model.user.UserField;
+import co.com.bancolombia.model.user.UserPage;
+import co.com.bancolombia.model.user.UserProfile;
+import co.com.bancolombia.model.user.UserSearchCriteria;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
 public interface IUserUseCase {
     Mono<User> saveUser(User user);
     Mono<User> updateUser(String id, User usuario);
-    Flux<User> getAllUsers();
-    Mono<User> getUserById(String id);
-    Mono<User> findById(Long id);
-    Flux<User> findAll();
+    Mono<User> patchUser(String id, UserChanges changes, Set<LocalDateTime> expectedVersions);
+    Flux<UserProfile> getAllUsers();
+    Mono<UserPage> getUsersPage(UserCursor after, int limit);
+    Mono<UserPage> getUsersPage(UserCursor after, int limit, Set<UserField> fields);
+    Mono<UserPage> searchUsers(UserSearchCriteria criteria, UserCursor after, int limit);
+    Flux<UserProfile> fuzzySearch(String term, int limit);
+    Mono<UserProfile> getUserById(String id);
+    Mono<UserProfile> getUserById(String id, Set<UserField> fields);
+    Mono<UserProfile> getUserVersion(String id);
+    Mono<UserProfile> getCurrentUserById(String id, LocalDateTime version);
+    Mono<Map<String, UserProfile>> getUsersByIds(List<String> ids, Predicate<String> allowed);
+    Mono<UserProfile> findById(Long id);
+    Flux<UserProfile> findAll();
     Mono<Void> deleteUser(String id);
 }
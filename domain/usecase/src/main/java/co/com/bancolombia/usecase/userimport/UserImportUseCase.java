@@ -0,0 +1,123 @@
+package co.com.bancolombia.usecase.userimport;
+
+import co.com.bancolombia.model.auth.gateways.PasswordHasher;
+import co.com.bancolombia.model.exception.InvalidDataException;
+import co.com.bancolombia.model.role.gateways.RoleRepository;
+import co.com.bancolombia.model.user.User;
+import co.com.bancolombia.model.user.UserImportResult;
+import co.com.bancolombia.model.user.UserImportRow;
+import co.com.bancolombia.model.user.gateways.UserRepository;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Registro masivo de usuarios. Las filas se validan con las mismas reglas del registro individual, los
+ * passwords se cifran con a lo sumo {@code hashConcurrency} tareas simultaneas y los usuarios se insertan
+ * por lotes de {@code batchSize}. Los resultados salen en el orden de las filas y, como cada etapa solo
+ * pide lo que puede procesar, la memoria usada no depende del tamano del archivo.
+ */
+@RequiredArgsConstructor
+public class UserImportUseCase {
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final PasswordHasher passwordHasher;
+
+    public Flux<UserImportResult> importUsers(Flux<UserImportRow> rows, int batchSize, int hashConcurrency) {
+        if (batchSize < 1 || hashConcurrency < 1) {
+            return Flux.error(new InvalidDataException("El tamano del lote y la concurrencia deben ser mayores a 0"));
+        }
+        return rows.flatMapSequential(this::prepare, hashConcurrency)
+                .buffer(batchSize)
+                .concatMap(this::write);
+    }
+
+    private Mono<PreparedRow> prepare(UserImportRow row) {
+        if (row.error() != null) {
+            return Mono.just(PreparedRow.rejected(row, UserImportResult.Status.INVALID, row.error()));
+        }
+        User user = row.user();
+        try {
+            user.validateData();
+        } catch (IllegalArgumentException e) {
+            return Mono.just(PreparedRow.rejected(row, UserImportResult.Status.INVALID, e.getMessage()));
+        }
+        // El catalogo de roles esta en memoria, validar por fila no agrega consultas
+        return roleRepository.existsById(user.getIdRol())
+                .flatMap(exists -> {
+                    if (!Boolean.TRUE.equals(exists)) {
+                        return Mono.just(PreparedRow.rejected(row, UserImportResult.Status.INVALID,
+                                "El rol con ID " + user.getIdRol() + " no existe"));
+                    }
+                    return passwordHasher.encode(user.getPassword())
+                            .map(hash -> new PreparedRow(row.line(), user.toBuilder()
+                                    .id(UUID.randomUUID().toString())
+                                    .password(hash)
+                                    .build(), null));
+                })
+                .onErrorResume(error -> Mono.just(PreparedRow.rejected(row, UserImportResult.Status.FAILED,
+                        "No se pudo procesar la fila: " + error.getMessage())));
+    }
+
+    private Flux<UserImportResult> write(List<PreparedRow> batch) {
+        List<User> users = new ArrayList<>();
+        Set<String> emails = new HashSet<>();
+        List<UserImportResult> results = new ArrayList<>(batch.size());
+        for (PreparedRow row : batch) {
+            if (row.user() != null && !emails.add(row.user().getEmailAddress())) {
+                results.add(UserImportResult.rejected(row.line(), row.user().getEmailAddress(),
+                        UserImportResult.Status.DUPLICATE, "Correo repetido en el archivo"));
+            } else if (row.user() != null) {
+                users.add(row.user());
+                results.add(null);
+            } else {
+                results.add(row.result());
+            }
+        }
+        if (users.isEmpty()) {
+            return Flux.fromIterable(results);
+        }
+        return userRepository.createUsers(users)
+                .collect(HashSet<String>::new, Set::add)
+                .map(inserted -> complete(batch, results, inserted, null))
+                .onErrorResume(error -> Mono.just(complete(batch, results, Set.of(), error)))
+                .flatMapIterable(completed -> completed);
+    }
+
+    // Completa los resultados pendientes: los correos que no volvieron del INSERT ya estaban registrados
+    private static List<UserImportResult> complete(List<PreparedRow> batch, List<UserImportResult> results,
+                                                   Set<String> inserted, Throwable error) {
+        List<UserImportResult> completed = new ArrayList<>(results.size());
+        for (int i = 0; i < batch.size(); i++) {
+            UserImportResult result = results.get(i);
+            User user = batch.get(i).user();
+            if (result != null) {
+                completed.add(result);
+            } else if (error != null) {
+                completed.add(UserImportResult.rejected(batch.get(i).line(), user.getEmailAddress(),
+                        UserImportResult.Status.FAILED, "Error al guardar el lote: " + error.getMessage()));
+            } else if (inserted.contains(user.getEmailAddress())) {
+                completed.add(UserImportResult.created(batch.get(i).line(), user));
+            } else {
+                completed.add(UserImportResult.rejected(batch.get(i).line(), user.getEmailAddress(),
+                        UserImportResult.Status.DUPLICATE, "El correo ya esta registrado"));
+            }
+        }
+        return completed;
+    }
+
+    private record PreparedRow(long line, User user, UserImportResult result) {
+
+        static PreparedRow rejected(UserImportRow row, UserImportResult.Status status, String message) {
+            String email = row.user() == null ? null : row.user().getEmailAddress();
+            return new PreparedRow(row.line(), null, UserImportResult.rejected(row.line(), email, status, message));
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package co.com.bancolombia.usecase.auth;
+
+import co.com.bancolombia.model.auth.gateways.PasswordHasher;
+import co.com.bancolombia.model.exception.AuthException;
+import co.com.bancolombia.model.user.User;
+import co.com.bancolombia.model.user.gateways.UserCache;
+import co.com.bancolombia.model.user.gateways.UserRepository;
+import co.com.bancolombia.usecase.user.UserUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthUseCaseTest {
+
+    @Mock
+    private UserUseCase userUseCase;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordHasher passwordHasher;
+
+    @Mock
+    private UserCache userCache;
+
+    @InjectMocks
+    private AuthUseCase authUseCase;
+
+    private User storedUser;
+
+    @BeforeEach
+    void setUp() {
+        storedUser = User.builder()
+                .id(UUID.randomUUID().toString())
+                .name("Juan")
+                .lastName("Perez")
+                .emailAddress("juan@test.com")
+                .baseSalary(new BigDecimal("2000000"))
+                .idRol(UUID.randomUUID().toString())
+                .password("$2a$10$storedHash")
+                .build();
+        when(userUseCase.getUserByEmailAddress("juan@test.com")).thenReturn(Mono.just(storedUser));
+    }
+
+    @Test
+    void login_WithOutdatedHash_ShouldRehashAndStore() {
+        when(passwordHasher.matches("password123", "$2a$10$storedHash")).thenReturn(Mono.just(true));
+        when(passwordHasher.needsRehash("$2a$10$storedHash")).thenReturn(true);
+        when(passwordHasher.encode("password123")).thenReturn(Mono.just("$2a$12$newHash"));
+        when(userRepository.updatePassword(storedUser.getId(), "$2a$12$newHash")).thenReturn(Mono.empty());
+        when(userCache.invalidate(storedUser)).thenReturn(Mono.empty());
+
+        StepVerifier.create(authUseCase.login("juan@test.com", "password123", (user, role) -> "token"))
+                .expectNextMatches(auth -> auth.getToken().equals("token"))
+                .verifyComplete();
+
+        verify(userRepository).updatePassword(storedUser.getId(), "$2a$12$newHash");
+        verify(userCache).invalidate(storedUser);
+    }
+
+    @Test
+    void login_WhenStoringTheNewHashFails_ShouldStillReturnTheToken() {
+        when(passwordHasher.matches("password123", "$2a$10$storedHash")).thenReturn(Mono.just(true));
+        when(passwordHasher.needsRehash("$2a$10$storedHash")).thenReturn(true);
+        when(passwordHasher.encode("password123")).thenReturn(Mono.just("$2a$12$newHash"));
+        when(userRepository.updatePassword(storedUser.getId(), "$2a$12$newHash"))
+                .thenReturn(Mono.error(new IllegalStateException("Conexion perdida")));
+
+        StepVerifier.create(authUseCase.login("juan@test.com", "password123", (user, role) -> "token"))
+                .expectNextMatches(auth -> auth.getToken().equals("token"))
+                .verifyComplete();
+
+        verify(userCache, never()).invalidate(any());
+    }
+
+    @Test
+    void login_WhenHashingIsSaturated_ShouldStillReturnTheToken() {
+        when(passwordHasher.matches("password123", "$2a$10$storedHash")).thenReturn(Mono.just(true));
+        when(passwordHasher.needsRehash("$2a$10$storedHash")).thenReturn(true);
+        when(passwordHasher.encode("password123")).thenReturn(Mono.error(new IllegalStateException("Pool lleno")));
+
+        StepVerifier.create(authUseCase.login("juan@test.com", "password123", (user, role) -> "token"))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(userRepository, never()).updatePassword(anyString(), anyString());
+    }
+
+    @Test
+    void login_ShouldNotWaitForTheRehash() {
+        when(passwordHasher.matches("password123", "$2a$10$storedHash")).thenReturn(Mono.just(true));
+        when(passwordHasher.needsRehash("$2a$10$storedHash")).thenReturn(true);
+        when(passwordHasher.encode("password123")).thenReturn(Mono.never());
+
+        StepVerifier.create(authUseCase.login("juan@test.com", "password123", (user, role) -> "token"))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    @Test
+    void login_WithCurrentHash_ShouldNotRehash() {
+        when(passwordHasher.matches("password123", "$2a$10$storedHash")).thenReturn(Mono.just(true));
+        when(passwordHasher.needsRehash("$2a$10$storedHash")).thenReturn(false);
+
+        StepVerifier.create(authUseCase.login("juan@test.com", "password123", (user, role) -> "token"))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(passwordHasher, never()).encode(anyString());
+        verify(userRepository, never()).updatePassword(anyString(), anyString());
+    }
+
+    @Test
+    void login_WithWrongPassword_ShouldFail() {
+        when(passwordHasher.matches("wrong", "$2a$10$storedHash")).thenReturn(Mono.just(false));
+
+        StepVerifier.create(authUseCase.login("juan@test.com", "wrong", (user, role) -> "token"))
+                .expectError(AuthException.class)
+                .verify();
+
+        verify(userRepository, never()).updatePassword(anyString(), anyString());
+    }
+}
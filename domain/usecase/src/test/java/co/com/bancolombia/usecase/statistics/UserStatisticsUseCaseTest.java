@@ -0,0 +1,46 @@
+package co.com.bancolombia.usecase.statistics;
+
+import co.com.bancolombia.model.exception.InvalidDataException;
+import co.com.bancolombia.model.user.UserStatistics;
+import co.com.bancolombia.model.user.gateways.UserStatisticsRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserStatisticsUseCaseTest {
+
+    @Mock
+    private UserStatisticsRepository userStatisticsRepository;
+
+    @InjectMocks
+    private UserStatisticsUseCase userStatisticsUseCase;
+
+    @Test
+    void getStatistics_ShouldReturnRepositoryAggregates() {
+        UserStatistics statistics = new UserStatistics(0, List.of(),
+                new UserStatistics.SalaryDistribution(null, null, null, null, null, null, null), List.of());
+        when(userStatisticsRepository.getStatistics()).thenReturn(Mono.just(statistics));
+
+        StepVerifier.create(userStatisticsUseCase.getStatistics())
+                .expectNext(statistics)
+                .verifyComplete();
+    }
+
+    @Test
+    void getStatistics_WhenQueryFails_ShouldMapError() {
+        when(userStatisticsRepository.getStatistics()).thenReturn(Mono.error(new IllegalStateException("db")));
+
+        StepVerifier.create(userStatisticsUseCase.getStatistics())
+                .expectError(InvalidDataException.class)
+                .verify();
+    }
+}
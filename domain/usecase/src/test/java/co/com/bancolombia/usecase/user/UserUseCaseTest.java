@@ -1,8 +1,18 @@
 package co.com.bancolombia.usecase.user;
 
+import co.com.bancolombia.model.exception.InvalidDataException;
+import co.com.bancolombia.model.exception.PreconditionFailedException;
 import co.com.bancolombia.model.exception.UserExistsException;
+import co.com.bancolombia.model.role.Role;
 import co.com.bancolombia.model.role.gateways.RoleRepository;
 import co.com.bancolombia.model.user.User;
+import co.com.bancolombia.model.user.UserChanges;
+import co.com.bancolombia.model.user.UserCursor;
+import co.com.bancolombia.model.user.UserField;
+import co.com.bancolombia.model.user.UserPatchResult;
+import co.com.bancolombia.model.user.UserProfile;
+import co.com.bancolombia.model.user.UserSearchCriteria;
+import co.com.bancolombia.model.user.gateways.UserCache;
 import co.com.bancolombia.model.user.gateways.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,9 +25,17 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,10 +47,14 @@ class UserUseCaseTest {
     @Mock
     private RoleRepository roleRepository;
 
+    @Mock
+    private UserCache userCache;
+
     @InjectMocks
     private UserUseCase userUseCase;
 
     private User testUser;
+    private UserProfile testProfile;
 
     @BeforeEach
     void setUp() {
@@ -44,13 +66,19 @@ class UserUseCaseTest {
                 .idRol("DEV")
                 .password("password123")
                 .build();
+        testProfile = UserProfile.builder()
+                .name("Juan")
+                .lastName("Perez")
+                .emailAddress("juan@test.com")
+                .baseSalary(new BigDecimal("2000000"))
+                .idRol("DEV")
+                .build();
     }
 
     @Test
     void saveUser_WithValidData_ShouldWork() {
         when(roleRepository.existsById("DEV")).thenReturn(Mono.just(true));
-        when(userRepository.emailAddressExists("juan@test.com")).thenReturn(Mono.just(false));
-        
+
         User savedUser = testUser.toBuilder().id("123").build();
         when(userRepository.createUser(any(User.class))).thenReturn(Mono.just(savedUser));
 
@@ -66,12 +94,21 @@ class UserUseCaseTest {
     @Test
     void saveUser_WithDuplicateEmail_ShouldFail() {
         when(roleRepository.existsById("DEV")).thenReturn(Mono.just(true));
-        when(userRepository.emailAddressExists("juan@test.com"))
-                .thenReturn(Mono.just(true));
+        when(userRepository.createUser(any(User.class)))
+                .thenReturn(Mono.error(new UserExistsException("juan@test.com")));
 
         StepVerifier.create(userUseCase.saveUser(testUser))
                 .expectError(UserExistsException.class)
                 .verify();
+    }
+
+    @Test
+    void saveUser_WithUnknownRole_ShouldFailBeforeInserting() {
+        when(roleRepository.existsById("DEV")).thenReturn(Mono.just(false));
+
+        StepVerifier.create(userUseCase.saveUser(testUser))
+                .expectError(InvalidDataException.class)
+                .verify();
 
         verify(userRepository, never()).createUser(any(User.class));
     }
@@ -79,7 +116,7 @@ class UserUseCaseTest {
     @Test
     void getAllUsers_ShouldWork() {
         when(userRepository.findAll())
-                .thenReturn(Flux.just(testUser));
+                .thenReturn(Flux.just(testProfile));
 
         StepVerifier.create(userUseCase.getAllUsers())
                 .expectNextMatches(user -> user.getName().equals("Juan"))
@@ -87,4 +124,305 @@ class UserUseCaseTest {
 
         verify(userRepository).findAll();
     }
+
+    @Test
+    void getUsersPage_WithMoreRows_ShouldReturnNextCursor() {
+        LocalDateTime created = LocalDateTime.of(2024, 1, 1, 0, 0);
+        UserProfile first = testProfile.toBuilder().id("1").creationDate(created).build();
+        UserProfile second = testProfile.toBuilder().id("2").creationDate(created).build();
+        UserProfile third = testProfile.toBuilder().id("3").creationDate(created.plusSeconds(1)).build();
+        when(userRepository.findPage(null, 3)).thenReturn(Flux.just(first, second, third));
+
+        StepVerifier.create(userUseCase.getUsersPage(null, 2))
+                .expectNextMatches(page -> page.users().size() == 2
+                        && page.next().equals(new UserCursor(created, "2")))
+                .verifyComplete();
+    }
+
+    @Test
+    void getUsersPage_OnLastPage_ShouldNotReturnCursor() {
+        UserCursor after = new UserCursor(LocalDateTime.of(2024, 1, 1, 0, 0), "2");
+        when(userRepository.findPage(after, 3)).thenReturn(Flux.just(testProfile));
+
+        StepVerifier.create(userUseCase.getUsersPage(after, 2))
+                .expectNextMatches(page -> page.users().size() == 1 && page.next() == null)
+                .verifyComplete();
+    }
+
+    @Test
+    void getUsersPage_WithInvalidLimit_ShouldFail() {
+        StepVerifier.create(userUseCase.getUsersPage(null, 0))
+                .expectError(InvalidDataException.class)
+                .verify();
+
+        verify(userRepository, never()).findPage(any(), anyInt());
+    }
+
+    @Test
+    void searchUsers_ShouldPageTheFilteredRows() {
+        UserSearchCriteria criteria = new UserSearchCriteria("DEV", null, "Pe", null, null, null, null);
+        UserProfile first = testProfile.toBuilder().id("1").creationDate(LocalDateTime.of(2024, 1, 1, 0, 0)).build();
+        when(userRepository.search(criteria, null, 2)).thenReturn(Flux.just(first, testProfile));
+
+        StepVerifier.create(userUseCase.searchUsers(criteria, null, 1))
+                .expectNextMatches(page -> page.users().equals(List.of(first))
+                        && page.next().equals(new UserCursor(first.getCreationDate(), "1")))
+                .verifyComplete();
+    }
+
+    @Test
+    void searchUsers_WithInvertedSalaryRange_ShouldFail() {
+        UserSearchCriteria criteria = new UserSearchCriteria(null, null, null,
+                new BigDecimal("5000"), new BigDecimal("1000"), null, null);
+
+        StepVerifier.create(userUseCase.searchUsers(criteria, null, 10))
+                .expectError(InvalidDataException.class)
+                .verify();
+
+        verify(userRepository, never()).search(any(), any(), anyInt());
+    }
+
+    @Test
+    void fuzzySearch_ShouldTrimTheTerm() {
+        when(userRepository.fuzzySearch("jaun", 10)).thenReturn(Flux.just(testProfile));
+
+        StepVerifier.create(userUseCase.fuzzySearch("  jaun ", 10))
+                .expectNext(testProfile)
+                .verifyComplete();
+    }
+
+    @Test
+    void fuzzySearch_WithShortTerm_ShouldFail() {
+        StepVerifier.create(userUseCase.fuzzySearch("ju", 10))
+                .expectError(InvalidDataException.class)
+                .verify();
+
+        verify(userRepository, never()).fuzzySearch(anyString(), anyInt());
+    }
+
+    @Test
+    void deleteUser_ShouldInvalidateCache() {
+        User stored = testUser.toBuilder().id("123").build();
+        when(userRepository.getUserById("123")).thenReturn(Mono.just(stored));
+        when(userRepository.deleteById("123")).thenReturn(Mono.empty());
+        when(userCache.invalidate(stored)).thenReturn(Mono.empty());
+
+        StepVerifier.create(userUseCase.deleteUser("123"))
+                .verifyComplete();
+
+        verify(userCache).invalidate(stored);
+    }
+
+    @Test
+    void getUserById_ShouldReadThroughCache() {
+        UserProfile stored = testProfile.toBuilder().id("123").build();
+        when(userCache.getById(eq("123"), any())).thenReturn(Mono.just(stored));
+        when(roleRepository.getRoleById("DEV")).thenReturn(Mono.empty());
+
+        StepVerifier.create(userUseCase.getUserById("123"))
+                .expectNext(stored)
+                .verifyComplete();
+
+        verify(userRepository, never()).getUserProfileById(anyString());
+    }
+
+    @Test
+    void getUserById_ShouldTakeTheRoleFromTheCatalog() {
+        Role cached = new Role("DEV", "Desarrollador", "Equipo de desarrollo");
+        Role current = new Role("DEV", "Desarrollo", "Equipo de desarrollo");
+        UserProfile stored = testProfile.toBuilder().id("123").role(cached).build();
+        when(userCache.getById(eq("123"), any())).thenReturn(Mono.just(stored));
+        when(roleRepository.getRoleById("DEV")).thenReturn(Mono.just(current));
+
+        StepVerifier.create(userUseCase.getUserById("123"))
+                .expectNextMatches(profile -> profile.getRole().equals(current))
+                .verifyComplete();
+    }
+
+    @Test
+    void getUserVersion_ShouldReadTheStoredRowWithoutTheCache() {
+        Role current = new Role("DEV", "Desarrollo", "Equipo de desarrollo");
+        UserProfile version = UserProfile.builder().id("123").idRol("DEV")
+                .updateDate(LocalDateTime.of(2024, 3, 1, 10, 15, 30)).build();
+        when(userRepository.getUserProfileById("123", Set.of(UserField.ID_ROL))).thenReturn(Mono.just(version));
+        when(roleRepository.getRoleById("DEV")).thenReturn(Mono.just(current));
+
+        StepVerifier.create(userUseCase.getUserVersion("123"))
+                .expectNextMatches(profile -> profile.getUpdateDate().equals(version.getUpdateDate())
+                        && profile.getRole().equals(current))
+                .verifyComplete();
+
+        verify(userCache, never()).getById(anyString(), any());
+    }
+
+    @Test
+    void getCurrentUserById_WithStaleCachedProfile_ShouldReadTheStoredRow() {
+        LocalDateTime cachedVersion = LocalDateTime.of(2024, 3, 1, 10, 15, 30);
+        UserProfile cached = testProfile.toBuilder().id("123").updateDate(cachedVersion).build();
+        UserProfile stored = cached.toBuilder().name("Pedro").updateDate(cachedVersion.plusSeconds(1)).build();
+        when(userCache.getById(eq("123"), any())).thenReturn(Mono.just(cached));
+        when(userRepository.getUserProfileById("123")).thenReturn(Mono.just(stored));
+        when(roleRepository.getRoleById("DEV")).thenReturn(Mono.empty());
+
+        StepVerifier.create(userUseCase.getCurrentUserById("123", stored.getUpdateDate()))
+                .expectNext(stored)
+                .verifyComplete();
+    }
+
+    @Test
+    void getCurrentUserById_WithCurrentCachedProfile_ShouldNotQuery() {
+        UserProfile cached = testProfile.toBuilder().id("123").updateDate(LocalDateTime.of(2024, 3, 1, 10, 15, 30)).build();
+        when(userCache.getById(eq("123"), any())).thenReturn(Mono.just(cached));
+        when(roleRepository.getRoleById("DEV")).thenReturn(Mono.empty());
+
+        StepVerifier.create(userUseCase.getCurrentUserById("123", cached.getUpdateDate()))
+                .expectNext(cached)
+                .verifyComplete();
+
+        verify(userRepository, never()).getUserProfileById(anyString());
+    }
+
+    @Test
+    void getUserVersion_WhenUserDoesNotExist_ShouldFail() {
+        when(userRepository.getUserProfileById("123", Set.of(UserField.ID_ROL))).thenReturn(Mono.empty());
+
+        StepVerifier.create(userUseCase.getUserVersion("123"))
+                .expectError(UserExistsException.class)
+                .verify();
+    }
+
+    @Test
+    void getUsersByIds_ShouldQueryEachIdOnce() {
+        UserProfile first = testProfile.toBuilder().id("1").build();
+        when(userRepository.findProfilesByIds(Set.of("1", "2"))).thenReturn(Flux.just(first));
+
+        StepVerifier.create(userUseCase.getUsersByIds(List.of("1", "2", "1", "3"), id -> !id.equals("3")))
+                .expectNext(Map.of("1", first))
+                .verifyComplete();
+    }
+
+    @Test
+    void getUsersByIds_WithTooManyIds_ShouldFail() {
+        List<String> ids = IntStream.rangeClosed(1, 101).mapToObj(String::valueOf).toList();
+
+        StepVerifier.create(userUseCase.getUsersByIds(ids, id -> true))
+                .expectError(InvalidDataException.class)
+                .verify();
+
+        verify(userRepository, never()).findProfilesByIds(any());
+    }
+
+    @Test
+    void getUsersByIds_ShouldCountIdsThatAreNotAllowed() {
+        List<String> ids = IntStream.rangeClosed(1, 101).mapToObj(String::valueOf).toList();
+
+        StepVerifier.create(userUseCase.getUsersByIds(ids, id -> id.equals("1")))
+                .expectError(InvalidDataException.class)
+                .verify();
+
+        verify(userRepository, never()).findProfilesByIds(any());
+    }
+
+    @Test
+    void getUsersByIds_WithoutAllowedIds_ShouldSkipTheQuery() {
+        StepVerifier.create(userUseCase.getUsersByIds(List.of("1", "2"), id -> false))
+                .expectNext(Map.of())
+                .verifyComplete();
+
+        verify(userRepository, never()).findProfilesByIds(any());
+    }
+
+    @Test
+    void getUserById_WithSelectedFields_ShouldBypassCache() {
+        Set<UserField> fields = EnumSet.of(UserField.ID, UserField.NAME);
+        UserProfile partial = UserProfile.builder().id("123").name("Juan").build();
+        when(userRepository.getUserProfileById("123", fields)).thenReturn(Mono.just(partial));
+
+        StepVerifier.create(userUseCase.getUserById("123", fields))
+                .expectNext(partial)
+                .verifyComplete();
+
+        verify(userCache, never()).getById(anyString(), any());
+    }
+
+    @Test
+    void getUserById_WithAllFields_ShouldUseCache() {
+        UserProfile stored = testProfile.toBuilder().id("123").build();
+        when(userCache.getById(eq("123"), any())).thenReturn(Mono.just(stored));
+        when(roleRepository.getRoleById("DEV")).thenReturn(Mono.empty());
+
+        StepVerifier.create(userUseCase.getUserById("123", EnumSet.allOf(UserField.class)))
+                .expectNext(stored)
+                .verifyComplete();
+
+        verify(userRepository, never()).getUserProfileById(anyString(), any());
+    }
+
+    @Test
+    void getUsersPage_WithSelectedFields_ShouldQueryOnlyThoseFields() {
+        Set<UserField> fields = EnumSet.of(UserField.ID, UserField.EMAIL_ADDRESS);
+        UserProfile partial = UserProfile.builder().id("1").emailAddress("juan@test.com").build();
+        when(userRepository.findPage(null, 3, fields)).thenReturn(Flux.just(partial));
+
+        StepVerifier.create(userUseCase.getUsersPage(null, 2, fields))
+                .expectNextMatches(page -> page.users().equals(List.of(partial)) && page.next() == null)
+                .verifyComplete();
+
+        verify(userRepository, never()).findPage(any(), anyInt());
+    }
+
+    @Test
+    void patchUserInvalidatesThePreviousAndTheNewEmail() {
+        LocalDateTime version = LocalDateTime.of(2024, 1, 1, 10, 0);
+        UserChanges changes = new UserChanges(Map.of(UserField.EMAIL_ADDRESS, "nuevo@test.com"));
+        User updated = testUser.toBuilder().id("123").emailAddress("nuevo@test.com").build();
+        when(userRepository.patchUser("123", changes, Set.of(version)))
+                .thenReturn(Mono.just(new UserPatchResult(updated, "juan@test.com")));
+        when(userCache.invalidate(any(User.class))).thenReturn(Mono.empty());
+        when(roleRepository.getRoleById("DEV")).thenReturn(Mono.empty());
+
+        StepVerifier.create(userUseCase.patchUser("123", changes, Set.of(version)))
+                .expectNext(updated)
+                .verifyComplete();
+
+        verify(userCache).invalidate(updated);
+        verify(userCache).invalidate(argThat(user -> "juan@test.com".equals(user.getEmailAddress())));
+        verify(userRepository, never()).getUserById(anyString());
+    }
+
+    @Test
+    void patchUserWithAStaleVersionFailsThePrecondition() {
+        UserChanges changes = new UserChanges(Map.of(UserField.NAME, "Pedro"));
+        Set<LocalDateTime> versions = Set.of(LocalDateTime.of(2024, 1, 1, 10, 0));
+        when(userRepository.patchUser("123", changes, versions)).thenReturn(Mono.empty());
+
+        StepVerifier.create(userUseCase.patchUser("123", changes, versions))
+                .expectError(PreconditionFailedException.class)
+                .verify();
+
+        verify(userCache, never()).invalidate(any());
+    }
+
+    @Test
+    void patchUserWithoutUsableVersionsSkipsTheUpdate() {
+        UserChanges changes = new UserChanges(Map.of(UserField.NAME, "Pedro"));
+
+        StepVerifier.create(userUseCase.patchUser("123", changes, Set.of()))
+                .expectError(PreconditionFailedException.class)
+                .verify();
+
+        verify(userRepository, never()).patchUser(anyString(), any(), any());
+    }
+
+    @Test
+    void patchUserRejectsAnUnknownRoleBeforeUpdating() {
+        UserChanges changes = new UserChanges(Map.of(UserField.ID_ROL, "NOPE"));
+        when(roleRepository.existsById("NOPE")).thenReturn(Mono.just(false));
+
+        StepVerifier.create(userUseCase.patchUser("123", changes, null))
+                .expectError(InvalidDataException.class)
+                .verify();
+
+        verify(userRepository, never()).patchUser(anyString(), any(), any());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,115 @@
+package co.com.bancolombia.usecase.userimport;
+
+import co.com.bancolombia.model.auth.gateways.PasswordHasher;
+import co.com.bancolombia.model.role.gateways.RoleRepository;
+import co.com.bancolombia.model.user.User;
+import co.com.bancolombia.model.user.UserImportResult;
+import co.com.bancolombia.model.user.UserImportRow;
+import co.com.bancolombia.model.user.gateways.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserImportUseCaseTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private PasswordHasher passwordHasher;
+
+    @InjectMocks
+    private UserImportUseCase userImportUseCase;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(roleRepository.existsById("DEV")).thenReturn(Mono.just(true));
+        lenient().when(passwordHasher.encode(anyString())).thenAnswer(call -> Mono.just("hash-" + call.getArgument(0)));
+    }
+
+    @Test
+    void insertsValidRowsInBatchesAndKeepsTheRowOrder() {
+        when(userRepository.createUsers(anyList()))
+                .thenAnswer(call -> Flux.fromIterable(call.<List<User>>getArgument(0)).map(User::getEmailAddress));
+
+        StepVerifier.create(userImportUseCase.importUsers(Flux.just(
+                        row(1, "a@test.com"), row(2, "b@test.com"), row(3, "c@test.com")), 2, 2))
+                .expectNextMatches(result -> result.line() == 1 && result.status() == UserImportResult.Status.CREATED
+                        && result.id() != null)
+                .expectNextMatches(result -> result.line() == 2 && result.status() == UserImportResult.Status.CREATED)
+                .expectNextMatches(result -> result.line() == 3 && result.status() == UserImportResult.Status.CREATED)
+                .verifyComplete();
+
+        verify(userRepository, times(2)).createUsers(anyList());
+        verify(userRepository).createUsers(argThat(users -> users.size() == 2
+                && users.get(0).getPassword().equals("hash-secret")));
+    }
+
+    @Test
+    void reportsInvalidAndDuplicatedRowsWithoutInsertingThem() {
+        when(roleRepository.existsById("NOPE")).thenReturn(Mono.just(false));
+        when(userRepository.createUsers(anyList())).thenReturn(Flux.empty());
+        User unknownRole = user("d@test.com").toBuilder().idRol("NOPE").build();
+
+        StepVerifier.create(userImportUseCase.importUsers(Flux.just(
+                        UserImportRow.invalid(1, "JSON invalido"),
+                        UserImportRow.valid(2, unknownRole),
+                        row(3, "taken@test.com"),
+                        row(4, "taken@test.com")), 10, 4))
+                .expectNextMatches(result -> result.status() == UserImportResult.Status.INVALID
+                        && result.message().equals("JSON invalido"))
+                .expectNextMatches(result -> result.status() == UserImportResult.Status.INVALID)
+                .expectNextMatches(result -> result.line() == 3 && result.status() == UserImportResult.Status.DUPLICATE)
+                .expectNextMatches(result -> result.line() == 4 && result.status() == UserImportResult.Status.DUPLICATE)
+                .verifyComplete();
+
+        verify(passwordHasher, never()).encode("NOPE");
+        verify(userRepository).createUsers(argThat(users -> users.size() == 1));
+    }
+
+    @Test
+    void aFailedBatchDoesNotStopTheImport() {
+        when(userRepository.createUsers(anyList()))
+                .thenReturn(Flux.error(new IllegalStateException("conexion cerrada")))
+                .thenReturn(Flux.just("b@test.com"));
+
+        StepVerifier.create(userImportUseCase.importUsers(Flux.just(
+                        row(1, "a@test.com"), row(2, "b@test.com")), 1, 1))
+                .expectNextMatches(result -> result.status() == UserImportResult.Status.FAILED)
+                .expectNextMatches(result -> result.status() == UserImportResult.Status.CREATED)
+                .verifyComplete();
+    }
+
+    private static UserImportRow row(long line, String email) {
+        return UserImportRow.valid(line, user(email));
+    }
+
+    private static User user(String email) {
+        return User.builder()
+                .name("Juan")
+                .lastName("Perez")
+                .emailAddress(email)
+                .baseSalary(new BigDecimal("2000000"))
+                .idRol("DEV")
+                .password("secret")
+                .build();
+    }
+}
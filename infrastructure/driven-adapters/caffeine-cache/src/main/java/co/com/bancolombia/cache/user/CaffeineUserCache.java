@@ -0,0 +1,82 @@
+package co.com.bancolombia.cache.user;
+
+import co.com.bancolombia.model.user.User;
+import co.com.bancolombia.model.user.UserProfile;
+import co.com.bancolombia.model.user.gateways.UserCache;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Cache read-through de usuarios indexada por id y por correo. Las cargas en curso se guardan como futuros,
+ * asi que una invalidacion tambien descarta la lectura que estaba en vuelo y no puede reinsertar datos viejos.
+ */
+@Slf4j
+@Component
+public class CaffeineUserCache implements UserCache {
+
+    static final String BY_ID = "users.by-id";
+    static final String BY_EMAIL = "users.by-email";
+
+    private final AsyncCache<String, UserProfile> byId;
+    private final AsyncCache<String, User> byEmail;
+
+    public CaffeineUserCache(UserCacheProperties properties, MeterRegistry meterRegistry) {
+        this.byId = newCache(properties);
+        this.byEmail = newCache(properties);
+        monitor(meterRegistry, byId, BY_ID);
+        monitor(meterRegistry, byEmail, BY_EMAIL);
+    }
+
+    @Override
+    public Mono<UserProfile> getById(String id, Function<String, Mono<UserProfile>> loader) {
+        return Mono.fromFuture(() -> byId.get(id, (key, executor) -> load(loader, key)), true);
+    }
+
+    @Override
+    public Mono<User> getByEmailAddress(String emailAddress, Function<String, Mono<User>> loader) {
+        return Mono.fromFuture(() -> byEmail.get(emailAddress, (key, executor) -> load(loader, key)), true);
+    }
+
+    @Override
+    public Mono<Void> invalidate(User user) {
+        return Mono.fromRunnable(() -> {
+            if (user.getId() != null) {
+                byId.synchronous().invalidate(user.getId());
+            }
+            if (user.getEmailAddress() != null) {
+                byEmail.synchronous().invalidate(user.getEmailAddress());
+            }
+            log.debug("Usuario {} invalidado en cache", user.getId());
+        });
+    }
+
+    private static <V> CompletableFuture<V> load(Function<String, Mono<V>> loader, String key) {
+        // Un Mono vacio completa con null y Caffeine no guarda la entrada
+        return loader.apply(key).toFuture();
+    }
+
+    private static <V> AsyncCache<String, V> newCache(UserCacheProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.maxSize())
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .buildAsync();
+    }
+
+    private static void monitor(MeterRegistry meterRegistry, AsyncCache<String, ?> cache, String name) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.synchronous().stats().hitRate())
+                .tag("cache", name)
+                .description("Fraccion de lecturas servidas desde la cache")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,16 @@
+package co.com.bancolombia.cache.user;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "adapters.cache.users")
+public record UserCacheProperties(
+        Long maxSize,
+        Duration ttl) {
+
+    public UserCacheProperties {
+        maxSize = maxSize == null ? 10_000L : maxSize;
+        ttl = ttl == null ? Duration.ofMinutes(5) : ttl;
+    }
+}
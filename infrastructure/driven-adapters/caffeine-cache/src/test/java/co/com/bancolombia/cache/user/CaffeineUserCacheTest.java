@@ -0,0 +1,106 @@
+package co.com.bancolombia.cache.user;
+
+import co.com.bancolombia.model.user.User;
+import co.com.bancolombia.model.user.UserProfile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CaffeineUserCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CaffeineUserCache cache;
+    private User user;
+    private UserProfile profile;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new CaffeineUserCache(new UserCacheProperties(null, null), meterRegistry);
+        user = User.builder()
+                .id("123")
+                .name("Juan")
+                .lastName("Perez")
+                .emailAddress("juan@test.com")
+                .baseSalary(new BigDecimal("2000000"))
+                .idRol("DEV")
+                .password("encodedPassword")
+                .build();
+        profile = UserProfile.builder()
+                .id("123")
+                .name("Juan")
+                .emailAddress("juan@test.com")
+                .build();
+    }
+
+    @Test
+    void loadsOnceAndServesHits() {
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(cache.getById("123", id -> Mono.fromCallable(() -> {
+                        loads.incrementAndGet();
+                        return profile;
+                    })))
+                    .expectNext(profile)
+                    .verifyComplete();
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("cache.hit.ratio").tag("cache", CaffeineUserCache.BY_ID).gauge().value())
+                .isGreaterThan(0.6);
+    }
+
+    @Test
+    void emptyResultsAreNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(cache.getByEmailAddress("nobody@test.com",
+                            email -> Mono.<User>empty().doOnSubscribe(s -> loads.incrementAndGet())))
+                    .verifyComplete();
+        }
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void invalidateRemovesIdAndEmailEntries() {
+        User updated = user.toBuilder().name("Pedro").build();
+        UserProfile updatedProfile = profile.toBuilder().name("Pedro").build();
+        cache.getById("123", id -> Mono.just(profile)).block();
+        cache.getByEmailAddress("juan@test.com", email -> Mono.just(user)).block();
+
+        StepVerifier.create(cache.invalidate(user)).verifyComplete();
+
+        StepVerifier.create(cache.getById("123", id -> Mono.just(updatedProfile)))
+                .expectNext(updatedProfile)
+                .verifyComplete();
+        StepVerifier.create(cache.getByEmailAddress("juan@test.com", email -> Mono.just(updated)))
+                .expectNext(updated)
+                .verifyComplete();
+    }
+
+    @Test
+    void invalidationDiscardsLoadInFlight() {
+        Sinks.One<UserProfile> staleLoad = Sinks.one();
+        UserProfile updated = profile.toBuilder().name("Pedro").build();
+
+        Mono<UserProfile> inFlight = cache.getById("123", id -> staleLoad.asMono());
+        inFlight.subscribe();
+        cache.invalidate(user).block();
+        staleLoad.tryEmitValue(profile);
+
+        StepVerifier.create(cache.getById("123", id -> Mono.just(updated)))
+                .expectNext(updated)
+                .verifyComplete();
+    }
+}
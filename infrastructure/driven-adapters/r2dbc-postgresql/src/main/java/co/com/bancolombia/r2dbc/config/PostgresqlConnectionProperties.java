@@ -10,5 +10,10 @@ public record PostgresqlConnectionProperties(
         String database,
         String schema,
         String username,
-        String password) {
+        String password,
+        Integer fetchSize) {
+
+    public PostgresqlConnectionProperties {
+        fetchSize = fetchSize == null ? 500 : fetchSize;
+    }
 }
@@ -0,0 +1,143 @@
+package co.com.bancolombia.r2dbc.role;
+
+import co.com.bancolombia.model.role.Role;
+import co.com.bancolombia.model.role.gateways.RoleChangeListener;
+import co.com.bancolombia.model.role.gateways.RoleRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Repository;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Catalogo de roles en memoria delante de {@link RoleRepositoryAdapter}. Las lecturas se resuelven contra
+ * una instantanea inmutable que se reemplaza completa tras cada escritura y de forma periodica; un fallo
+ * de cache (rol creado en otra instancia) se consulta en la base de datos. Cada escritura avisa a los
+ * {@link RoleChangeListener} antes de completarse.
+ */
+@Slf4j
+@Primary
+@Repository
+@RequiredArgsConstructor
+public class CachedRoleRepository implements RoleRepository {
+
+    private final RoleRepositoryAdapter delegate;
+    private final RoleCatalogProperties properties;
+    private final List<RoleChangeListener> listeners;
+    private final AtomicReference<Catalog> catalog = new AtomicReference<>();
+    private volatile Disposable refresher;
+
+    @Override
+    public Mono<Role> createRole(Role role) {
+        return delegate.createRole(role)
+                .flatMap(created -> changed().thenReturn(created));
+    }
+
+    @Override
+    public Mono<Role> updateRole(Role role) {
+        return delegate.updateRole(role)
+                .flatMap(updated -> changed().thenReturn(updated));
+    }
+
+    @Override
+    public Mono<Role> getRoleById(String idRol) {
+        Catalog current = catalog.get();
+        if (current == null || !current.byId().containsKey(idRol)) {
+            return delegate.getRoleById(idRol);
+        }
+        return Mono.just(current.byId().get(idRol));
+    }
+
+    @Override
+    public Mono<Role> getRoleByNombre(String nombre) {
+        Catalog current = catalog.get();
+        if (current == null || !current.byNombre().containsKey(nombre)) {
+            return delegate.getRoleByNombre(nombre);
+        }
+        return Mono.just(current.byNombre().get(nombre));
+    }
+
+    @Override
+    public Flux<Role> findAll() {
+        Catalog current = catalog.get();
+        return current == null ? delegate.findAll() : Flux.fromIterable(current.roles());
+    }
+
+    @Override
+    public Mono<Void> deleteById(String idRol) {
+        return delegate.deleteById(idRol)
+                .then(changed());
+    }
+
+    @Override
+    public Mono<Boolean> existsById(String idRol) {
+        Catalog current = catalog.get();
+        if (current != null && current.byId().containsKey(idRol)) {
+            return Mono.just(true);
+        }
+        return delegate.existsById(idRol);
+    }
+
+    /**
+     * Recarga el catalogo completo y lo publica en un solo paso.
+     */
+    public Mono<Void> refresh() {
+        return delegate.findAll()
+                .collectList()
+                .map(Catalog::of)
+                .doOnNext(loaded -> {
+                    catalog.set(loaded);
+                    log.debug("Catalogo de roles recargado con {} roles", loaded.roles().size());
+                })
+                .then();
+    }
+
+    private Mono<Void> changed() {
+        return refresh()
+                .thenMany(Flux.fromIterable(listeners))
+                .concatMap(RoleChangeListener::onRolesChanged)
+                .then();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRefresh() {
+        refresher = Flux.interval(Duration.ZERO, properties.refreshInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> refresh()
+                        .onErrorResume(error -> {
+                            log.warn("No se pudo recargar el catalogo de roles: {}", error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stopRefresh() {
+        Disposable current = refresher;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    private record Catalog(List<Role> roles, Map<String, Role> byId, Map<String, Role> byNombre) {
+
+        static Catalog of(List<Role> roles) {
+            return new Catalog(
+                    List.copyOf(roles),
+                    roles.stream().collect(Collectors.toUnmodifiableMap(Role::getIdRol, Function.identity())),
+                    roles.stream().collect(Collectors.toUnmodifiableMap(Role::getNombre, Function.identity())));
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package co.com.bancolombia.r2dbc.role;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "adapters.r2dbc.role-catalog")
+public record RoleCatalogProperties(
+        Duration refreshInterval) {
+
+    public RoleCatalogProperties {
+        refreshInterval = refreshInterval == null ? Duration.ofMinutes(5) : refreshInterval;
+    }
+}
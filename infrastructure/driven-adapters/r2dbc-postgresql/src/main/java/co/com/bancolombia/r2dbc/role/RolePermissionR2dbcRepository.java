@@ -0,0 +1,9 @@
+package co.com.bancolombia.r2dbc.role;
+
+import co.com.bancolombia.r2dbc.role.data.RolePermissionData;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RolePermissionR2dbcRepository extends ReactiveCrudRepository<RolePermissionData, Long> {
+}
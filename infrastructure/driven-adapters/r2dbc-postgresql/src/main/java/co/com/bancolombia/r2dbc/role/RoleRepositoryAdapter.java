@@ -1,6 +1,8 @@
 package co.com.bancolombia.r2dbc.role;
 
 import co.com.bancolombia.model.role.Role;
+import co.com.bancolombia.model.role.RolePermission;
+import co.com.bancolombia.model.role.gateways.RolePermissionRepository;
 import co.com.bancolombia.model.role.gateways.RoleRepository;
 import co.com.bancolombia.r2dbc.role.mapper.RoleMapper;
 import lombok.RequiredArgsConstructor;
@@ -12,9 +14,10 @@ import reactor.core.publisher.Mono;
 @Slf4j
 @Repository
 @RequiredArgsConstructor
-public class RoleRepositoryAdapter implements RoleRepository {
+public class RoleRepositoryAdapter implements RoleRepository, RolePermissionRepository {
 
     private final RoleR2dbcRepository repository;
+    private final RolePermissionR2dbcRepository permissionRepository;
 
     @Override
     public Mono<Role> createRole(Role role) {
@@ -82,4 +85,12 @@ public class RoleRepositoryAdapter implements RoleRepository {
                 .defaultIfEmpty(false)
                 .doOnNext(exists -> log.debug("Rol {} existe: {}", idRol, exists));
     }
+
+    @Override
+    public Flux<RolePermission> findAllPermissions() {
+        log.debug("Obteniendo permisos de roles");
+        return permissionRepository.findAll()
+                .map(RoleMapper::toDomain)
+                .doOnComplete(() -> log.debug("Consulta de permisos de roles completada"));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package co.com.bancolombia.r2dbc.role.data;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@Table("role_permissions")
+public class RolePermissionData {
+
+    @Id
+    @Column("id")
+    private Long id;
+
+    @Column("id_rol")
+    private String idRol;
+
+    @Column("http_method")
+    private String httpMethod;
+
+    @Column("route")
+    private String route;
+
+    @Column("scope")
+    private String scope;
+}
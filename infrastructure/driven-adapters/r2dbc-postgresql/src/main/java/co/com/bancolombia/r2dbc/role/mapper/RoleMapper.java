@@ -1,7 +1,9 @@
 package co.com.bancolombia.r2dbc.role.mapper;
 
 import co.com.bancolombia.model.role.Role;
+import co.com.bancolombia.model.role.RolePermission;
 import co.com.bancolombia.r2dbc.role.data.RoleData;
+import co.com.bancolombia.r2dbc.role.data.RolePermissionData;
 
 public class RoleMapper {
 
@@ -26,4 +28,16 @@ public class RoleMapper {
                 .descripcion(role.getDescripcion())
                 .build();
     }
+
+    public static RolePermission toDomain(RolePermissionData permissionData) {
+        if (permissionData == null) {
+            return null;
+        }
+        return RolePermission.builder()
+                .idRol(permissionData.getIdRol())
+                .httpMethod(permissionData.getHttpMethod())
+                .route(permissionData.getRoute())
+                .scope(permissionData.getScope())
+                .build();
+    }
 }
\ No newline at end of file
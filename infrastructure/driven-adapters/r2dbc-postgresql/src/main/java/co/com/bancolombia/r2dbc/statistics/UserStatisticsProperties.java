@@ -0,0 +1,16 @@
+package co.com.bancolombia.r2dbc.statistics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "adapters.r2dbc.statistics")
+public record UserStatisticsProperties(
+        Duration ttl,
+        Integer registrationDays) {
+
+    public UserStatisticsProperties {
+        ttl = ttl == null ? Duration.ofMinutes(1) : ttl;
+        registrationDays = registrationDays == null ? 30 : registrationDays;
+    }
+}
@@ -0,0 +1,132 @@
+package co.com.bancolombia.r2dbc.statistics;
+
+import co.com.bancolombia.model.user.UserStatistics;
+import co.com.bancolombia.model.user.gateways.UserStatisticsRepository;
+import io.r2dbc.spi.Readable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Calcula los agregados en Postgres y comparte el resultado durante el TTL configurado, de modo que el
+ * costo de refrescar los tableros depende del TTL y no de cuantas veces se consulten.
+ */
+@Slf4j
+@Repository
+public class UserStatisticsRepositoryAdapter implements UserStatisticsRepository {
+
+    private static final String USERS_PER_ROLE = "SELECT u.id_rol, r.nombre, count(*) AS users " +
+            "FROM users u LEFT JOIN roles r ON r.id_rol = u.id_rol " +
+            "GROUP BY u.id_rol, r.nombre ORDER BY users DESC, u.id_rol";
+
+    private static final String SALARY_DISTRIBUTION = "SELECT count(*) AS total, min(base_salary) AS min_salary, " +
+            "max(base_salary) AS max_salary, avg(base_salary) AS avg_salary, " +
+            "percentile_cont(0.25) WITHIN GROUP (ORDER BY base_salary) AS p25, " +
+            "percentile_cont(0.5) WITHIN GROUP (ORDER BY base_salary) AS p50, " +
+            "percentile_cont(0.75) WITHIN GROUP (ORDER BY base_salary) AS p75, " +
+            "percentile_cont(0.9) WITHIN GROUP (ORDER BY base_salary) AS p90 " +
+            "FROM users";
+
+    // El filtro por creation_date usa idx_users_creation_date_id, solo se leen los dias solicitados
+    private static final String REGISTRATIONS_PER_DAY = "SELECT CAST(creation_date AS DATE) AS day, count(*) AS users " +
+            "FROM users WHERE creation_date >= :since GROUP BY day ORDER BY day";
+
+    private final DatabaseClient databaseClient;
+    private final UserStatisticsProperties properties;
+    private final Mono<UserStatistics> statistics;
+
+    public UserStatisticsRepositoryAdapter(DatabaseClient databaseClient, UserStatisticsProperties properties) {
+        this.databaseClient = databaseClient;
+        this.properties = properties;
+        // Las solicitudes concurrentes comparten la misma carga; los errores no se guardan
+        this.statistics = Mono.defer(this::load)
+                .cache(loaded -> properties.ttl(), error -> Duration.ZERO, () -> Duration.ZERO);
+    }
+
+    @Override
+    public Mono<UserStatistics> getStatistics() {
+        return statistics;
+    }
+
+    private Mono<UserStatistics> load() {
+        LocalDate today = LocalDate.now();
+        LocalDate since = today.minusDays(properties.registrationDays() - 1L);
+        log.debug("Calculando estadisticas de usuarios con registros desde {}", since);
+        return Mono.zip(usersPerRole(), salaryDistribution(), registrationsPerDay(since, today))
+                .map(results -> new UserStatistics(
+                        results.getT2().total(),
+                        results.getT1(),
+                        results.getT2().distribution(),
+                        results.getT3()))
+                .doOnSuccess(loaded -> log.debug("Estadisticas de usuarios calculadas: {} usuarios",
+                        loaded.totalUsers()));
+    }
+
+    private Mono<List<UserStatistics.RoleCount>> usersPerRole() {
+        return databaseClient.sql(USERS_PER_ROLE)
+                .map(row -> new UserStatistics.RoleCount(
+                        row.get("id_rol", String.class),
+                        row.get("nombre", String.class),
+                        count(row, "users")))
+                .all()
+                .collectList();
+    }
+
+    private Mono<SalaryRow> salaryDistribution() {
+        return databaseClient.sql(SALARY_DISTRIBUTION)
+                .map(row -> new SalaryRow(count(row, "total"), new UserStatistics.SalaryDistribution(
+                        scaled(row.get("min_salary", BigDecimal.class)),
+                        scaled(row.get("max_salary", BigDecimal.class)),
+                        scaled(row.get("avg_salary", BigDecimal.class)),
+                        percentile(row, "p25"),
+                        percentile(row, "p50"),
+                        percentile(row, "p75"),
+                        percentile(row, "p90"))))
+                .one();
+    }
+
+    private Mono<List<UserStatistics.DailyCount>> registrationsPerDay(LocalDate since, LocalDate today) {
+        return databaseClient.sql(REGISTRATIONS_PER_DAY)
+                .bind("since", since.atStartOfDay())
+                .map(row -> new UserStatistics.DailyCount(row.get("day", LocalDate.class), count(row, "users")))
+                .all()
+                .collectList()
+                .map(counts -> withEmptyDays(counts, since, today));
+    }
+
+    // El GROUP BY no devuelve los dias sin registros; se completan con cero para que la serie sea continua
+    static List<UserStatistics.DailyCount> withEmptyDays(List<UserStatistics.DailyCount> counts,
+                                                         LocalDate since, LocalDate until) {
+        Map<LocalDate, Long> byDay = counts.stream()
+                .collect(Collectors.toMap(UserStatistics.DailyCount::day, UserStatistics.DailyCount::users));
+        return since.datesUntil(until.plusDays(1))
+                .map(day -> new UserStatistics.DailyCount(day, byDay.getOrDefault(day, 0L)))
+                .toList();
+    }
+
+    private static long count(Readable row, String column) {
+        Long value = row.get(column, Long.class);
+        return value == null ? 0 : value;
+    }
+
+    private static BigDecimal percentile(Readable row, String column) {
+        Double value = row.get(column, Double.class);
+        return value == null ? null : scaled(BigDecimal.valueOf(value));
+    }
+
+    private static BigDecimal scaled(BigDecimal value) {
+        return value == null ? null : value.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private record SalaryRow(long total, UserStatistics.SalaryDistribution distribution) {
+    }
+}
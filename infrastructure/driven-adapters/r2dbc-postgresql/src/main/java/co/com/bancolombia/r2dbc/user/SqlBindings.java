@@ -0,0 +1,18 @@
+package co.com.bancolombia.r2dbc.user;
+
+import io.r2dbc.spi.Parameters;
+
+/**
+ * Valores para bind posicional. Un null sin tipo no se puede enlazar, por eso las columnas opcionales
+ * viajan como un parametro R2DBC que declara el tipo de la columna.
+ */
+final class SqlBindings {
+
+    private SqlBindings() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    static Object orTypedNull(Object value, Class<?> type) {
+        return value != null ? value : Parameters.in(type);
+    }
+}
@@ -0,0 +1,56 @@
+package co.com.bancolombia.r2dbc.user;
+
+import co.com.bancolombia.r2dbc.user.data.UserData;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * INSERT de varias filas en una sola sentencia. Los correos ya registrados se omiten con ON CONFLICT sobre
+ * uk_users_email_address y RETURNING devuelve los correos insertados, asi no hace falta releer el lote.
+ */
+public record UserBatchInsert(String sql, List<Object> bindings) {
+
+    private static final String INSERT = "INSERT INTO users (id, name, last_name, birth_date, address, phone, " +
+            "email_address, base_salary, id_rol, password, creation_date, update_date) VALUES ";
+    private static final String ON_CONFLICT = " ON CONFLICT (email_address) DO NOTHING RETURNING email_address";
+    private static final int COLUMNS = 12;
+
+    // Postgres admite hasta 65535 parametros por sentencia
+    public static final int MAX_ROWS = 65_535 / COLUMNS;
+
+    public static UserBatchInsert of(List<UserData> users) {
+        if (users.isEmpty() || users.size() > MAX_ROWS) {
+            throw new IllegalArgumentException("El lote debe tener entre 1 y " + MAX_ROWS + " usuarios");
+        }
+        StringBuilder sql = new StringBuilder(INSERT);
+        List<Object> bindings = new ArrayList<>(users.size() * COLUMNS);
+        for (UserData user : users) {
+            if (!bindings.isEmpty()) {
+                sql.append(", ");
+            }
+            sql.append('(');
+            for (int column = 1; column <= COLUMNS; column++) {
+                sql.append(column == 1 ? "$" : ", $").append(bindings.size() + column);
+            }
+            sql.append(')');
+            bindings.add(user.getId());
+            bindings.add(user.getName());
+            bindings.add(user.getLastName());
+            bindings.add(SqlBindings.orTypedNull(user.getBirthDate(), LocalDate.class));
+            bindings.add(SqlBindings.orTypedNull(user.getAddress(), String.class));
+            bindings.add(SqlBindings.orTypedNull(user.getPhone(), String.class));
+            bindings.add(user.getEmailAddress());
+            bindings.add(SqlBindings.orTypedNull(user.getBaseSalary(), BigDecimal.class));
+            bindings.add(user.getIdRol());
+            bindings.add(user.getPassword());
+            bindings.add(SqlBindings.orTypedNull(user.getCreationDate(), LocalDateTime.class));
+            bindings.add(SqlBindings.orTypedNull(user.getUpdateDate(), LocalDateTime.class));
+        }
+        sql.append(ON_CONFLICT);
+        return new UserBatchInsert(sql.toString(), List.copyOf(bindings));
+    }
+}
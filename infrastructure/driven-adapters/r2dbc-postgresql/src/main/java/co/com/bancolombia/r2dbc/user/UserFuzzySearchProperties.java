@@ -0,0 +1,14 @@
+package co.com.bancolombia.r2dbc.user;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "adapters.r2dbc.fuzzy-search")
+public record UserFuzzySearchProperties(
+        Double similarityThreshold,
+        Integer maxResults) {
+
+    public UserFuzzySearchProperties {
+        similarityThreshold = similarityThreshold == null ? 0.5 : similarityThreshold;
+        maxResults = maxResults == null ? 20 : maxResults;
+    }
+}
@@ -0,0 +1,77 @@
+package co.com.bancolombia.r2dbc.user;
+
+import co.com.bancolombia.model.user.UserChanges;
+import co.com.bancolombia.model.user.UserField;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * UPDATE condicionado que solo escribe las columnas modificadas. La condicion sobre update_date reemplaza
+ * el bloqueo de la fila: si otra solicitud la cambio primero, la sentencia no actualiza nada. El join con
+ * la misma fila devuelve el correo anterior en el RETURNING sin otra consulta.
+ */
+public record UserPatchUpdate(String sql, List<Object> bindings) {
+
+    private static final String RETURNING = " RETURNING u.id, u.name, u.last_name, u.birth_date, u.address, " +
+            "u.phone, u.email_address, u.base_salary, u.id_rol, u.password, u.creation_date, u.update_date, " +
+            "old.email_address AS previous_email_address";
+
+    private static final Map<UserField, Column> COLUMNS = new EnumMap<>(Map.of(
+            UserField.NAME, new Column("name", String.class),
+            UserField.LAST_NAME, new Column("last_name", String.class),
+            UserField.BIRTH_DATE, new Column("birth_date", LocalDate.class),
+            UserField.ADDRESS, new Column("address", String.class),
+            UserField.PHONE, new Column("phone", String.class),
+            UserField.EMAIL_ADDRESS, new Column("email_address", String.class),
+            UserField.BASE_SALARY, new Column("base_salary", BigDecimal.class),
+            UserField.ID_ROL, new Column("id_rol", String.class)));
+
+    /**
+     * @param expectedVersions versiones aceptadas; {@code null} actualiza la fila sin importar su version
+     */
+    public static UserPatchUpdate of(String id, UserChanges changes, Set<LocalDateTime> expectedVersions,
+                                     LocalDateTime now) {
+        if (changes.isEmpty()) {
+            throw new IllegalArgumentException("No hay columnas para actualizar");
+        }
+        if (expectedVersions != null && expectedVersions.isEmpty()) {
+            throw new IllegalArgumentException("Debe existir al menos una version esperada");
+        }
+        List<Object> bindings = new ArrayList<>();
+        bindings.add(id);
+        StringBuilder sql = new StringBuilder("UPDATE users u SET ");
+        COLUMNS.forEach((field, column) -> {
+            if (changes.contains(field)) {
+                bindings.add(SqlBindings.orTypedNull(changes.get(field), column.type()));
+                sql.append(column.name()).append(" = $").append(bindings.size()).append(", ");
+            }
+        });
+        // Postgres guarda microsegundos; la version siempre avanza aunque dos cambios caigan en el mismo instante
+        bindings.add(now.truncatedTo(ChronoUnit.MICROS));
+        sql.append("update_date = GREATEST($").append(bindings.size())
+                .append(", u.update_date + interval '1 microsecond')")
+                .append(" FROM users old WHERE old.id = u.id AND u.id = $1");
+        if (expectedVersions != null) {
+            StringJoiner versions = new StringJoiner(", ", " AND u.update_date IN (", ")");
+            for (LocalDateTime version : expectedVersions) {
+                bindings.add(version);
+                versions.add("$" + bindings.size());
+            }
+            sql.append(versions);
+        }
+        sql.append(RETURNING);
+        return new UserPatchUpdate(sql.toString(), List.copyOf(bindings));
+    }
+
+    private record Column(String name, Class<?> type) {
+    }
+}
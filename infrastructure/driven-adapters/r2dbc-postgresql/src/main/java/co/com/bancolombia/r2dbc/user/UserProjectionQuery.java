@@ -0,0 +1,63 @@
+package co.com.bancolombia.r2dbc.user;
+
+import co.com.bancolombia.model.user.UserCursor;
+import co.com.bancolombia.model.user.UserField;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Consulta de perfiles que solo lee las columnas de los campos solicitados. El join con roles se agrega
+ * unicamente cuando se pide el rol, y el id y las fechas se leen siempre para el cursor y la version.
+ */
+public record UserProjectionQuery(String sql, List<Object> bindings) {
+
+    private static final String BASE_COLUMNS = "u.id, u.creation_date, u.update_date";
+    private static final String ORDER_BY = " ORDER BY u.creation_date, u.id";
+
+    private static final Map<UserField, String> COLUMNS = new EnumMap<>(Map.of(
+            UserField.NAME, "u.name",
+            UserField.LAST_NAME, "u.last_name",
+            UserField.BIRTH_DATE, "u.birth_date",
+            UserField.ADDRESS, "u.address",
+            UserField.PHONE, "u.phone",
+            UserField.EMAIL_ADDRESS, "u.email_address",
+            UserField.BASE_SALARY, "u.base_salary",
+            UserField.ID_ROL, "u.id_rol"));
+
+    public static UserProjectionQuery byId(String id, Set<UserField> fields) {
+        return new UserProjectionQuery(select(fields) + " WHERE u.id = $1", List.of(id));
+    }
+
+    public static UserProjectionQuery page(UserCursor after, int limit, Set<UserField> fields) {
+        StringBuilder sql = new StringBuilder(select(fields));
+        List<Object> bindings = new ArrayList<>();
+        if (after != null) {
+            bindings.add(after.creationDate());
+            bindings.add(after.id());
+            sql.append(" WHERE (u.creation_date, u.id) > ($1, $2)");
+        }
+        bindings.add(limit);
+        sql.append(ORDER_BY).append(" LIMIT $").append(bindings.size());
+        return new UserProjectionQuery(sql.toString(), List.copyOf(bindings));
+    }
+
+    private static String select(Set<UserField> fields) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(BASE_COLUMNS);
+        COLUMNS.forEach((field, column) -> {
+            if (fields.contains(field) || (field == UserField.ID_ROL && fields.contains(UserField.ROLE))) {
+                sql.append(", ").append(column);
+            }
+        });
+        if (fields.contains(UserField.ROLE)) {
+            sql.append(", r.nombre AS rol_nombre, r.descripcion AS rol_descripcion")
+                    .append(" FROM users u LEFT JOIN roles r ON r.id_rol = u.id_rol");
+        } else {
+            sql.append(" FROM users u");
+        }
+        return sql.toString();
+    }
+}
@@ -1,10 +1,12 @@
 package co.com.bancolombia.r2dbc.user;
 
 import co.com.bancolombia.r2dbc.user.data.UserData;
+import co.com.bancolombia.r2dbc.user.data.UserProfileData;
 import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
@@ -14,14 +16,49 @@ import java.time.LocalDateTime;
 @Repository
 public interface UserR2dbcRepository extends ReactiveCrudRepository<UserData, String> {
 
-    @Modifying
+    // Proyeccion de lectura: usuario con su rol, sin la columna password
+    String SELECT_USER_PROFILE = "SELECT u.id, u.name, u.last_name, u.birth_date, u.address, u.phone, u.email_address, " +
+            "u.base_salary, u.creation_date, u.update_date, u.id_rol, " +
+            "r.nombre AS rol_nombre, r.descripcion AS rol_descripcion " +
+            "FROM users u LEFT JOIN roles r ON r.id_rol = u.id_rol";
+
+    // Las expresiones coinciden con los indices GIN de 007-add-users-trigram-indexes
+    String FUZZY_SEARCH = SELECT_USER_PROFILE + " WHERE :term <% lower(u.name || ' ' || u.last_name) " +
+            "OR :term <% lower(u.email_address) " +
+            "ORDER BY greatest(word_similarity(:term, lower(u.name || ' ' || u.last_name)), " +
+            "word_similarity(:term, lower(u.email_address))) DESC, u.id LIMIT :limit";
+
+    // RETURNING devuelve la fila guardada en la misma sentencia, sin volver a consultarla
     @Query("INSERT INTO users (id, name, last_name, birth_date, address, phone, email_address, base_salary, id_rol, password, creation_date, update_date ) " +
-            "VALUES (:id, :name, :last_name, :birth_date, :address, :phone, :email_address, :base_salary, :id_rol, :password, :creation_date, :update_date)")
-    Mono<Integer> createUser(String id, String name, String last_name, LocalDate birth_date, String address, String phone, String email_address, BigDecimal base_salary, String id_rol, String password, LocalDateTime creation_date, LocalDateTime update_date);
+            "VALUES (:id, :name, :last_name, :birth_date, :address, :phone, :email_address, :base_salary, :id_rol, :password, :creation_date, :update_date) " +
+            "RETURNING id, name, last_name, birth_date, address, phone, email_address, base_salary, id_rol, password, creation_date, update_date")
+    Mono<UserData> createUser(String id, String name, String last_name, LocalDate birth_date, String address, String phone, String email_address, BigDecimal base_salary, String id_rol, String password, LocalDateTime creation_date, LocalDateTime update_date);
 
-    @Query("SELECT EXISTS(SELECT 1 FROM users WHERE email_address = :emailAddress)")
-    Mono<Boolean> existsByEmailAddress(String emailAddress);
+    @Modifying
+    @Query("UPDATE users SET password = :password WHERE id = :id")
+    Mono<Integer> updatePassword(String id, String password);
 
     Mono<UserData> findByEmailAddress(String emailAddress);
 
+    @Query(SELECT_USER_PROFILE + " WHERE u.id = :id")
+    Mono<UserProfileData> findProfileById(String id);
+
+    // El join con roles trae el rol de todos los usuarios en la misma consulta
+    @Query(SELECT_USER_PROFILE + " WHERE u.id = ANY(:ids)")
+    Flux<UserProfileData> findProfilesByIds(String[] ids);
+
+    @Query(SELECT_USER_PROFILE + " ORDER BY u.creation_date, u.id LIMIT :limit")
+    Flux<UserProfileData> findFirstProfilePage(int limit);
+
+    @Query(SELECT_USER_PROFILE + " WHERE (u.creation_date, u.id) > (:creationDate, :id) " +
+            "ORDER BY u.creation_date, u.id LIMIT :limit")
+    Flux<UserProfileData> findProfilePageAfter(LocalDateTime creationDate, String id, int limit);
+
+    @Query(FUZZY_SEARCH)
+    Flux<UserProfileData> fuzzySearch(String term, int limit);
+
+    // Equivale a SET LOCAL: solo dura lo que dura la transaccion actual
+    @Query("SELECT set_config('pg_trgm.word_similarity_threshold', :threshold, true)")
+    Mono<String> setWordSimilarityThreshold(String threshold);
+
 }
@@ -1,11 +1,23 @@
 package co.com.bancolombia.r2dbc.user;
 
+import co.com.bancolombia.model.exception.InvalidDataException;
+import co.com.bancolombia.model.exception.UserExistsException;
 import co.com.bancolombia.model.user.User;
+import co.com.bancolombia.model.user.UserChanges;
+import co.com.bancolombia.model.user.UserCursor;
+import co.com.bancolombia.model.user.UserField;
+import co.com.bancolombia.model.user.UserPatchResult;
+import co.com.bancolombia.model.user.UserProfile;
+import co.com.bancolombia.model.user.UserSearchCriteria;
 import co.com.bancolombia.model.user.gateways.UserRepository;
-import co.com.bancolombia.r2dbc.role.RoleR2dbcRepository;
-import co.com.bancolombia.r2dbc.role.mapper.RoleMapper;
+import co.com.bancolombia.r2dbc.config.PostgresqlConnectionProperties;
+import co.com.bancolombia.r2dbc.user.data.UserData;
+import co.com.bancolombia.r2dbc.user.data.UserProfileData;
 import co.com.bancolombia.r2dbc.user.mapper.UserMapper;
+import io.r2dbc.spi.R2dbcException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
@@ -13,6 +25,10 @@ import reactor.core.publisher.Mono;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 @Slf4j
 @Repository
@@ -20,10 +36,15 @@ import java.time.LocalDateTime;
 public class UserRepositoryAdapter implements UserRepository {
 
     private final UserR2dbcRepository repository;
-    private final RoleR2dbcRepository roleRepository;
+    private final DatabaseClient databaseClient;
+    private final R2dbcConverter converter;
+    private final PostgresqlConnectionProperties properties;
+    private final UserFuzzySearchProperties fuzzySearchProperties;
+
+    private static final String UNIQUE_VIOLATION = "23505";
+    private static final String FOREIGN_KEY_VIOLATION = "23503";
 
     @Override
-    @Transactional
     public Mono<User> createUser(User user) {
         log.debug("Guardando usuario con ID: {}", user.getId());
         return Mono.fromCallable(() -> UserMapper.toDataForCreation(user))
@@ -41,8 +62,8 @@ public class UserRepositoryAdapter implements UserRepository {
                         data.getCreationDate(),
                         data.getUpdateDate()
                 ))
-                .then(repository.findById(user.getId()))
                 .map(UserMapper::toDomain)
+                .onErrorMap(error -> translateConstraintViolation(error, user.getEmailAddress(), user.getIdRol()))
                 .doOnSuccess(userCreated ->
                         log.debug("Usuario creado exitosamente con ID: {}", userCreated.getId())
                 )
@@ -51,6 +72,17 @@ public class UserRepositoryAdapter implements UserRepository {
                 );
     }
 
+    @Override
+    public Flux<String> createUsers(List<User> users) {
+        log.debug("Guardando lote de {} usuarios", users.size());
+        return Mono.fromCallable(() -> UserBatchInsert.of(users.stream().map(UserMapper::toDataForCreation).toList()))
+                .flatMapMany(insert -> bind(databaseClient.sql(insert.sql()), insert.bindings())
+                        .map(row -> row.get("email_address", String.class))
+                        .all())
+                .doOnComplete(() -> log.debug("Lote de {} usuarios guardado", users.size()))
+                .doOnError(error -> log.error("Error al guardar lote de usuarios: {}", error.getMessage()));
+    }
+
     @Override
     @Transactional
     public Mono<User> updateUser(User user) {
@@ -67,24 +99,72 @@ public class UserRepositoryAdapter implements UserRepository {
     }
 
     @Override
-    public Mono<Boolean> emailAddressExists(String emailAddress) {
-        log.debug("Verificando existencia de correo: {}", emailAddress);
-        return repository.existsByEmailAddress(emailAddress)
-                .defaultIfEmpty(false)
-                .doOnNext(existe -> log.debug("Verificacion correo {}: {}", emailAddress, existe));
+    public Mono<UserPatchResult> patchUser(String id, UserChanges changes, Set<LocalDateTime> expectedVersions) {
+        log.debug("Actualizacion parcial de usuario con ID: {} campos {}", id, changes.values().keySet());
+        return Mono.fromCallable(() -> UserPatchUpdate.of(id, changes, expectedVersions, LocalDateTime.now()))
+                .flatMap(update -> bind(databaseClient.sql(update.sql()), update.bindings())
+                        .map((row, metadata) -> new UserPatchResult(
+                                UserMapper.toDomain(converter.read(UserData.class, row, metadata)),
+                                row.get("previous_email_address", String.class)))
+                        .one())
+                .onErrorMap(error -> translateConstraintViolation(error,
+                        (String) changes.get(UserField.EMAIL_ADDRESS), (String) changes.get(UserField.ID_ROL)))
+                .doOnSuccess(result -> {
+                    if (result == null) {
+                        log.debug("Usuario {} no actualizado: no existe o su version cambio", id);
+                        return;
+                    }
+                    log.debug("Usuario actualizado parcialmente con ID: {}", id);
+                })
+                .doOnError(error ->
+                        log.error("Error al actualizar parcialmente usuario {}: {}", id, error.getMessage())
+                );
+    }
+
+    @Override
+    public Mono<Void> updatePassword(String id, String password) {
+        log.debug("Actualizando hash de password para usuario con ID: {}", id);
+        return repository.updatePassword(id, password)
+                .doOnSuccess(rows ->
+                        log.debug("Hash de password actualizado para usuario con ID: {}", id)
+                )
+                .doOnError(error ->
+                        log.error("Error al actualizar hash de password del usuario {}: {}", id, error.getMessage())
+                )
+                .then();
     }
 
     @Override
     public Mono<User> getUserById(String id) {
         log.debug("Obteniendo usuario por ID: {}", id);
         return repository.findById(id)
-                .flatMap(this::enrichWithRole)
                 .map(UserMapper::toDomain)
                 .doOnSuccess(user ->
                         log.debug("Usuario encontrado: {}", user != null ? user.getId() : "null")
                 );
     }
 
+    @Override
+    public Mono<UserProfile> getUserProfileById(String id) {
+        log.debug("Obteniendo perfil de usuario por ID: {}", id);
+        return repository.findProfileById(id)
+                .map(UserMapper::toProfile);
+    }
+
+    @Override
+    public Mono<UserProfile> getUserProfileById(String id, Set<UserField> fields) {
+        log.debug("Obteniendo perfil parcial de usuario por ID: {} con campos {}", id, fields);
+        UserProjectionQuery query = UserProjectionQuery.byId(id, fields);
+        return query(query.sql(), query.bindings()).next();
+    }
+
+    @Override
+    public Flux<UserProfile> findProfilesByIds(Collection<String> ids) {
+        log.debug("Obteniendo perfiles de {} usuarios por ID", ids.size());
+        return repository.findProfilesByIds(ids.toArray(String[]::new))
+                .map(UserMapper::toProfile);
+    }
+
     @Override
     public Mono<User> getUserByEmailAddress(String emailAddress) {
         log.debug("Obteniendo usuario por correo: {}", emailAddress);
@@ -96,14 +176,52 @@ public class UserRepositoryAdapter implements UserRepository {
     }
 
     @Override
-    public Flux<User> findAll() {
-        log.debug("Obteniendo todos los usuarios");
-        return repository.findAll()
-                .flatMap(this::enrichWithRole)
-                .map(UserMapper::toDomain)
+    public Flux<UserProfile> findAll() {
+        log.debug("Obteniendo todos los usuarios en streaming, fetch size {}", properties.fetchSize());
+        // El fetch size hace que Postgres entregue el cursor por lotes segun la demanda del suscriptor
+        return databaseClient.sql(UserR2dbcRepository.SELECT_USER_PROFILE + " ORDER BY u.creation_date, u.id")
+                .filter(statement -> statement.fetchSize(properties.fetchSize()))
+                .map((row, metadata) -> converter.read(UserProfileData.class, row, metadata))
+                .all()
+                .limitRate(properties.fetchSize())
+                .map(UserMapper::toProfile)
                 .doOnComplete(() -> log.debug("Consulta de usuarios completada"));
     }
 
+    @Override
+    public Flux<UserProfile> findPage(UserCursor after, int limit) {
+        log.debug("Obteniendo pagina de usuarios despues de {} con limite {}", after, limit);
+        Flux<UserProfileData> rows = after == null
+                ? repository.findFirstProfilePage(limit)
+                : repository.findProfilePageAfter(after.creationDate(), after.id(), limit);
+        return rows.map(UserMapper::toProfile);
+    }
+
+    @Override
+    public Flux<UserProfile> findPage(UserCursor after, int limit, Set<UserField> fields) {
+        log.debug("Obteniendo pagina parcial de usuarios despues de {} con limite {} y campos {}", after, limit, fields);
+        UserProjectionQuery query = UserProjectionQuery.page(after, limit, fields);
+        return query(query.sql(), query.bindings());
+    }
+
+    @Override
+    public Flux<UserProfile> search(UserSearchCriteria criteria, UserCursor after, int limit) {
+        log.debug("Buscando usuarios con filtros {} despues de {} con limite {}", criteria, after, limit);
+        UserSearchQuery query = UserSearchQuery.of(criteria, after, limit);
+        return query(query.sql(), query.bindings());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<UserProfile> fuzzySearch(String term, int limit) {
+        int cappedLimit = Math.min(limit, fuzzySearchProperties.maxResults());
+        log.debug("Busqueda aproximada de usuarios por '{}' con limite {}", term, cappedLimit);
+        // El umbral se fija dentro de la transaccion para no alterar otras conexiones del pool
+        return repository.setWordSimilarityThreshold(String.valueOf(fuzzySearchProperties.similarityThreshold()))
+                .thenMany(repository.fuzzySearch(term.toLowerCase(Locale.ROOT), cappedLimit))
+                .map(UserMapper::toProfile);
+    }
+
     @Override
     public Mono<Void> deleteById(String id) {
         log.debug("Eliminando usuario con ID: {}", id);
@@ -116,15 +234,37 @@ public class UserRepositoryAdapter implements UserRepository {
                 );
     }
 
-    private Mono<co.com.bancolombia.r2dbc.user.data.UserData> enrichWithRole(co.com.bancolombia.r2dbc.user.data.UserData userData) {
-        if (userData.getIdRol() == null) {
-            return Mono.just(userData);
+    /*
+     * uk_users_email_address y fk_user_role validan el registro dentro del mismo INSERT o UPDATE, por eso el
+     * caso de uso no consulta antes el correo. Aqui se traducen a las excepciones de negocio.
+     */
+    private static Throwable translateConstraintViolation(Throwable error, String emailAddress, String idRol) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof R2dbcException r2dbcError) {
+                if (UNIQUE_VIOLATION.equals(r2dbcError.getSqlState())) {
+                    return new UserExistsException(emailAddress);
+                }
+                if (FOREIGN_KEY_VIOLATION.equals(r2dbcError.getSqlState())) {
+                    return new InvalidDataException("El rol con ID " + idRol + " no existe");
+                }
+            }
+        }
+        return error;
+    }
+
+    // Las columnas que la consulta no selecciona quedan en null en UserProfileData
+    private Flux<UserProfile> query(String sql, List<Object> bindings) {
+        return bind(databaseClient.sql(sql), bindings)
+                .map((row, metadata) -> converter.read(UserProfileData.class, row, metadata))
+                .all()
+                .map(UserMapper::toProfile);
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec, List<Object> bindings) {
+        for (int i = 0; i < bindings.size(); i++) {
+            spec = spec.bind(i, bindings.get(i));
         }
-        return roleRepository.findById(userData.getIdRol())
-                .map(roleData -> userData.toBuilder()
-                        .role(roleData)
-                        .build())
-                .switchIfEmpty(Mono.just(userData));
+        return spec;
     }
 
 }
@@ -0,0 +1,72 @@
+package co.com.bancolombia.r2dbc.user;
+
+import co.com.bancolombia.model.user.UserCursor;
+import co.com.bancolombia.model.user.UserSearchCriteria;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Consulta de busqueda de usuarios con parametros posicionales ($1, $2, ...). Solo se agregan las
+ * condiciones de los filtros presentes, cada una respaldada por un indice de 005-add-users-search-indexes.
+ */
+public record UserSearchQuery(String sql, List<Object> bindings) {
+
+    private static final String ORDER_BY = " ORDER BY u.creation_date, u.id";
+
+    public static UserSearchQuery of(UserSearchCriteria criteria, UserCursor after, int limit) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> bindings = new ArrayList<>();
+
+        if (criteria.idRol() != null) {
+            bindings.add(criteria.idRol());
+            conditions.add("u.id_rol = $" + bindings.size());
+        }
+        if (criteria.namePrefix() != null) {
+            bindings.add(likePrefix(criteria.namePrefix()));
+            conditions.add("lower(u.name) LIKE $" + bindings.size());
+        }
+        if (criteria.lastNamePrefix() != null) {
+            bindings.add(likePrefix(criteria.lastNamePrefix()));
+            conditions.add("lower(u.last_name) LIKE $" + bindings.size());
+        }
+        if (criteria.minSalary() != null) {
+            bindings.add(criteria.minSalary());
+            conditions.add("u.base_salary >= $" + bindings.size());
+        }
+        if (criteria.maxSalary() != null) {
+            bindings.add(criteria.maxSalary());
+            conditions.add("u.base_salary <= $" + bindings.size());
+        }
+        if (criteria.createdFrom() != null) {
+            bindings.add(criteria.createdFrom());
+            conditions.add("u.creation_date >= $" + bindings.size());
+        }
+        if (criteria.createdTo() != null) {
+            bindings.add(criteria.createdTo());
+            conditions.add("u.creation_date <= $" + bindings.size());
+        }
+        if (after != null) {
+            bindings.add(after.creationDate());
+            bindings.add(after.id());
+            conditions.add("(u.creation_date, u.id) > ($" + (bindings.size() - 1) + ", $" + bindings.size() + ")");
+        }
+
+        StringBuilder sql = new StringBuilder(UserR2dbcRepository.SELECT_USER_PROFILE);
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        bindings.add(limit);
+        sql.append(ORDER_BY).append(" LIMIT $").append(bindings.size());
+        return new UserSearchQuery(sql.toString(), List.copyOf(bindings));
+    }
+
+    // Se escapan los comodines de LIKE para que el prefijo se compare de forma literal
+    private static String likePrefix(String prefix) {
+        return prefix.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+    }
+}
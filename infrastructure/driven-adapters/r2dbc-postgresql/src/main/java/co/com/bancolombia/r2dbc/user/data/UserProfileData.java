@@ -0,0 +1,60 @@
+package co.com.bancolombia.r2dbc.user.data;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.relational.core.mapping.Column;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Proyeccion de lectura de users unida con roles. No selecciona la columna password.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class UserProfileData {
+
+    @Column("id")
+    private String id;
+
+    @Column("name")
+    private String name;
+
+    @Column("last_name")
+    private String lastName;
+
+    @Column("birth_date")
+    private LocalDate birthDate;
+
+    @Column("address")
+    private String address;
+
+    @Column("phone")
+    private String phone;
+
+    @Column("email_address")
+    private String emailAddress;
+
+    @Column("base_salary")
+    private BigDecimal baseSalary;
+
+    @Column("creation_date")
+    private LocalDateTime creationDate;
+
+    @Column("update_date")
+    private LocalDateTime updateDate;
+
+    @Column("id_rol")
+    private String idRol;
+
+    @Column("rol_nombre")
+    private String rolNombre;
+
+    @Column("rol_descripcion")
+    private String rolDescripcion;
+}
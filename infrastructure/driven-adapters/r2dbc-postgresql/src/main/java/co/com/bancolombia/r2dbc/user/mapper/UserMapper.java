@@ -1,8 +1,11 @@
 package co.com.bancolombia.r2dbc.user.mapper;
 
+import co.com.bancolombia.model.role.Role;
 import co.com.bancolombia.model.user.User;
+import co.com.bancolombia.model.user.UserProfile;
 import co.com.bancolombia.r2dbc.role.mapper.RoleMapper;
 import co.com.bancolombia.r2dbc.user.data.UserData;
+import co.com.bancolombia.r2dbc.user.data.UserProfileData;
 
 import java.time.LocalDateTime;
 
@@ -42,6 +45,7 @@ public class UserMapper {
                 .baseSalary(user.getBaseSalary())
                 .idRol(user.getIdRol())
                 .password(user.getPassword())
+                .creationDate(user.getCreationDate())
                 .updateDate(now)
                 .build();
     }
@@ -58,7 +62,28 @@ public class UserMapper {
                 .baseSalary(userData.getBaseSalary())
                 .idRol(userData.getIdRol())
                 .password(userData.getPassword())
+                .creationDate(userData.getCreationDate())
+                .updateDate(userData.getUpdateDate())
                 .role(userData.getRole() != null ? RoleMapper.toDomain(userData.getRole()) : null)
                 .build();
     }
+
+    public static UserProfile toProfile(UserProfileData row){
+        return UserProfile.builder()
+                .id(row.getId())
+                .name(row.getName())
+                .lastName(row.getLastName())
+                .birthDate(row.getBirthDate())
+                .address(row.getAddress())
+                .phone(row.getPhone())
+                .emailAddress(row.getEmailAddress())
+                .baseSalary(row.getBaseSalary())
+                .idRol(row.getIdRol())
+                .creationDate(row.getCreationDate())
+                .updateDate(row.getUpdateDate())
+                .role(row.getRolNombre() != null
+                        ? new Role(row.getIdRol(), row.getRolNombre(), row.getRolDescripcion())
+                        : null)
+                .build();
+    }
 }
\ No newline at end of file
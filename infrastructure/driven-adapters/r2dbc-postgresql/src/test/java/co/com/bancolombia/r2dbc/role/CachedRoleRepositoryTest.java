@@ -0,0 +1,109 @@
+package co.com.bancolombia.r2dbc.role;
+
+import co.com.bancolombia.model.role.Role;
+import co.com.bancolombia.model.role.gateways.RoleChangeListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachedRoleRepositoryTest {
+
+    @Mock
+    private RoleRepositoryAdapter delegate;
+
+    @Mock
+    private RoleChangeListener listener;
+
+    private CachedRoleRepository cachedRoleRepository;
+
+    private final Role admin = new Role("ADMIN-ID", "ADMIN", "Administrador del sistema");
+    private final Role client = new Role("CLIENT-ID", "CLIENT", "Usuario estándar");
+
+    @BeforeEach
+    void setUp() {
+        cachedRoleRepository = new CachedRoleRepository(delegate, new RoleCatalogProperties(null),
+                List.of(listener));
+        when(delegate.findAll()).thenReturn(Flux.just(admin));
+        StepVerifier.create(cachedRoleRepository.refresh()).verifyComplete();
+    }
+
+    @Test
+    void existsByIdIsServedFromTheCatalog() {
+        StepVerifier.create(cachedRoleRepository.existsById("ADMIN-ID"))
+                .expectNext(true)
+                .verifyComplete();
+        StepVerifier.create(cachedRoleRepository.getRoleByNombre("ADMIN"))
+                .expectNext(admin)
+                .verifyComplete();
+
+        verify(delegate, never()).existsById(anyString());
+        verify(delegate, never()).getRoleByNombre(anyString());
+    }
+
+    @Test
+    void missFallsBackToTheDatabase() {
+        when(delegate.existsById("UNKNOWN")).thenReturn(Mono.just(false));
+
+        StepVerifier.create(cachedRoleRepository.existsById("UNKNOWN"))
+                .expectNext(false)
+                .verifyComplete();
+
+        verify(delegate).existsById("UNKNOWN");
+    }
+
+    @Test
+    void writesReplaceTheCatalog() {
+        when(listener.onRolesChanged()).thenReturn(Mono.empty());
+        when(delegate.createRole(client)).thenReturn(Mono.just(client));
+        when(delegate.findAll()).thenReturn(Flux.just(admin, client));
+
+        StepVerifier.create(cachedRoleRepository.createRole(client))
+                .expectNext(client)
+                .verifyComplete();
+
+        StepVerifier.create(cachedRoleRepository.getRoleById("CLIENT-ID"))
+                .expectNext(client)
+                .verifyComplete();
+        verify(delegate, never()).getRoleById(anyString());
+
+        when(delegate.deleteById("CLIENT-ID")).thenReturn(Mono.empty());
+        when(delegate.findAll()).thenReturn(Flux.just(admin));
+        when(delegate.existsById("CLIENT-ID")).thenReturn(Mono.just(false));
+
+        StepVerifier.create(cachedRoleRepository.deleteById("CLIENT-ID")).verifyComplete();
+        StepVerifier.create(cachedRoleRepository.existsById("CLIENT-ID"))
+                .expectNext(false)
+                .verifyComplete();
+        StepVerifier.create(cachedRoleRepository.findAll())
+                .expectNext(admin)
+                .verifyComplete();
+        verify(listener, times(2)).onRolesChanged();
+    }
+
+    @Test
+    void writeFailsWhenAListenerCannotApplyTheChange() {
+        when(delegate.updateRole(client)).thenReturn(Mono.just(client));
+        when(listener.onRolesChanged()).thenReturn(Mono.error(new IllegalStateException("sin conexion")));
+
+        StepVerifier.create(cachedRoleRepository.updateRole(client))
+                .expectError(IllegalStateException.class)
+                .verify();
+    }
+
+    @Test
+    void periodicRefreshDoesNotNotifyListeners() {
+        StepVerifier.create(cachedRoleRepository.refresh()).verifyComplete();
+
+        verify(listener, never()).onRolesChanged();
+    }
+}
@@ -0,0 +1,176 @@
+package co.com.bancolombia.r2dbc.statistics;
+
+import co.com.bancolombia.model.user.UserStatistics;
+import io.r2dbc.spi.Readable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+class UserStatisticsRepositoryAdapterTest {
+
+    private static final Duration TTL = Duration.ofMinutes(1);
+
+    private final Map<String, DatabaseClient.GenericExecuteSpec> specs = new HashMap<>();
+    private DatabaseClient databaseClient;
+    private VirtualTimeScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient = mock(DatabaseClient.class);
+        scheduler = VirtualTimeScheduler.getOrSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        VirtualTimeScheduler.reset();
+    }
+
+    @Test
+    void combinesTheThreeQueries() {
+        LocalDate today = LocalDate.now();
+        stubQueries(List.of(
+                Map.of("id_rol", "ADMIN-ID", "nombre", "ADMIN", "users", 2L),
+                row("id_rol", "GONE-ID", "nombre", null, "users", 1L)),
+                Map.of("total", 3L, "min_salary", new BigDecimal("1000000"), "max_salary", new BigDecimal("5000000"),
+                        "avg_salary", new BigDecimal("2666666.6666"), "p25", 1500000.0, "p50", 2000000.0,
+                        "p75", 3500000.0, "p90", 4400000.0),
+                List.of(Map.of("day", today, "users", 3L)));
+
+        StepVerifier.create(adapter(3).getStatistics())
+                .assertNext(statistics -> {
+                    assertThat(statistics.totalUsers()).isEqualTo(3);
+                    assertThat(statistics.usersPerRole()).containsExactly(
+                            new UserStatistics.RoleCount("ADMIN-ID", "ADMIN", 2),
+                            new UserStatistics.RoleCount("GONE-ID", null, 1));
+                    assertThat(statistics.salary().average()).isEqualByComparingTo("2666666.67");
+                    assertThat(statistics.salary().median()).isEqualByComparingTo("2000000.00");
+                    assertThat(statistics.salary().p90()).isEqualByComparingTo("4400000.00");
+                    assertThat(statistics.registrationsPerDay()).last()
+                            .isEqualTo(new UserStatistics.DailyCount(today, 3));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void fillsDaysWithoutRegistrationsWithZero() {
+        LocalDate today = LocalDate.now();
+        stubQueries(List.of(), emptySalaries(), List.of(Map.of("day", today.minusDays(2), "users", 4L)));
+
+        StepVerifier.create(adapter(4).getStatistics())
+                .assertNext(statistics -> assertThat(statistics.registrationsPerDay()).containsExactly(
+                        new UserStatistics.DailyCount(today.minusDays(3), 0),
+                        new UserStatistics.DailyCount(today.minusDays(2), 4),
+                        new UserStatistics.DailyCount(today.minusDays(1), 0),
+                        new UserStatistics.DailyCount(today, 0)))
+                .verifyComplete();
+        verify(specs.get("SELECT CAST")).bind("since", today.minusDays(3).atStartOfDay());
+    }
+
+    @Test
+    void emptyTableHasNoSalaryValues() {
+        stubQueries(List.of(), emptySalaries(), List.of());
+
+        StepVerifier.create(adapter(1).getStatistics())
+                .assertNext(statistics -> {
+                    assertThat(statistics.totalUsers()).isZero();
+                    assertThat(statistics.salary().min()).isNull();
+                    assertThat(statistics.salary().median()).isNull();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void servesTheSameResultUntilTheTtlExpires() {
+        stubQueries(List.of(), emptySalaries(), List.of());
+        UserStatisticsRepositoryAdapter adapter = adapter(1);
+
+        StepVerifier.create(adapter.getStatistics()).expectNextCount(1).verifyComplete();
+        scheduler.advanceTimeBy(TTL.minusSeconds(1));
+        StepVerifier.create(adapter.getStatistics()).expectNextCount(1).verifyComplete();
+        verify(databaseClient, times(3)).sql(anyString());
+
+        scheduler.advanceTimeBy(Duration.ofSeconds(2));
+        StepVerifier.create(adapter.getStatistics()).expectNextCount(1).verifyComplete();
+        verify(databaseClient, times(6)).sql(anyString());
+    }
+
+    @Test
+    void failedLoadsAreNotCached() {
+        stubQueries(List.of(), emptySalaries(), List.of());
+        DatabaseClient.GenericExecuteSpec failing = mock(DatabaseClient.GenericExecuteSpec.class);
+        RowsFetchSpec<Object> failure = mock(RowsFetchSpec.class);
+        when(failure.all()).thenReturn(Flux.error(new IllegalStateException("sin conexion")));
+        doReturn(failure).when(failing).map(any(Function.class));
+        when(databaseClient.sql(startsWith("SELECT u.id_rol"))).thenReturn(failing, specs.get("SELECT u.id_rol"));
+        UserStatisticsRepositoryAdapter adapter = adapter(1);
+
+        StepVerifier.create(adapter.getStatistics()).expectError(IllegalStateException.class).verify();
+        StepVerifier.create(adapter.getStatistics()).expectNextCount(1).verifyComplete();
+    }
+
+    private UserStatisticsRepositoryAdapter adapter(int registrationDays) {
+        return new UserStatisticsRepositoryAdapter(databaseClient, new UserStatisticsProperties(TTL, registrationDays));
+    }
+
+    private void stubQueries(List<Map<String, Object>> roles, Map<String, Object> salaries,
+                             List<Map<String, Object>> days) {
+        stub("SELECT u.id_rol", roles);
+        stub("SELECT count(*) AS total", List.of(salaries));
+        stub("SELECT CAST", days);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stub(String sqlPrefix, List<Map<String, Object>> rows) {
+        DatabaseClient.GenericExecuteSpec spec = mock(DatabaseClient.GenericExecuteSpec.class);
+        specs.put(sqlPrefix, spec);
+        when(databaseClient.sql(startsWith(sqlPrefix))).thenReturn(spec);
+        when(spec.bind(anyString(), any())).thenReturn(spec);
+        when(spec.map(any(Function.class))).thenAnswer(invocation -> {
+            Function<Readable, Object> mapper = invocation.getArgument(0);
+            List<Object> mapped = rows.stream().map(values -> mapper.apply(readable(values))).toList();
+            RowsFetchSpec<Object> fetch = mock(RowsFetchSpec.class);
+            when(fetch.all()).thenReturn(Flux.fromIterable(mapped));
+            when(fetch.one()).thenReturn(Mono.justOrEmpty(mapped.stream().findFirst()));
+            return fetch;
+        });
+    }
+
+    private static Readable readable(Map<String, Object> values) {
+        Readable row = mock(Readable.class);
+        when(row.get(anyString(), any(Class.class))).thenAnswer(invocation -> values.get(invocation.<String>getArgument(0)));
+        return row;
+    }
+
+    private static Map<String, Object> emptySalaries() {
+        return row("total", 0L, "min_salary", null, "max_salary", null, "avg_salary", null,
+                "p25", null, "p50", null, "p75", null, "p90", null);
+    }
+
+    private static Map<String, Object> row(Object... keysAndValues) {
+        Map<String, Object> row = new HashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            row.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return row;
+    }
+}
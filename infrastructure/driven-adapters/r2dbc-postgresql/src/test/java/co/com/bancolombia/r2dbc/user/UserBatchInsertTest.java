@@ -0,0 +1,56 @@
+package co.com.bancolombia.r2dbc.user;
+
+import co.com.bancolombia.r2dbc.user.data.UserData;
+import io.r2dbc.spi.Parameters;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserBatchInsertTest {
+
+    @Test
+    void insertsEveryRowInOneStatement() {
+        UserBatchInsert insert = UserBatchInsert.of(List.of(user("1"), user("2")));
+
+        assertThat(insert.sql())
+                .contains("VALUES ($1, $2, $3, $4, $5, $6, $7, $8, $9, $10, $11, $12), "
+                        + "($13, $14, $15, $16, $17, $18, $19, $20, $21, $22, $23, $24)")
+                .endsWith(" ON CONFLICT (email_address) DO NOTHING RETURNING email_address");
+        assertThat(insert.bindings()).hasSize(24);
+        assertThat(insert.bindings().get(12)).isEqualTo("2");
+    }
+
+    @Test
+    void bindsMissingOptionalColumnsAsTypedNulls() {
+        UserBatchInsert insert = UserBatchInsert.of(List.of(user("1")));
+
+        assertThat(insert.bindings().get(3)).isEqualTo(Parameters.in(LocalDate.class));
+        assertThat(insert.bindings().get(4)).isEqualTo(Parameters.in(String.class));
+        assertThat(insert.bindings().get(7)).isEqualTo(new BigDecimal("2000000"));
+    }
+
+    @Test
+    void rejectsBatchesAboveTheParameterLimit() {
+        List<UserData> users = Collections.nCopies(UserBatchInsert.MAX_ROWS + 1, user("1"));
+
+        assertThatThrownBy(() -> UserBatchInsert.of(users)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static UserData user(String id) {
+        return UserData.builder()
+                .id(id)
+                .name("Juan")
+                .lastName("Perez")
+                .emailAddress("user" + id + "@test.com")
+                .baseSalary(new BigDecimal("2000000"))
+                .idRol("DEV")
+                .password("hash")
+                .build();
+    }
+}
@@ -0,0 +1,76 @@
+package co.com.bancolombia.r2dbc.user;
+
+import co.com.bancolombia.model.user.UserChanges;
+import co.com.bancolombia.model.user.UserField;
+import io.r2dbc.spi.Parameters;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserPatchUpdateTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 1, 12, 0, 0, 123_456_789);
+
+    @Test
+    void updatesOnlyTheChangedColumnsWhenTheVersionMatches() {
+        LocalDateTime version = LocalDateTime.of(2024, 2, 1, 8, 0);
+        UserPatchUpdate update = UserPatchUpdate.of("123",
+                new UserChanges(Map.of(UserField.NAME, "Pedro", UserField.BASE_SALARY, new BigDecimal("3000000"))),
+                Set.of(version), NOW);
+
+        assertThat(update.sql())
+                .startsWith("UPDATE users u SET name = $2, base_salary = $3, "
+                        + "update_date = GREATEST($4, u.update_date + interval '1 microsecond')"
+                        + " FROM users old WHERE old.id = u.id AND u.id = $1 AND u.update_date IN ($5) RETURNING ")
+                .contains("old.email_address AS previous_email_address")
+                .doesNotContain("last_name =", "password =", "creation_date =");
+        assertThat(update.bindings()).hasSize(5);
+        assertThat(update.bindings().get(0)).isEqualTo("123");
+        assertThat(update.bindings().get(3)).isEqualTo(NOW.withNano(123_456_000));
+        assertThat(update.bindings().get(4)).isEqualTo(version);
+    }
+
+    @Test
+    void acceptsEveryVersionOfTheIfMatchList() {
+        Set<LocalDateTime> versions = new LinkedHashSet<>(List.of(NOW.minusDays(1), NOW.minusDays(2)));
+        UserPatchUpdate update = UserPatchUpdate.of("123", new UserChanges(Map.of(UserField.PHONE, "300")),
+                versions, NOW);
+
+        assertThat(update.sql()).contains(" AND u.update_date IN ($4, $5) RETURNING ");
+    }
+
+    @Test
+    void anyVersionLeavesOutTheVersionCondition() {
+        UserPatchUpdate update = UserPatchUpdate.of("123", new UserChanges(Map.of(UserField.PHONE, "300")), null, NOW);
+
+        assertThat(update.sql()).doesNotContain("u.update_date IN");
+        assertThat(update.bindings()).hasSize(3);
+    }
+
+    @Test
+    void clearsOptionalColumnsWithTypedNulls() {
+        Map<UserField, Object> values = new HashMap<>();
+        values.put(UserField.ADDRESS, null);
+        UserPatchUpdate update = UserPatchUpdate.of("123", new UserChanges(values), null, NOW);
+
+        assertThat(update.sql()).contains("SET address = $2, ");
+        assertThat(update.bindings().get(1)).isEqualTo(Parameters.in(String.class));
+    }
+
+    @Test
+    void rejectsAnEmptyVersionList() {
+        UserChanges changes = new UserChanges(Map.of(UserField.PHONE, "300"));
+
+        assertThatThrownBy(() -> UserPatchUpdate.of("123", changes, Set.of(), NOW))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,47 @@
+package co.com.bancolombia.r2dbc.user;
+
+import co.com.bancolombia.model.user.UserCursor;
+import co.com.bancolombia.model.user.UserField;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserProjectionQueryTest {
+
+    @Test
+    void selectsOnlyTheRequestedColumnsWithoutJoiningRoles() {
+        UserProjectionQuery query = UserProjectionQuery.byId("123", EnumSet.of(UserField.ID, UserField.NAME,
+                UserField.EMAIL_ADDRESS));
+
+        assertThat(query.sql()).isEqualTo("SELECT u.id, u.creation_date, u.update_date, u.name, u.email_address "
+                + "FROM users u WHERE u.id = $1");
+        assertThat(query.bindings()).containsExactly("123");
+    }
+
+    @Test
+    void joinsRolesOnlyWhenTheRoleIsRequested() {
+        UserProjectionQuery query = UserProjectionQuery.byId("123", EnumSet.of(UserField.ROLE));
+
+        assertThat(query.sql()).isEqualTo("SELECT u.id, u.creation_date, u.update_date, u.id_rol, "
+                + "r.nombre AS rol_nombre, r.descripcion AS rol_descripcion "
+                + "FROM users u LEFT JOIN roles r ON r.id_rol = u.id_rol WHERE u.id = $1");
+    }
+
+    @Test
+    void pagesWithTheKeysetCursor() {
+        UserCursor after = new UserCursor(LocalDateTime.of(2024, 1, 1, 0, 0), "123");
+
+        UserProjectionQuery first = UserProjectionQuery.page(null, 21, EnumSet.of(UserField.PHONE));
+        UserProjectionQuery next = UserProjectionQuery.page(after, 21, EnumSet.of(UserField.PHONE));
+
+        assertThat(first.sql()).isEqualTo("SELECT u.id, u.creation_date, u.update_date, u.phone FROM users u "
+                + "ORDER BY u.creation_date, u.id LIMIT $1");
+        assertThat(first.bindings()).containsExactly(21);
+        assertThat(next.sql()).endsWith(" FROM users u WHERE (u.creation_date, u.id) > ($1, $2) "
+                + "ORDER BY u.creation_date, u.id LIMIT $3");
+        assertThat(next.bindings()).containsExactly(after.creationDate(), "123", 21);
+    }
+}
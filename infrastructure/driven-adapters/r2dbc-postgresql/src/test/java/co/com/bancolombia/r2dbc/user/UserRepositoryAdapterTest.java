@@ -1,19 +1,26 @@
 package co.com.bancolombia.r2dbc.user;
 
+import co.com.bancolombia.model.exception.InvalidDataException;
+import co.com.bancolombia.model.exception.UserExistsException;
 import co.com.bancolombia.model.user.User;
-import co.com.bancolombia.r2dbc.role.RoleR2dbcRepository;
 import co.com.bancolombia.r2dbc.user.data.UserData;
+import co.com.bancolombia.r2dbc.user.data.UserProfileData;
+import io.r2dbc.spi.R2dbcDataIntegrityViolationException;
+import io.r2dbc.spi.R2dbcException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -25,7 +32,7 @@ class UserRepositoryAdapterTest {
     private UserR2dbcRepository repository;
 
     @Mock
-    private RoleR2dbcRepository roleRepository;
+    private UserFuzzySearchProperties fuzzySearchProperties;
 
     @InjectMocks
     private UserRepositoryAdapter userRepositoryAdapter;
@@ -58,29 +65,105 @@ class UserRepositoryAdapterTest {
     }
 
     @Test
-    void emailExists() {
-        when(repository.existsByEmailAddress("juan@test.com"))
-                .thenReturn(Mono.just(true));
+    void getUserById() {
+        when(repository.findById("123"))
+                .thenReturn(Mono.just(userData));
 
-        StepVerifier.create(userRepositoryAdapter.emailAddressExists("juan@test.com"))
-                .expectNext(true)
+        StepVerifier.create(userRepositoryAdapter.getUserById("123"))
+                .expectNextMatches(user -> user.getName().equals("Juan")
+                        && user.getPassword().equals("encodedPassword"))
                 .verifyComplete();
 
-        verify(repository).existsByEmailAddress("juan@test.com");
+        verify(repository).findById("123");
     }
 
     @Test
-    void getUserById() {
-        when(repository.findById("123"))
+    void getUserProfileByIdUsesTheProjection() {
+        when(repository.findProfileById("123"))
+                .thenReturn(Mono.just(userRow("123", "DEV", null)));
+
+        StepVerifier.create(userRepositoryAdapter.getUserProfileById("123"))
+                .expectNextMatches(profile -> profile.getName().equals("Juan") && profile.getRole() == null)
+                .verifyComplete();
+
+        verify(repository).findProfileById("123");
+        verify(repository, never()).findById(anyString());
+    }
+
+    @Test
+    void findPageLoadsRolesInTheSameQuery() {
+        when(repository.findFirstProfilePage(2))
+                .thenReturn(Flux.just(userRow("1", "ADMIN-ID", "ADMIN"), userRow("2", "CLIENT-ID", "CLIENT")));
+
+        StepVerifier.create(userRepositoryAdapter.findPage(null, 2))
+                .expectNextMatches(user -> user.getRole().getIdRol().equals("ADMIN-ID")
+                        && user.getRole().getNombre().equals("ADMIN"))
+                .expectNextMatches(user -> user.getRole().getNombre().equals("CLIENT"))
+                .verifyComplete();
+
+        verify(repository).findFirstProfilePage(2);
+        verify(repository, never()).findAll();
+    }
+
+    @Test
+    void findProfilesByIdsRunsASingleQuery() {
+        when(repository.findProfilesByIds(new String[]{"1", "2"}))
+                .thenReturn(Flux.just(userRow("2", "ADMIN-ID", "ADMIN")));
+
+        StepVerifier.create(userRepositoryAdapter.findProfilesByIds(List.of("1", "2")))
+                .expectNextMatches(user -> user.getId().equals("2") && user.getRole().getNombre().equals("ADMIN"))
+                .verifyComplete();
+
+        verify(repository, never()).findProfileById(anyString());
+    }
+
+    @Test
+    void fuzzySearchSetsTheThresholdAndCapsTheLimit() {
+        when(fuzzySearchProperties.similarityThreshold()).thenReturn(0.4);
+        when(fuzzySearchProperties.maxResults()).thenReturn(20);
+        when(repository.setWordSimilarityThreshold("0.4")).thenReturn(Mono.just("0.4"));
+        when(repository.fuzzySearch("jaun", 20)).thenReturn(Flux.just(userRow("1", "DEV", null)));
+
+        StepVerifier.create(userRepositoryAdapter.fuzzySearch("Jaun", 500))
+                .expectNextMatches(profile -> profile.getId().equals("1"))
+                .verifyComplete();
+
+        verify(repository).setWordSimilarityThreshold("0.4");
+    }
+
+    @Test
+    void createUserReturnsTheInsertedRowWithoutReadingItAgain() {
+        when(repository.createUser(eq("123"), eq("Juan"), eq("Perez"), any(), any(), any(), eq("juan@test.com"),
+                any(), eq("DEV"), eq("encodedPassword"), any(), any()))
                 .thenReturn(Mono.just(userData));
-        when(roleRepository.findById("DEV"))
-                .thenReturn(Mono.empty());
 
-        StepVerifier.create(userRepositoryAdapter.getUserById("123"))
-                .expectNextMatches(user -> user.getName().equals("Juan"))
+        StepVerifier.create(userRepositoryAdapter.createUser(usuario))
+                .expectNextMatches(user -> user.getId().equals("123") && user.getCreationDate() != null)
                 .verifyComplete();
 
-        verify(repository).findById("123");
+        verify(repository, never()).findById(anyString());
+    }
+
+    @Test
+    void createUserTranslatesTheUniqueEmailViolation() {
+        R2dbcException violation = new R2dbcDataIntegrityViolationException("duplicate key", "23505");
+        when(repository.createUser(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(Mono.error(new DataIntegrityViolationException("insert", violation)));
+
+        StepVerifier.create(userRepositoryAdapter.createUser(usuario))
+                .expectError(UserExistsException.class)
+                .verify();
+    }
+
+    @Test
+    void createUserTranslatesTheRoleForeignKeyViolation() {
+        when(repository.createUser(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(Mono.error(new R2dbcDataIntegrityViolationException("fk_user_role", "23503")));
+
+        StepVerifier.create(userRepositoryAdapter.createUser(usuario))
+                .expectErrorMatches(error -> error instanceof InvalidDataException
+                        && error.getMessage().contains("DEV"))
+                .verify();
     }
 
     @Test
@@ -94,4 +177,17 @@ class UserRepositoryAdapterTest {
 
         verify(repository).deleteById("123");
     }
+
+    private static UserProfileData userRow(String id, String idRol, String rolNombre) {
+        return UserProfileData.builder()
+                .id(id)
+                .name("Juan")
+                .lastName("Perez")
+                .emailAddress("juan" + id + "@test.com")
+                .baseSalary(new BigDecimal("2000000"))
+                .idRol(idRol)
+                .rolNombre(rolNombre)
+                .rolDescripcion(rolNombre == null ? null : "Rol " + rolNombre)
+                .build();
+    }
 }
\ No newline at end of file
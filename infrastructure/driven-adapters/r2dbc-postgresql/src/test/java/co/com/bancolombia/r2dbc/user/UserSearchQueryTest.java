@@ -0,0 +1,47 @@
+package co.com.bancolombia.r2dbc.user;
+
+import co.com.bancolombia.model.user.UserCursor;
+import co.com.bancolombia.model.user.UserSearchCriteria;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserSearchQueryTest {
+
+    @Test
+    void withoutFiltersOnlyOrdersAndLimits() {
+        UserSearchQuery query = UserSearchQuery.of(
+                new UserSearchCriteria(null, null, null, null, null, null, null), null, 51);
+
+        assertThat(query.sql())
+                .doesNotContain("WHERE")
+                .endsWith(" ORDER BY u.creation_date, u.id LIMIT $1");
+        assertThat(query.bindings()).containsExactly(51);
+    }
+
+    @Test
+    void bindsOnlyThePresentFiltersInOrder() {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        UserCursor after = new UserCursor(from.plusDays(1), "123");
+        UserSearchQuery query = UserSearchQuery.of(
+                new UserSearchCriteria("ADMIN-ID", null, "Pe", new BigDecimal("1000"), null, from, null),
+                after, 21);
+
+        assertThat(query.sql()).contains(" WHERE u.id_rol = $1 AND lower(u.last_name) LIKE $2"
+                + " AND u.base_salary >= $3 AND u.creation_date >= $4"
+                + " AND (u.creation_date, u.id) > ($5, $6) ORDER BY u.creation_date, u.id LIMIT $7");
+        assertThat(query.bindings())
+                .containsExactly("ADMIN-ID", "pe%", new BigDecimal("1000"), from, after.creationDate(), "123", 21);
+    }
+
+    @Test
+    void escapesLikeWildcardsInPrefixes() {
+        UserSearchQuery query = UserSearchQuery.of(
+                new UserSearchCriteria(null, "50%_A\\", null, null, null, null, null), null, 10);
+
+        assertThat(query.bindings()).containsExactly("50\\%\\_a\\\\%", 10);
+    }
+}
@@ -18,7 +18,10 @@ public class AuthRouterRest {
     public RouterFunction<ServerResponse> authRoutes(AuthHandler authHandler) {
         return route()
                 .POST(ApiPaths.LOGIN, accept(MediaType.APPLICATION_JSON), authHandler::login)
-                .GET("/api/v1/auth/validate", authHandler::validateToken)
+                .GET(ApiPaths.VALIDATE, authHandler::validateToken)
+                .POST(ApiPaths.VALIDATE_BATCH, accept(MediaType.APPLICATION_JSON), authHandler::validateTokens)
+                .GET(ApiPaths.JWKS, authHandler::jwks)
+                .POST(ApiPaths.KEYS_ROTATE, accept(MediaType.APPLICATION_JSON), authHandler::rotateKeys)
                 .build();
     }
 }
@@ -1,5 +1,6 @@
 package co.com.bancolombia.api;
 
+import co.com.bancolombia.api.constants.ApiPaths;
 import co.com.bancolombia.api.user.UserHandler;
 import co.com.bancolombia.api.user.dto.ErrorResponseDTO;
 import co.com.bancolombia.api.user.dto.UserRequestDTO;
@@ -16,6 +17,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.reactive.function.server.RequestPredicate;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.ServerResponse;
 
@@ -26,6 +28,7 @@ import static org.springframework.web.reactive.function.server.RouterFunctions.r
 public class RouterRest {
 
     private static final String API_V1_USERS = "/api/v1/users";
+    private static final MediaType MERGE_PATCH_JSON = MediaType.valueOf("application/merge-patch+json");
 /*
     @Bean("userRoutes")
     @RouterOperations({
@@ -94,11 +97,24 @@ public class RouterRest {
     public RouterFunction<ServerResponse> userRoutes(UserHandler userHandler) {
         return route()
                 .POST(API_V1_USERS, accept(MediaType.APPLICATION_JSON), userHandler::saveUser)
+                .POST(ApiPaths.USERS_BATCH_GET, accept(MediaType.APPLICATION_JSON), userHandler::batchGetUsers)
+                .GET(API_V1_USERS + "/search", userHandler::searchUsers)
+                .GET(API_V1_USERS + "/search/fuzzy", userHandler::fuzzySearchUsers)
                 .GET(API_V1_USERS + "/{id}", userHandler::getUserById)
+                .PATCH(API_V1_USERS + "/{id}", contentType(MediaType.APPLICATION_JSON, MERGE_PATCH_JSON),
+                        userHandler::patchUser)
+                .GET(API_V1_USERS, acceptsStream(), userHandler::streamUsers)
                 .GET(API_V1_USERS, userHandler::getAllUsers)
                 .build();
     }
 
+    // accept() would also match */*, so streaming is only chosen when the client names the media type
+    private static RequestPredicate acceptsStream() {
+        return request -> request.headers().accept().stream()
+                .anyMatch(type -> type.equalsTypeAndSubtype(MediaType.APPLICATION_NDJSON)
+                        || type.equalsTypeAndSubtype(MediaType.TEXT_EVENT_STREAM));
+    }
+
     @Bean
     public RouterFunction<ServerResponse> healthRoutes() {
         return route()
@@ -0,0 +1,21 @@
+package co.com.bancolombia.api;
+
+import co.com.bancolombia.api.constants.ApiPaths;
+import co.com.bancolombia.api.statistics.UserStatisticsHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+@Configuration
+public class StatisticsRouterRest {
+
+    @Bean
+    public RouterFunction<ServerResponse> statisticsRoutes(UserStatisticsHandler userStatisticsHandler) {
+        return route()
+                .GET(ApiPaths.USERS_STATISTICS, userStatisticsHandler::getUserStatistics)
+                .build();
+    }
+}
@@ -0,0 +1,25 @@
+package co.com.bancolombia.api;
+
+import co.com.bancolombia.api.constants.ApiPaths;
+import co.com.bancolombia.api.userimport.UserImportHandler;
+import co.com.bancolombia.api.userimport.UserImportParser;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.contentType;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+@Configuration
+public class UserImportRouterRest {
+
+    @Bean
+    public RouterFunction<ServerResponse> userImportRoutes(UserImportHandler userImportHandler) {
+        return route()
+                .POST(ApiPaths.USERS_IMPORT, contentType(MediaType.APPLICATION_NDJSON, UserImportParser.TEXT_CSV),
+                        userImportHandler::importUsers)
+                .build();
+    }
+}
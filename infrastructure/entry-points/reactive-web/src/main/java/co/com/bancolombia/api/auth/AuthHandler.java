@@ -2,47 +2,63 @@ package co.com.bancolombia.api.auth;
 
 import co.com.bancolombia.api.auth.dto.AuthRequestDTO;
 import co.com.bancolombia.api.auth.dto.AuthResponseDTO;
+import co.com.bancolombia.api.auth.dto.KeyRotationRequestDTO;
+import co.com.bancolombia.api.auth.dto.TokenBatchRequestDTO;
+import co.com.bancolombia.api.auth.dto.TokenValidationDTO;
+import co.com.bancolombia.api.auth.throttle.ClientAddressResolver;
+import co.com.bancolombia.api.auth.throttle.LoginRateLimiter;
+import co.com.bancolombia.api.auth.throttle.LoginThrottledException;
+import co.com.bancolombia.api.crypto.CryptoSaturatedException;
+import co.com.bancolombia.api.jwt.JwtKeyRing;
+import co.com.bancolombia.api.jwt.JwtPrincipal;
 import co.com.bancolombia.api.jwt.JwtProvider;
+import co.com.bancolombia.api.jwt.JwtTokenCache;
 import co.com.bancolombia.model.exception.AuthException;
 import co.com.bancolombia.usecase.auth.AuthUseCase;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.WeakKeyException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class AuthHandler {
 
+    static final int MAX_BATCH_SIZE = 500;
+    private static final int BATCH_PARALLELISM = Schedulers.DEFAULT_POOL_SIZE;
+    private static final CacheControl JWKS_CACHE_CONTROL = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+
     private final AuthUseCase authUseCase;
     private final JwtProvider jwtProvider;
-    private final PasswordEncoder passwordEncoder;
+    private final JwtTokenCache tokenCache;
+    private final JwtKeyRing keyRing;
+    private final LoginRateLimiter loginRateLimiter;
+    private final ClientAddressResolver clientAddressResolver;
 
     public Mono<ServerResponse> login(ServerRequest request) {
         return request.bodyToMono(AuthRequestDTO.class)
                 .switchIfEmpty(Mono.error(new IllegalArgumentException("Request body cannot be empty")))
-                .flatMap(dto -> authUseCase.login(
-                        dto.getEmail(),
-                        dto.getPassword(),
-                        jwtProvider::generateToken,
-                        (password, hashedPassword) -> {
-                            log.debug("[AUTH] Comparing password - Raw: '{}', Hashed: '{}'", password, hashedPassword);
-                            if (hashedPassword == null || hashedPassword.trim().isEmpty()) {
-                                log.error("[AUTH] Hashed password is null or empty");
-                                return false;
-                            }
-                            return passwordEncoder.matches(password, hashedPassword);
-                        }
-                ))
+                .flatMap(dto -> loginRateLimiter.check(dto.getEmail(), clientAddressResolver.resolve(request))
+                        .then(Mono.defer(() -> authUseCase.login(
+                                dto.getEmail(),
+                                dto.getPassword(),
+                                jwtProvider::generateToken
+                        ))))
                 .map(auth -> AuthResponseDTO.builder()
                         .idUser(auth.getIdUser())
                         .idRol(auth.getIdRole())
@@ -69,18 +85,11 @@ public class AuthHandler {
         String token = authHeader.substring(7);
 
         try {
-            if (!jwtProvider.isTokenValid(token)) {
-                return ServerResponse.status(HttpStatus.UNAUTHORIZED)
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .bodyValue(Map.of("error", "Invalid or expired token"));
-            }
-
-            UUID idUser = jwtProvider.extractUserId(token);
-            UUID idRol = jwtProvider.extractRoleId(token);
+            JwtPrincipal principal = tokenCache.verify(token);
 
             AuthResponseDTO response = AuthResponseDTO.builder()
-                    .idUser(idUser)
-                    .idRol(idRol)
+                    .idUser(principal.userId())
+                    .idRol(principal.roleId())
                     .token(token)
                     .build();
 
@@ -92,10 +101,81 @@ public class AuthHandler {
             log.error("[AUTH] Token validation failed: {}", e.getMessage());
             return ServerResponse.status(HttpStatus.UNAUTHORIZED)
                     .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(Map.of("error", "Invalid token"));
+                    .bodyValue(Map.of("error", "Invalid or expired token"));
+        }
+    }
+
+    public Mono<ServerResponse> validateTokens(ServerRequest request) {
+        return request.bodyToMono(TokenBatchRequestDTO.class)
+                .map(dto -> dto.getTokens() == null ? List.<String>of() : dto.getTokens())
+                .defaultIfEmpty(List.of())
+                .flatMap(tokens -> {
+                    if (tokens.isEmpty() || tokens.size() > MAX_BATCH_SIZE) {
+                        return ServerResponse.badRequest()
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .bodyValue(Map.of("error", "Between 1 and " + MAX_BATCH_SIZE + " tokens are required"));
+                    }
+                    return Flux.fromIterable(tokens)
+                            .flatMapSequential(token -> Mono.fromCallable(() -> validate(token))
+                                    .subscribeOn(Schedulers.parallel()), BATCH_PARALLELISM)
+                            .collectList()
+                            .flatMap(results -> ServerResponse.ok()
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .bodyValue(Map.of("results", results)));
+                });
+    }
+
+    private TokenValidationDTO validate(String token) {
+        try {
+            JwtPrincipal principal = tokenCache.verify(token);
+            return TokenValidationDTO.builder()
+                    .valid(true)
+                    .idUser(principal.userId())
+                    .idRol(principal.roleId())
+                    .expiresAt(principal.expiresAt())
+                    .build();
+        } catch (Exception e) {
+            return TokenValidationDTO.builder().valid(false).build();
         }
     }
 
+    public Mono<ServerResponse> jwks(ServerRequest request) {
+        return ServerResponse.ok()
+                .cacheControl(JWKS_CACHE_CONTROL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(jwtProvider.jwks());
+    }
+
+    /**
+     * Installs a new signing key on this instance. Each instance holds its own key ring, so the
+     * call has to reach every instance, and the key must also go to {@code jwt.secret} (or
+     * {@code jwt.signing}) before the next deployment.
+     */
+    public Mono<ServerResponse> rotateKeys(ServerRequest request) {
+        return request.bodyToMono(KeyRotationRequestDTO.class)
+                .switchIfEmpty(Mono.error(new IllegalArgumentException("Request body cannot be empty")))
+                .doOnNext(dto -> {
+                    if (keyRing.activeAlgorithm() == SignatureAlgorithm.ES256) {
+                        keyRing.rotate(dto.getPrivateKey(), dto.getPublicKey());
+                    } else {
+                        keyRing.rotate(dto.getSecret());
+                    }
+                })
+                .flatMap(dto -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(Map.of(
+                                "kid", keyRing.activeKeyId(),
+                                "algorithm", keyRing.activeAlgorithm().getValue()
+                        )))
+                .onErrorResume(error -> error instanceof IllegalArgumentException || error instanceof WeakKeyException,
+                        error -> {
+                            log.warn("[AUTH] Signing key rotation rejected: {}", error.getMessage());
+                            return ServerResponse.badRequest()
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .bodyValue(Map.of("error", "Invalid signing key", "message", error.getMessage()));
+                        });
+    }
+
     private Mono<ServerResponse> handleLoginError(Throwable throwable) {
         log.error("[AUTH] Login error: {}", throwable.getMessage());
 
@@ -109,6 +189,28 @@ public class AuthHandler {
                     ));
         }
 
+        if (throwable instanceof LoginThrottledException throttled) {
+            return ServerResponse.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, throttled.getRetryAfter().toSeconds())))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(Map.of(
+                            "error", "Too many requests",
+                            "message", throttled.getMessage(),
+                            "code", throttled.getCode()
+                    ));
+        }
+
+        if (throwable instanceof CryptoSaturatedException saturated) {
+            return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(Map.of(
+                            "error", "Service busy",
+                            "message", "Too many concurrent logins, retry shortly",
+                            "code", saturated.getCode()
+                    ));
+        }
+
         if (throwable instanceof IllegalArgumentException) {
             return ServerResponse.status(HttpStatus.BAD_REQUEST)
                     .contentType(MediaType.APPLICATION_JSON)
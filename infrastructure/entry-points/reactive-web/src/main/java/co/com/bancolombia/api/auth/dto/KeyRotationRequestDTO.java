@@ -0,0 +1,24 @@
+package co.com.bancolombia.api.auth.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "New signing key; a secret under HS256, a PEM key pair under ES256")
+public class KeyRotationRequestDTO {
+
+    @Schema(description = "HMAC secret of at least 32 bytes (HS256)")
+    private String secret;
+
+    @Schema(description = "PKCS#8 EC private key in PEM (ES256)")
+    private String privateKey;
+
+    @Schema(description = "X.509 EC public key in PEM (ES256)")
+    private String publicKey;
+}
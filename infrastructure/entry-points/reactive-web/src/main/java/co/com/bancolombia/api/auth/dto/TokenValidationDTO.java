@@ -0,0 +1,32 @@
+package co.com.bancolombia.api.auth.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Validation result for one token, in request order")
+public class TokenValidationDTO {
+
+    @Schema(description = "Whether the token signature and expiry are valid", example = "true")
+    private boolean valid;
+
+    @Schema(description = "User ID", example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID idUser;
+
+    @Schema(description = "Role ID", example = "80e86d27-20a4-44be-b90d-44eeb378d409")
+    private UUID idRol;
+
+    @Schema(description = "Token expiry", example = "2024-01-01T12:00:00Z")
+    private Instant expiresAt;
+}
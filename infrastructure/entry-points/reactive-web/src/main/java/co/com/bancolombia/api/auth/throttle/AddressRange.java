@@ -0,0 +1,61 @@
+package co.com.bancolombia.api.auth.throttle;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * An address or CIDR range from {@code auth.throttle.trusted-proxies}. Only address literals are
+ * parsed, so matching a forwarded hop never triggers a DNS lookup.
+ */
+record AddressRange(byte[] network, int prefixLength) {
+
+    // Dotted IPv4, or anything with a colon, which InetAddress parses as IPv6 instead of resolving it
+    private static final Pattern ADDRESS_LITERAL = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}|[0-9A-Fa-f.]*:[0-9A-Fa-f:.]*");
+
+    static AddressRange parse(String range) {
+        int slash = range.indexOf('/');
+        String address = slash < 0 ? range.trim() : range.substring(0, slash).trim();
+        byte[] network = literal(address)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid trusted proxy address: " + range));
+        int prefixLength = slash < 0 ? network.length * 8 : Integer.parseInt(range.substring(slash + 1).trim());
+        if (prefixLength < 0 || prefixLength > network.length * 8) {
+            throw new IllegalArgumentException("Invalid trusted proxy prefix: " + range);
+        }
+        return new AddressRange(network, prefixLength);
+    }
+
+    boolean contains(String address) {
+        return literal(address).map(this::contains).orElse(false);
+    }
+
+    private boolean contains(byte[] address) {
+        if (address.length != network.length) {
+            return false;
+        }
+        int fullBytes = prefixLength / 8;
+        for (int i = 0; i < fullBytes; i++) {
+            if (address[i] != network[i]) {
+                return false;
+            }
+        }
+        int remainingBits = prefixLength % 8;
+        if (remainingBits == 0) {
+            return true;
+        }
+        int mask = 0xFF << (8 - remainingBits);
+        return (address[fullBytes] & mask) == (network[fullBytes] & mask);
+    }
+
+    private static Optional<byte[]> literal(String address) {
+        if (address == null || !ADDRESS_LITERAL.matcher(address).matches()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(InetAddress.getByName(address).getAddress());
+        } catch (UnknownHostException e) {
+            return Optional.empty();
+        }
+    }
+}
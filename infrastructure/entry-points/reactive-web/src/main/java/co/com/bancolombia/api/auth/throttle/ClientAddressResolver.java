@@ -0,0 +1,58 @@
+package co.com.bancolombia.api.auth.throttle;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Resolves the client address that logins are throttled by. Behind a load balancer every connection
+ * comes from the balancer, so when the peer is one of {@code auth.throttle.trusted-proxies} (addresses
+ * or CIDR ranges) the client is read from {@code X-Forwarded-For}, walking it from the right past the
+ * trusted hops. Entries left of the first untrusted hop are written by the client and can be forged.
+ * With no trusted proxies, the default, the header is ignored and the peer address is used.
+ */
+@Component
+public class ClientAddressResolver {
+
+    static final String X_FORWARDED_FOR = "X-Forwarded-For";
+
+    private final List<AddressRange> trustedProxies;
+
+    public ClientAddressResolver(LoginThrottleProperties props) {
+        this.trustedProxies = props.trustedProxies().stream()
+                .map(AddressRange::parse)
+                .toList();
+    }
+
+    public String resolve(ServerRequest request) {
+        String peer = request.remoteAddress()
+                .map(address -> address.getAddress() != null
+                        ? address.getAddress().getHostAddress()
+                        : address.getHostString())
+                .orElse(null);
+        return resolve(peer, request.headers().header(X_FORWARDED_FOR));
+    }
+
+    String resolve(String peer, List<String> forwardedFor) {
+        if (peer == null || !isTrusted(peer)) {
+            return peer;
+        }
+        List<String> hops = forwardedFor.stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(String::trim)
+                .filter(hop -> !hop.isEmpty())
+                .toList();
+        for (int i = hops.size() - 1; i >= 0; i--) {
+            if (!isTrusted(hops.get(i))) {
+                return hops.get(i);
+            }
+        }
+        return hops.isEmpty() ? peer : hops.get(0);
+    }
+
+    private boolean isTrusted(String address) {
+        return trustedProxies.stream().anyMatch(proxy -> proxy.contains(address));
+    }
+}
@@ -0,0 +1,111 @@
+package co.com.bancolombia.api.auth.throttle;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory token buckets per email and per client address, checked before a login
+ * reaches the database or the password encoder. The address comes from
+ * {@link ClientAddressResolver}. Buckets live in bounded caches and are dropped
+ * after {@code auth.throttle.idle-expiry} without attempts.
+ */
+@Slf4j
+@Component
+public class LoginRateLimiter {
+
+    private static final String METRIC_THROTTLED = "auth.login.throttled";
+
+    private final LoginThrottleProperties props;
+    private final LongSupplier nanoClock;
+    private final Cache<String, TokenBucket> emailBuckets;
+    private final Cache<String, TokenBucket> ipBuckets;
+    private final Counter emailRejections;
+    private final Counter ipRejections;
+
+    @Autowired
+    public LoginRateLimiter(LoginThrottleProperties props, MeterRegistry meterRegistry) {
+        this(props, meterRegistry, System::nanoTime);
+    }
+
+    LoginRateLimiter(LoginThrottleProperties props, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.props = props;
+        this.nanoClock = nanoClock;
+        this.emailBuckets = newBucketCache(props);
+        this.ipBuckets = newBucketCache(props);
+        CaffeineCacheMetrics.monitor(meterRegistry, emailBuckets, "auth.throttle.email");
+        CaffeineCacheMetrics.monitor(meterRegistry, ipBuckets, "auth.throttle.ip");
+        this.emailRejections = Counter.builder(METRIC_THROTTLED).tag("scope", "email").register(meterRegistry);
+        this.ipRejections = Counter.builder(METRIC_THROTTLED).tag("scope", "ip").register(meterRegistry);
+    }
+
+    public Mono<Void> check(String email, String remoteAddress) {
+        return Mono.fromRunnable(() -> acquire(email, remoteAddress));
+    }
+
+    /**
+     * Takes a token from both buckets or from neither: a rejected attempt must not drain the
+     * other bucket. The buckets are always locked address first, so concurrent calls cannot deadlock.
+     * Addresses and emails are personal data and are kept out of the logs.
+     */
+    void acquire(String email, String remoteAddress) {
+        long now = nanoClock.getAsLong();
+        TokenBucket ipBucket = ipBucket(remoteAddress, now);
+        TokenBucket emailBucket = emailBucket(email, now);
+        synchronized (ipBucket) {
+            synchronized (emailBucket) {
+                long ipWait = ipBucket.waitNanos(now);
+                if (ipWait > 0) {
+                    ipRejections.increment();
+                    throw throttled("address", "Too many login attempts from this address", ipWait);
+                }
+                long emailWait = emailBucket.waitNanos(now);
+                if (emailWait > 0) {
+                    emailRejections.increment();
+                    throw throttled("account", "Too many login attempts for this account", emailWait);
+                }
+                ipBucket.consume();
+                emailBucket.consume();
+            }
+        }
+    }
+
+    private TokenBucket ipBucket(String remoteAddress, long now) {
+        if (remoteAddress == null) {
+            return TokenBucket.untracked(now);
+        }
+        return ipBuckets.get(remoteAddress, key -> new TokenBucket(props.ipCapacity(), props.ipRefillPerMinute(), now));
+    }
+
+    private TokenBucket emailBucket(String email, long now) {
+        if (email == null) {
+            return TokenBucket.untracked(now);
+        }
+        return emailBuckets.get(email.trim().toLowerCase(Locale.ROOT),
+                key -> new TokenBucket(props.emailCapacity(), props.emailRefillPerMinute(), now));
+    }
+
+    private static LoginThrottledException throttled(String scope, String message, long waitNanos) {
+        Duration retryAfter = Duration.ofNanos(waitNanos);
+        log.warn("[AUTH] Login throttled by the {} limit, retry after {} ms", scope, retryAfter.toMillis());
+        return new LoginThrottledException(message, retryAfter);
+    }
+
+    private static Cache<String, TokenBucket> newBucketCache(LoginThrottleProperties props) {
+        return Caffeine.newBuilder()
+                .maximumSize(props.maxTrackedKeys())
+                .expireAfterAccess(props.idleExpiry())
+                .recordStats()
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package co.com.bancolombia.api.auth.throttle;
+
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.List;
+
+@Validated
+@ConfigurationProperties(prefix = "auth.throttle")
+public record LoginThrottleProperties(
+        @Positive Integer emailCapacity,
+        @Positive Integer emailRefillPerMinute,
+        @Positive Integer ipCapacity,
+        @Positive Integer ipRefillPerMinute,
+        @Positive Long maxTrackedKeys,
+        Duration idleExpiry,
+        List<String> trustedProxies
+) {
+    public LoginThrottleProperties {
+        emailCapacity = emailCapacity == null ? 5 : emailCapacity;
+        emailRefillPerMinute = emailRefillPerMinute == null ? 5 : emailRefillPerMinute;
+        ipCapacity = ipCapacity == null ? 20 : ipCapacity;
+        ipRefillPerMinute = ipRefillPerMinute == null ? 20 : ipRefillPerMinute;
+        maxTrackedKeys = maxTrackedKeys == null ? 100_000L : maxTrackedKeys;
+        idleExpiry = idleExpiry == null ? Duration.ofMinutes(10) : idleExpiry;
+        trustedProxies = trustedProxies == null ? List.of() : List.copyOf(trustedProxies);
+    }
+}
@@ -0,0 +1,22 @@
+package co.com.bancolombia.api.auth.throttle;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class LoginThrottledException extends RuntimeException {
+
+    public static final String CODE = "TOO_MANY_ATTEMPTS";
+
+    private final Duration retryAfter;
+
+    public LoginThrottledException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public String getCode() {
+        return CODE;
+    }
+}
@@ -0,0 +1,45 @@
+package co.com.bancolombia.api.auth.throttle;
+
+/**
+ * Not thread-safe on its own: callers hold the bucket's monitor across {@link #waitNanos} and
+ * {@link #consume} so the check and the withdrawal happen as one step.
+ */
+final class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long lastRefillNanos;
+
+    TokenBucket(int capacity, int refillPerMinute, long nowNanos) {
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerMinute / 60_000_000_000d;
+        this.tokens = capacity;
+        this.lastRefillNanos = nowNanos;
+    }
+
+    /**
+     * Refills the bucket up to {@code nowNanos} without taking a token.
+     *
+     * @return 0 when a token is available, otherwise the nanoseconds until one is
+     */
+    long waitNanos(long nowNanos) {
+        tokens = Math.min(capacity, tokens + Math.max(0, nowNanos - lastRefillNanos) * tokensPerNano);
+        lastRefillNanos = Math.max(lastRefillNanos, nowNanos);
+        if (tokens >= 1) {
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+
+    /**
+     * A bucket for a missing key: it is never shared, so it always has its token.
+     */
+    static TokenBucket untracked(long nowNanos) {
+        return new TokenBucket(1, 1, nowNanos);
+    }
+
+    void consume() {
+        tokens -= 1;
+    }
+}
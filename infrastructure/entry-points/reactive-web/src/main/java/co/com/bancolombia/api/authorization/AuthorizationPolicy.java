@@ -0,0 +1,133 @@
+package co.com.bancolombia.api.authorization;
+
+import co.com.bancolombia.api.jwt.JwtPrincipal;
+import co.com.bancolombia.model.role.gateways.RoleChangeListener;
+import co.com.bancolombia.model.role.gateways.RolePermissionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.ReactiveAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+/**
+ * Role-to-route authorization backed by the {@code role_permissions} table. Permissions are compiled
+ * into an {@link AuthorizationTable} that is swapped atomically on every reload, so request-time
+ * checks are a pair of hash lookups against the already verified {@link JwtPrincipal}. The first
+ * table is loaded while the context starts, and startup fails if it cannot be read, so requests are
+ * never judged against an empty table. Role writes reload it through {@link RoleChangeListener}; the
+ * permissions are read through their own port so the role repository that notifies this listener is
+ * not also one of its dependencies.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuthorizationPolicy implements RoleChangeListener {
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+    private static final String ID_VARIABLE = "id";
+
+    private final RolePermissionRepository permissionRepository;
+    private final AuthorizationPolicyProperties properties;
+    private final AtomicReference<AuthorizationTable> table = new AtomicReference<>(AuthorizationTable.EMPTY);
+    private volatile Disposable refresher;
+
+    public ReactiveAuthorizationManager<AuthorizationContext> forRoute(HttpMethod method, String template) {
+        RouteKey route = new RouteKey(method, template);
+        return (authentication, context) -> authentication
+                .map(auth -> decide(route, auth, context))
+                .defaultIfEmpty(DENIED);
+    }
+
+    /**
+     * Applies the rules of a single-resource route to each id of a batch request, as if every id were
+     * the {@code {id}} path variable. Callers without a permission on the route get no id at all.
+     */
+    public Predicate<String> idFilter(HttpMethod method, String template, Authentication auth) {
+        if (auth == null || !(auth.getPrincipal() instanceof JwtPrincipal principal)) {
+            return id -> false;
+        }
+        PermissionScope scope = table.get().scopeFor(new RouteKey(method, template), principal.roleId());
+        return id -> isAllowed(scope, principal, id);
+    }
+
+    /**
+     * Reloads the permissions from the database and swaps the decision table in one step.
+     * Call it after changing roles or permissions to apply them without waiting for the next refresh.
+     */
+    public Mono<Void> reload() {
+        return permissionRepository.findAllPermissions()
+                .collectList()
+                .map(AuthorizationTable::compile)
+                .doOnNext(compiled -> {
+                    table.set(compiled);
+                    log.debug("Authorization table reloaded with {} rules", compiled.size());
+                })
+                .then();
+    }
+
+    @Override
+    public Mono<Void> onRolesChanged() {
+        return reload();
+    }
+
+    @PostConstruct
+    public void loadTable() {
+        try {
+            reload().block(properties.loadTimeout());
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Could not load the authorization table", e);
+        }
+        log.info("Authorization table loaded with {} rules", table.get().size());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRefresh() {
+        refresher = Flux.interval(properties.refreshInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> reload()
+                        .onErrorResume(error -> {
+                            log.warn("Could not reload authorization table, keeping the current one: {}",
+                                    error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stopRefresh() {
+        Disposable current = refresher;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    private AuthorizationDecision decide(RouteKey route, Authentication auth, AuthorizationContext context) {
+        if (!(auth.getPrincipal() instanceof JwtPrincipal principal)) {
+            return DENIED;
+        }
+        PermissionScope scope = table.get().scopeFor(route, principal.roleId());
+        Object pathId = context.getVariables().get(ID_VARIABLE);
+        return isAllowed(scope, principal, pathId == null ? null : pathId.toString()) ? GRANTED : DENIED;
+    }
+
+    private static boolean isAllowed(PermissionScope scope, JwtPrincipal principal, String id) {
+        if (scope == PermissionScope.ALL) {
+            return true;
+        }
+        return scope == PermissionScope.SELF && principal.isUser(id);
+    }
+}
@@ -0,0 +1,18 @@
+package co.com.bancolombia.api.authorization;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Validated
+@ConfigurationProperties(prefix = "auth.policy")
+public record AuthorizationPolicyProperties(
+        Duration refreshInterval,
+        Duration loadTimeout
+) {
+    public AuthorizationPolicyProperties {
+        refreshInterval = refreshInterval == null ? Duration.ofMinutes(1) : refreshInterval;
+        loadTimeout = loadTimeout == null ? Duration.ofSeconds(30) : loadTimeout;
+    }
+}
@@ -0,0 +1,60 @@
+package co.com.bancolombia.api.authorization;
+
+import co.com.bancolombia.model.role.RolePermission;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable decision table compiled from the role permissions: route → role → scope.
+ */
+@Slf4j
+final class AuthorizationTable {
+
+    static final AuthorizationTable EMPTY = new AuthorizationTable(Map.of());
+
+    private final Map<RouteKey, Map<UUID, PermissionScope>> rules;
+
+    private AuthorizationTable(Map<RouteKey, Map<UUID, PermissionScope>> rules) {
+        this.rules = rules;
+    }
+
+    static AuthorizationTable compile(List<RolePermission> permissions) {
+        Map<RouteKey, Map<UUID, PermissionScope>> rules = new HashMap<>();
+        for (RolePermission permission : permissions) {
+            try {
+                RouteKey route = new RouteKey(
+                        HttpMethod.valueOf(permission.getHttpMethod().trim().toUpperCase(Locale.ROOT)),
+                        permission.getRoute().trim());
+                UUID roleId = UUID.fromString(permission.getIdRol());
+                PermissionScope scope = permission.getScope() == null
+                        ? PermissionScope.ALL
+                        : PermissionScope.valueOf(permission.getScope().trim().toUpperCase(Locale.ROOT));
+                rules.computeIfAbsent(route, key -> new HashMap<>()).merge(roleId, scope,
+                        (current, candidate) -> current == PermissionScope.ALL ? current : candidate);
+            } catch (RuntimeException e) {
+                log.warn("Skipping malformed role permission {}: {}", permission, e.getMessage());
+            }
+        }
+        Map<RouteKey, Map<UUID, PermissionScope>> frozen = new HashMap<>();
+        rules.forEach((route, roles) -> frozen.put(route, Map.copyOf(roles)));
+        return new AuthorizationTable(Map.copyOf(frozen));
+    }
+
+    /**
+     * @return the scope granted to the role on the route, or {@code null} when it has none
+     */
+    PermissionScope scopeFor(RouteKey route, UUID roleId) {
+        Map<UUID, PermissionScope> roles = rules.get(route);
+        return roles == null ? null : roles.get(roleId);
+    }
+
+    int size() {
+        return rules.values().stream().mapToInt(Map::size).sum();
+    }
+}
@@ -0,0 +1,8 @@
+package co.com.bancolombia.api.authorization;
+
+public enum PermissionScope {
+    /** Any resource under the route. */
+    ALL,
+    /** Only when the {@code {id}} path variable is the caller's own user id. */
+    SELF
+}
@@ -0,0 +1,6 @@
+package co.com.bancolombia.api.authorization;
+
+import org.springframework.http.HttpMethod;
+
+public record RouteKey(HttpMethod method, String template) {
+}
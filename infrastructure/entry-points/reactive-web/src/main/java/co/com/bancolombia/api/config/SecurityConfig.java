@@ -1,26 +1,23 @@
 package co.com.bancolombia.api.config;
 
+import co.com.bancolombia.api.authorization.AuthorizationPolicy;
 import co.com.bancolombia.api.constants.ApiPaths;
-import co.com.bancolombia.api.enums.RolEnum;
+import co.com.bancolombia.api.crypto.BCryptCalibrator;
+import co.com.bancolombia.api.crypto.CryptoProperties;
+import co.com.bancolombia.api.crypto.ReactivePasswordService;
 import co.com.bancolombia.api.jwt.JwtAuthenticationFilter;
-import co.com.bancolombia.api.jwt.JwtProvider;
+import co.com.bancolombia.api.jwt.JwtTokenCache;
 import lombok.AllArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
-import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.server.SecurityWebFilterChain;
-import org.springframework.security.web.server.authorization.AuthorizationContext;
-import reactor.core.publisher.Mono;
-
-import java.util.UUID;
 
 @Slf4j
 @Configuration
@@ -28,11 +25,13 @@ import java.util.UUID;
 @AllArgsConstructor
 public class SecurityConfig {
     
-    private final JwtProvider jwtProvider;
+    private final JwtTokenCache tokenCache;
+    private final AuthorizationPolicy authorizationPolicy;
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public ReactivePasswordService passwordService(CryptoProperties cryptoProperties, MeterRegistry meterRegistry) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(BCryptCalibrator.strengthFor(cryptoProperties));
+        return new ReactivePasswordService(encoder, cryptoProperties, meterRegistry);
     }
 
     @Bean
@@ -40,18 +39,22 @@ public class SecurityConfig {
         return http
                 .csrf(ServerHttpSecurity.CsrfSpec::disable)
                 .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                // Cache-Control is decided per route by SecurityHeadersConfig; the default writer would win
+                .headers(headers -> headers.cache(ServerHttpSecurity.HeaderSpec.CacheSpec::disable))
                 .authorizeExchange(auth -> {
                     configurePublicEndpoints(auth);
                     configureUserEndpoints(auth);
                     configureRolEndpoints(auth);
+                    protect(auth, HttpMethod.POST, ApiPaths.KEYS_ROTATE);
                     configureOtherEndpoints(auth);
                 })
-                .addFilterAt(jwtAuthenticationFilter(), SecurityWebFiltersOrder.AUTHENTICATION)
+                .addFilterAt(new JwtAuthenticationFilter(tokenCache), SecurityWebFiltersOrder.AUTHENTICATION)
                 .build();
     }
 
     private void configurePublicEndpoints(ServerHttpSecurity.AuthorizeExchangeSpec auth) {
         auth.pathMatchers(HttpMethod.POST, ApiPaths.LOGIN).permitAll();
+        auth.pathMatchers(HttpMethod.GET, ApiPaths.JWKS).permitAll();
         auth.pathMatchers(ApiPaths.HEALTH).permitAll();
         auth.pathMatchers(ApiPaths.ACTUATOR).permitAll();
         auth.pathMatchers(
@@ -62,73 +65,36 @@ public class SecurityConfig {
         ).permitAll();
     }
 
+    // Which roles may call each route is stored in role_permissions and resolved by AuthorizationPolicy
     private void configureUserEndpoints(ServerHttpSecurity.AuthorizeExchangeSpec auth) {
-        auth.pathMatchers(HttpMethod.POST, ApiPaths.USERS).access(this::isAdminOnly);
-        auth.pathMatchers(HttpMethod.PUT, ApiPaths.USERS).access(this::isAdminOnly);
-        auth.pathMatchers(HttpMethod.DELETE, ApiPaths.USERSBYID).access(this::isAdminOnly);
-        auth.pathMatchers(HttpMethod.GET, ApiPaths.USERSALL).access(this::isAdminOnly);
-        auth.pathMatchers(HttpMethod.GET, ApiPaths.USERSBYID).access(this::isAdminOrClientForSelf);
+        protect(auth, HttpMethod.POST, ApiPaths.USERS);
+        protect(auth, HttpMethod.POST, ApiPaths.USERS_IMPORT);
+        protect(auth, HttpMethod.PUT, ApiPaths.USERS);
+        protect(auth, HttpMethod.PATCH, ApiPaths.USERSBYID);
+        protect(auth, HttpMethod.DELETE, ApiPaths.USERSBYID);
+        protect(auth, HttpMethod.GET, ApiPaths.USERSALL);
+        // Registered before USERSBYID, whose {id} would also match /search
+        protect(auth, HttpMethod.GET, ApiPaths.USERS_SEARCH);
+        protect(auth, HttpMethod.GET, ApiPaths.USERS_FUZZY_SEARCH);
+        protect(auth, HttpMethod.GET, ApiPaths.USERS_STATISTICS);
+        protect(auth, HttpMethod.GET, ApiPaths.USERSBYID);
+        // UserHandler authorizes each requested id with the rules of GET USERSBYID
+        auth.pathMatchers(HttpMethod.POST, ApiPaths.USERS_BATCH_GET).authenticated();
     }
 
     private void configureRolEndpoints(ServerHttpSecurity.AuthorizeExchangeSpec auth) {
-        auth.pathMatchers(HttpMethod.POST, ApiPaths.ROL).access(this::isAdminOnly);
-        auth.pathMatchers(HttpMethod.PUT, ApiPaths.ROL).access(this::isAdminOnly);
-        auth.pathMatchers(HttpMethod.DELETE, ApiPaths.ROLBYID).access(this::isAdminOnly);
-        auth.pathMatchers(HttpMethod.GET, ApiPaths.ROLLALL).access(this::isAdminOnly);
-        auth.pathMatchers(HttpMethod.GET, ApiPaths.ROLBYID).access(this::isAdminOnly);
-    }
-
-    private void configureOtherEndpoints(ServerHttpSecurity.AuthorizeExchangeSpec auth) {
-        auth.anyExchange().authenticated();
+        protect(auth, HttpMethod.POST, ApiPaths.ROL);
+        protect(auth, HttpMethod.PUT, ApiPaths.ROL);
+        protect(auth, HttpMethod.DELETE, ApiPaths.ROLBYID);
+        protect(auth, HttpMethod.GET, ApiPaths.ROLLALL);
+        protect(auth, HttpMethod.GET, ApiPaths.ROLBYID);
     }
 
-    @Bean
-    public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(jwtProvider);
+    private void protect(ServerHttpSecurity.AuthorizeExchangeSpec auth, HttpMethod method, String route) {
+        auth.pathMatchers(method, route).access(authorizationPolicy.forRoute(method, route));
     }
 
-    private Mono<AuthorizationDecision> isAdminOnly(Mono<Authentication> authenticationMono,
-                                                    AuthorizationContext context) {
-        return authenticationMono
-                .doOnNext(auth -> log.debug("[DEBUG] Authentication object: {}", auth))
-                .map(auth -> {
-                    Object credentials = auth.getCredentials();
-                    if (credentials == null) {
-                        log.debug("[DEBUG] No credentials found, denying access");
-                        return new AuthorizationDecision(false);
-                    }
-                    String token = (String) credentials;
-                    UUID roleId = jwtProvider.extractRoleId(token);
-                    boolean allowed = roleId.equals(RolEnum.ADMIN.getId());
-                    return new AuthorizationDecision(allowed);
-                })
-                .defaultIfEmpty(new AuthorizationDecision(false))
-                .doOnNext(decision -> log.debug("[DEBUG] AuthorizationDecision: {}", decision.isGranted()));
-    }
-
-    private Mono<AuthorizationDecision> isAdminOrClientForSelf(Mono<Authentication> authenticationMono,
-                                                               AuthorizationContext context) {
-        return authenticationMono
-                .map(auth -> {
-                    String token = (String) auth.getCredentials();
-                    UUID roleId = jwtProvider.extractRoleId(token);
-                    UUID userId = jwtProvider.extractUserId(token);
-
-                    // Admin can access any user
-                    if (roleId.equals(RolEnum.ADMIN.getId())) {
-                        return new AuthorizationDecision(true);
-                    }
-
-                    // Client can only access their own data
-                    Object pathUserIdObj = context.getVariables().get("id");
-                    String pathUserId = pathUserIdObj != null ? pathUserIdObj.toString() : null;
-                    if (pathUserId != null && roleId.equals(RolEnum.CLIENT.getId())) {
-                        boolean allowed = userId.toString().equals(pathUserId);
-                        return new AuthorizationDecision(allowed);
-                    }
-
-                    return new AuthorizationDecision(false);
-                })
-                .defaultIfEmpty(new AuthorizationDecision(false));
+    private void configureOtherEndpoints(ServerHttpSecurity.AuthorizeExchangeSpec auth) {
+        auth.anyExchange().authenticated();
     }
 }
\ No newline at end of file
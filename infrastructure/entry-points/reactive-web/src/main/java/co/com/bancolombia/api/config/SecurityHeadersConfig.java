@@ -1,15 +1,35 @@
 package co.com.bancolombia.api.config;
 
+import co.com.bancolombia.api.constants.ApiPaths;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.List;
+
 @Component
 class SecurityHeadersConfig implements WebFilter {
 
+    private static final CacheControl DEFAULT_CACHE_CONTROL = CacheControl.noStore();
+
+    // First match wins; a Cache-Control set by the handler always takes precedence
+    private static final List<RouteCachePolicy> CACHE_POLICIES = List.of(
+            policy(HttpMethod.GET, ApiPaths.USERS_SEARCH, DEFAULT_CACHE_CONTROL),
+            policy(HttpMethod.GET, ApiPaths.USERS_FUZZY_SEARCH, DEFAULT_CACHE_CONTROL),
+            // Clients may keep the profile but must revalidate it with its ETag before reuse
+            policy(HttpMethod.GET, ApiPaths.USERSBYID, CacheControl.noCache().cachePrivate()),
+            policy(HttpMethod.GET, ApiPaths.USERS_STATISTICS, CacheControl.maxAge(Duration.ofMinutes(1)).cachePrivate())
+    );
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
         HttpHeaders headers = exchange.getResponse().getHeaders();
@@ -17,9 +37,37 @@ class SecurityHeadersConfig implements WebFilter {
         headers.set("Strict-Transport-Security", "max-age=31536000;");
         headers.set("X-Content-Type-Options", "nosniff");
         headers.set("Server", "");
-        headers.set("Cache-Control", "no-store");
-        headers.set("Pragma", "no-cache");
         headers.set("Referrer-Policy", "strict-origin-when-cross-origin");
+        exchange.getResponse().beforeCommit(() -> {
+            applyCachePolicy(exchange.getRequest(), headers);
+            return Mono.empty();
+        });
         return chain.filter(exchange);
     }
+
+    private void applyCachePolicy(ServerHttpRequest request, HttpHeaders headers) {
+        if (headers.getCacheControl() != null) {
+            return;
+        }
+        CacheControl cacheControl = CACHE_POLICIES.stream()
+                .filter(policy -> policy.matches(request))
+                .map(RouteCachePolicy::cacheControl)
+                .findFirst()
+                .orElse(DEFAULT_CACHE_CONTROL);
+        headers.setCacheControl(cacheControl);
+        if (cacheControl == DEFAULT_CACHE_CONTROL) {
+            headers.setPragma("no-cache");
+        }
+    }
+
+    private static RouteCachePolicy policy(HttpMethod method, String route, CacheControl cacheControl) {
+        return new RouteCachePolicy(method, PathPatternParser.defaultInstance.parse(route), cacheControl);
+    }
+
+    private record RouteCachePolicy(HttpMethod method, PathPattern pattern, CacheControl cacheControl) {
+
+        boolean matches(ServerHttpRequest request) {
+            return method.equals(request.getMethod()) && pattern.matches(request.getPath().pathWithinApplication());
+        }
+    }
 }
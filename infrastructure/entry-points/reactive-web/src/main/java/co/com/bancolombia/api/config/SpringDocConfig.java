@@ -55,7 +55,7 @@ public class SpringDocConfig {
         return GroupedOpenApi.builder()
                 .group("pragma-microservices-api")
                 .packagesToScan("co.com.bancolombia.api")
-                .pathsToMatch("/api/v1/**", "/health")
+                .pathsToMatch("/api/v1/**", "/health", "/.well-known/**")
                 .build();
     }
 }
\ No newline at end of file
@@ -4,12 +4,23 @@ public final class ApiPaths {
 
     // Auth endpoints
     public static final String LOGIN = "/api/v1/auth/login";
+    public static final String VALIDATE = "/api/v1/auth/validate";
+    public static final String VALIDATE_BATCH = "/api/v1/auth/validate:batch";
+    public static final String JWKS = "/.well-known/jwks.json";
+    public static final String KEYS_ROTATE = "/api/v1/auth/keys:rotate";
     
     // User endpoints
     public static final String USERS = "/api/v1/users";
     public static final String USERSBYID = "/api/v1/users/{id}";
     public static final String USERSALL = "/api/v1/users";
+    public static final String USERS_SEARCH = "/api/v1/users/search";
+    public static final String USERS_FUZZY_SEARCH = "/api/v1/users/search/fuzzy";
+    public static final String USERS_BATCH_GET = "/api/v1/users:batchGet";
+    public static final String USERS_IMPORT = "/api/v1/users:import";
     
+    // Statistics endpoints
+    public static final String USERS_STATISTICS = "/api/v1/statistics/users";
+
     // Role endpoints
     public static final String ROL = "/api/v1/roles";
     public static final String ROLBYID = "/api/v1/roles/{id}";
@@ -0,0 +1,57 @@
+package co.com.bancolombia.api.crypto;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.function.IntToLongFunction;
+
+/**
+ * Picks the BCrypt work factor for this host: the highest strength within
+ * [min, max] whose measured hash time stays inside the configured budget.
+ */
+@Slf4j
+public final class BCryptCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+    private static final int SAMPLES = 3;
+
+    private BCryptCalibrator() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static int strengthFor(CryptoProperties props) {
+        if (props.strength() != null) {
+            log.info("[CRYPTO] Using configured BCrypt strength {}", props.strength());
+            return props.strength();
+        }
+        int strength = calibrate(props.minStrength(), props.maxStrength(), props.targetHashMs(),
+                BCryptCalibrator::measureNanos);
+        log.info("[CRYPTO] Calibrated BCrypt strength {} for a {} ms budget", strength, props.targetHashMs());
+        return strength;
+    }
+
+    static int calibrate(int minStrength, int maxStrength, long targetHashMs, IntToLongFunction measureNanos) {
+        long baselineNanos = Math.max(1, measureNanos.applyAsLong(minStrength));
+        long budgetNanos = targetHashMs * 1_000_000L;
+        int strength = minStrength;
+        long estimated = baselineNanos;
+        // Each extra BCrypt round doubles the hashing time
+        while (strength < maxStrength && estimated * 2 <= budgetNanos) {
+            estimated *= 2;
+            strength++;
+        }
+        return strength;
+    }
+
+    private static long measureNanos(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        encoder.encode(SAMPLE_PASSWORD);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
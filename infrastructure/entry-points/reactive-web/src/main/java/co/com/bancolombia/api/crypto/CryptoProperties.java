@@ -0,0 +1,35 @@
+package co.com.bancolombia.api.crypto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "crypto.password")
+public record CryptoProperties(
+        @Positive Integer poolSize,
+        @Positive Integer queueCapacity,
+        @Min(4) @Max(31) Integer strength,
+        @Min(4) @Max(31) Integer minStrength,
+        @Min(4) @Max(31) Integer maxStrength,
+        @Positive Long targetHashMs
+) {
+    public static final int DEFAULT_QUEUE_CAPACITY = 64;
+    public static final int DEFAULT_MIN_STRENGTH = 10;
+    public static final int DEFAULT_MAX_STRENGTH = 14;
+    public static final long DEFAULT_TARGET_HASH_MS = 100;
+
+    public CryptoProperties {
+        poolSize = poolSize == null ? Runtime.getRuntime().availableProcessors() : poolSize;
+        queueCapacity = queueCapacity == null ? DEFAULT_QUEUE_CAPACITY : queueCapacity;
+        minStrength = minStrength == null ? DEFAULT_MIN_STRENGTH : minStrength;
+        maxStrength = maxStrength == null ? Math.max(DEFAULT_MAX_STRENGTH, minStrength) : maxStrength;
+        targetHashMs = targetHashMs == null ? DEFAULT_TARGET_HASH_MS : targetHashMs;
+        if (minStrength > maxStrength) {
+            throw new IllegalArgumentException("crypto.password.min-strength (" + minStrength
+                    + ") must not exceed max-strength (" + maxStrength + ")");
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package co.com.bancolombia.api.crypto;
+
+public class CryptoSaturatedException extends RuntimeException {
+
+    public static final String CODE = "SERVICE_BUSY";
+
+    public CryptoSaturatedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public String getCode() {
+        return CODE;
+    }
+}
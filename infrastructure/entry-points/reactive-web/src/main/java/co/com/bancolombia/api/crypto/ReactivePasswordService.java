@@ -0,0 +1,122 @@
+package co.com.bancolombia.api.crypto;
+
+import co.com.bancolombia.model.auth.gateways.PasswordHasher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing and verification on a dedicated, size-bounded pool instead of the
+ * Netty event loop. When the pool and its queue are full the call fails fast with
+ * {@link CryptoSaturatedException} so the caller can answer 503. Hashes created with a
+ * lower cost than the current encoder keep verifying and are reported by {@link #needsRehash}.
+ */
+@Slf4j
+public class ReactivePasswordService implements PasswordHasher {
+
+    private static final String METRIC_PREFIX = "crypto.password";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Scheduler scheduler;
+    private final Timer waitTimer;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedCounter;
+
+    public ReactivePasswordService(PasswordEncoder passwordEncoder,
+                                   CryptoProperties props,
+                                   MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = new ThreadPoolExecutor(
+                props.poolSize(), props.poolSize(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(props.queueCapacity()),
+                new CryptoThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.scheduler = Schedulers.fromExecutorService(executor, "crypto");
+        this.waitTimer = Timer.builder(METRIC_PREFIX + ".wait")
+                .description("Time a password task waits for a crypto thread")
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder(METRIC_PREFIX + ".hash")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder(METRIC_PREFIX + ".hash")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder(METRIC_PREFIX + ".rejected")
+                .description("Password tasks rejected because the crypto pool was saturated")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".queue.depth", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<String> encode(String rawPassword) {
+        return submit(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    @Override
+    public Mono<Boolean> matches(String rawPassword, String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.isBlank()) {
+            log.error("[CRYPTO] Hashed password is null or empty");
+            return Mono.just(false);
+        }
+        return submit(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        return encodedPassword != null && passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> Mono<T> submit(Timer hashTimer, Callable<T> task) {
+        return Mono.defer(() -> {
+                    long enqueuedAt = System.nanoTime();
+                    return Mono.fromCallable(() -> {
+                                waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                                return hashTimer.recordCallable(task);
+                            })
+                            .subscribeOn(scheduler);
+                })
+                .onErrorMap(RejectedExecutionException.class, error -> {
+                    rejectedCounter.increment();
+                    log.warn("[CRYPTO] Password pool saturated, rejecting task");
+                    return new CryptoSaturatedException("Password hashing capacity exhausted", error);
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.dispose();
+    }
+
+    private static final class CryptoThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "crypto-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
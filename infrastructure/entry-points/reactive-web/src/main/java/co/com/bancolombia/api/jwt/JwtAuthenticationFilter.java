@@ -1,7 +1,6 @@
 package co.com.bancolombia.api.jwt;
 
 
-import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
@@ -9,7 +8,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.ReactiveSecurityContextHolder;
-import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
@@ -18,13 +16,12 @@ import reactor.core.publisher.Mono;
 import java.util.List;
 
 @Slf4j
-@Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter implements WebFilter {
 
     private static final String BEARER_PREFIX = "Bearer ";
 
-    private final JwtProvider jwtProvider;
+    private final JwtTokenCache tokenCache;
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
@@ -36,35 +33,26 @@ public class JwtAuthenticationFilter implements WebFilter {
 
         String token = authHeader.substring(BEARER_PREFIX.length());
 
+        JwtPrincipal principal;
         try {
-            if (!jwtProvider.isTokenValid(token)) {
-                log.warn("[JWT Filter] Token expired or invalid for request: {}", 
-                        exchange.getRequest().getPath().value());
-                exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
-                return exchange.getResponse().setComplete();
-            }
-
-            Claims claims = jwtProvider.extractAllClaims(token);
-            String userId = claims.getSubject();
-            String role = claims.get("idRol", String.class);
-
-            log.debug("[JWT Filter] Token validated successfully for user: {}", userId);
-
-            UsernamePasswordAuthenticationToken authentication =
-                    new UsernamePasswordAuthenticationToken(
-                            userId,
-                            token,
-                            List.of(new SimpleGrantedAuthority("ROLE_" + role))
-                    );
-
-            return chain.filter(exchange)
-                    .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
-
+            principal = tokenCache.verify(token);
         } catch (Exception e) {
-            log.error("[JWT Filter] Token validation failed for request: {}, error: {}", 
+            log.warn("[JWT Filter] Token validation failed for request: {}, error: {}",
                     exchange.getRequest().getPath().value(), e.getMessage());
             exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
             return exchange.getResponse().setComplete();
         }
+
+        log.debug("[JWT Filter] Token validated successfully for user: {}", principal.userId());
+
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(
+                        principal,
+                        null,
+                        List.of(new SimpleGrantedAuthority("ROLE_" + principal.roleId()))
+                );
+
+        return chain.filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
     }
 }
\ No newline at end of file
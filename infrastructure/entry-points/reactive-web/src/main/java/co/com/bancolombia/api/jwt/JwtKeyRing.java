@@ -0,0 +1,278 @@
+package co.com.bancolombia.api.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.InstantSource;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the keys used to sign and verify tokens. Keys are derived once and published
+ * as an immutable snapshot, so signing and verification never rebuild them. Every
+ * token carries the {@code kid} of its key; rotating installs a new active key while
+ * the previous ones keep verifying tokens already issued. Rotation follows the configured
+ * algorithm: {@link #rotate(String)} for HS256 and {@link #rotate(KeyPair)} for ES256; operators
+ * trigger it through {@code POST /api/v1/auth/keys:rotate}.
+ * With {@code jwt.signing.algorithm=ES256} tokens are signed with an EC key whose
+ * public half is published through {@link #jwks()}; HMAC keys stay verification-only.
+ * Tokens issued before key ids existed carry no {@code kid}; they were signed with HS256
+ * and {@code jwt.secret}, so they verify against that key whatever the active algorithm is.
+ * A key that stops being active keeps verifying for {@code jwt.expiration-ms}, the longest
+ * a token signed with it can live, and is dropped on a later rotation; keys configured as
+ * inactive at startup count as retired at startup.
+ * Components that keep verification results register through {@link #onRotation(Runnable)}
+ * and drop them whenever the key set changes.
+ */
+@Slf4j
+@Component
+public class JwtKeyRing extends SigningKeyResolverAdapter {
+
+    private final AtomicReference<Snapshot> snapshot;
+    private final String legacyKeyId;
+    private final boolean asymmetric;
+    private final Duration retention;
+    private final InstantSource clock;
+    private final List<Runnable> rotationListeners = new CopyOnWriteArrayList<>();
+
+    public JwtKeyRing(JwtProperties props) {
+        this(props, InstantSource.system());
+    }
+
+    JwtKeyRing(JwtProperties props, InstantSource clock) {
+        this.asymmetric = props.signing().isAsymmetric();
+        this.retention = Duration.ofMillis(props.expirationMs());
+        this.clock = clock;
+        List<SigningKey> keys = new ArrayList<>();
+        if (props.signing().isAsymmetric()) {
+            keys.add(SigningKey.ec(loadOrGenerateKeyPair(props.signing())));
+        }
+        SigningKey legacy = SigningKey.hmac(props.secret());
+        this.legacyKeyId = legacy.kid();
+        keys.add(legacy);
+        props.previousSecrets().forEach(secret -> keys.add(SigningKey.hmac(secret)));
+        Instant now = clock.instant();
+        List<SigningKey> retired = keys.subList(1, keys.size()).stream()
+                .map(key -> key.retire(now))
+                .toList();
+        this.snapshot = new AtomicReference<>(Snapshot.of(keys.get(0), retired));
+    }
+
+    SigningKey active() {
+        return snapshot.get().active();
+    }
+
+    public String activeKeyId() {
+        return snapshot.get().active().kid();
+    }
+
+    public Key activeKey() {
+        return snapshot.get().active().signingKey();
+    }
+
+    public SignatureAlgorithm activeAlgorithm() {
+        return snapshot.get().active().algorithm();
+    }
+
+    public Map<String, Object> jwks() {
+        return snapshot.get().jwks();
+    }
+
+    public void rotate(String secret) {
+        if (asymmetric) {
+            throw new IllegalStateException("Signing algorithm is ES256, rotate with an EC key pair");
+        }
+        install(SigningKey.hmac(secret));
+    }
+
+    public void rotate(KeyPair keyPair) {
+        if (!asymmetric) {
+            throw new IllegalStateException("Signing algorithm is HS256, rotate with a secret");
+        }
+        if (!(keyPair.getPublic() instanceof ECPublicKey)) {
+            throw new IllegalArgumentException("ES256 rotation requires an EC key pair");
+        }
+        install(SigningKey.ec(keyPair));
+    }
+
+    public void rotate(String privateKeyPem, String publicKeyPem) {
+        rotate(decodeKeyPair(privateKeyPem, publicKeyPem));
+    }
+
+    public void onRotation(Runnable listener) {
+        rotationListeners.add(listener);
+    }
+
+    private void install(SigningKey next) {
+        Instant now = clock.instant();
+        Instant retiredBefore = now.minus(retention);
+        Snapshot previous = snapshot.getAndUpdate(current -> current.rotateTo(next, now, retiredBefore));
+        if (previous.active().kid().equals(next.kid())) {
+            return;
+        }
+        Snapshot rotated = snapshot.get();
+        log.info("[JWT] Signing key rotated, active kid: {}, verification keys: {}",
+                rotated.active().kid(), rotated.keys().size());
+        rotationListeners.forEach(Runnable::run);
+    }
+
+    // jjwt 0.11 declares the resolver with a raw JwsHeader; the raw type stays confined to this override
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        return verificationKey(header);
+    }
+
+    Key verificationKey(JwsHeader<?> header) {
+        Snapshot current = snapshot.get();
+        String kid = header.getKeyId();
+        if (kid == null) {
+            if (!SignatureAlgorithm.HS256.getValue().equals(header.getAlgorithm())) {
+                throw new SignatureException("Token without key id must be signed with HS256");
+            }
+            return current.find(legacyKeyId)
+                    .orElseThrow(() -> new SignatureException("Legacy signing key has been retired"))
+                    .verificationKey();
+        }
+        return current.find(kid)
+                .orElseThrow(() -> new SignatureException("Unknown signing key id: " + kid))
+                .verificationKey();
+    }
+
+    private static KeyPair loadOrGenerateKeyPair(JwtSigningProperties signing) {
+        if (signing.privateKey() == null || signing.publicKey() == null) {
+            log.warn("[JWT] No {} key pair configured, generating an ephemeral one; "
+                    + "tokens will not survive a restart or verify on other instances", signing.algorithm());
+            return Keys.keyPairFor(signing.algorithm());
+        }
+        try {
+            return decodeKeyPair(signing.privateKey(), signing.publicKey());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid jwt.signing key pair", e);
+        }
+    }
+
+    private static KeyPair decodeKeyPair(String privateKeyPem, String publicKeyPem) {
+        if (privateKeyPem == null || publicKeyPem == null) {
+            throw new IllegalArgumentException("Both the private and the public key are required");
+        }
+        try {
+            KeyFactory factory = KeyFactory.getInstance("EC");
+            return new KeyPair(
+                    factory.generatePublic(new X509EncodedKeySpec(decodePem(publicKeyPem))),
+                    factory.generatePrivate(new PKCS8EncodedKeySpec(decodePem(privateKeyPem))));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Invalid EC key pair", e);
+        }
+    }
+
+    private static byte[] decodePem(String pem) {
+        return Base64.getMimeDecoder().decode(pem.replaceAll("-----[A-Z ]+-----", ""));
+    }
+
+    private static String keyIdOf(byte[] material) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(material);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 11);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    record SigningKey(String kid, SignatureAlgorithm algorithm, Key signingKey, Key verificationKey, Instant retiredAt) {
+
+        static SigningKey hmac(String secret) {
+            if (secret == null || secret.isBlank()) {
+                throw new IllegalArgumentException("A secret is required");
+            }
+            byte[] material = secret.getBytes(StandardCharsets.UTF_8);
+            Key key = Keys.hmacShaKeyFor(material);
+            return new SigningKey(keyIdOf(material), SignatureAlgorithm.HS256, key, key, null);
+        }
+
+        static SigningKey ec(KeyPair keyPair) {
+            return new SigningKey(keyIdOf(keyPair.getPublic().getEncoded()), SignatureAlgorithm.ES256,
+                    keyPair.getPrivate(), keyPair.getPublic(), null);
+        }
+
+        SigningKey retire(Instant at) {
+            return retiredAt != null ? this : new SigningKey(kid, algorithm, signingKey, verificationKey, at);
+        }
+
+        Map<String, Object> toJwk() {
+            ECPublicKey publicKey = (ECPublicKey) verificationKey;
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("kid", kid);
+            jwk.put("use", "sig");
+            jwk.put("alg", algorithm.getValue());
+            jwk.put("x", coordinate(publicKey.getW().getAffineX()));
+            jwk.put("y", coordinate(publicKey.getW().getAffineY()));
+            return jwk;
+        }
+
+        private static String coordinate(BigInteger value) {
+            byte[] bytes = value.toByteArray();
+            byte[] fixed = new byte[32];
+            int length = Math.min(bytes.length, fixed.length);
+            System.arraycopy(bytes, bytes.length - length, fixed, fixed.length - length, length);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+        }
+    }
+
+    record Snapshot(SigningKey active, List<SigningKey> keys, Map<String, Object> jwks) {
+
+        static Snapshot of(SigningKey active, List<SigningKey> retired) {
+            List<SigningKey> keys = new ArrayList<>();
+            keys.add(active);
+            keys.addAll(retired);
+            List<Map<String, Object>> publicKeys = keys.stream()
+                    .filter(key -> key.verificationKey() instanceof ECPublicKey)
+                    .map(SigningKey::toJwk)
+                    .toList();
+            return new Snapshot(active, List.copyOf(keys), Map.of("keys", publicKeys));
+        }
+
+        Optional<SigningKey> find(String kid) {
+            return keys.stream().filter(key -> key.kid().equals(kid)).findFirst();
+        }
+
+        Snapshot rotateTo(SigningKey next, Instant now, Instant retiredBefore) {
+            if (next.kid().equals(active.kid())) {
+                return this;
+            }
+            List<SigningKey> retired = keys.stream()
+                    .filter(key -> !key.kid().equals(next.kid()))
+                    .map(key -> key.retire(now))
+                    .filter(key -> key.retiredAt().isAfter(retiredBefore))
+                    .toList();
+            return of(next, retired);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package co.com.bancolombia.api.jwt;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record JwtPrincipal(
+        UUID userId,
+        UUID roleId,
+        Instant expiresAt
+) {
+    public boolean hasRole(UUID role) {
+        return roleId.equals(role);
+    }
+
+    public boolean isUser(String id) {
+        return id != null && userId.toString().equals(id);
+    }
+}
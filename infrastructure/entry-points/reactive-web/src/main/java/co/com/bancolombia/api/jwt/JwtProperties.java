@@ -5,9 +5,22 @@ import jakarta.validation.constraints.Positive;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.List;
+
 @Validated
 @ConfigurationProperties(prefix = "jwt")
 public record JwtProperties(
         @NotBlank String secret,
-        @Positive long expirationMs
-) {}
\ No newline at end of file
+        @Positive long expirationMs,
+        List<String> previousSecrets,
+        @Positive Long cacheMaxSize,
+        JwtSigningProperties signing
+) {
+    public static final long DEFAULT_CACHE_MAX_SIZE = 10_000;
+
+    public JwtProperties {
+        previousSecrets = previousSecrets == null ? List.of() : List.copyOf(previousSecrets);
+        cacheMaxSize = cacheMaxSize == null ? DEFAULT_CACHE_MAX_SIZE : cacheMaxSize;
+        signing = signing == null ? new JwtSigningProperties(null, null, null) : signing;
+    }
+}
\ No newline at end of file
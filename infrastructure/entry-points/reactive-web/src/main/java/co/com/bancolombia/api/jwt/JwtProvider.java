@@ -2,42 +2,53 @@ package co.com.bancolombia.api.jwt;
 
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
 import java.util.Date;
+import java.util.Map;
 import java.util.UUID;
 
 @Component
-@RequiredArgsConstructor
 public class JwtProvider {
 
     private final JwtProperties props;
+    private final JwtKeyRing keyRing;
+    private final JwtParser parser;
 
-    private Key signingKey() {
-        return Keys.hmacShaKeyFor(props.secret().getBytes());
+    public JwtProvider(JwtProperties props, JwtKeyRing keyRing) {
+        this.props = props;
+        this.keyRing = keyRing;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(keyRing)
+                .build();
     }
 
     public String generateToken(UUID userId, UUID roleId) {
+        long now = System.currentTimeMillis();
+        JwtKeyRing.SigningKey signingKey = keyRing.active();
         return Jwts.builder()
+                .setHeaderParam("kid", signingKey.kid())
                 .setSubject(userId.toString())
                 .claim("idRol", roleId.toString())
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + props.expirationMs()))
-                .signWith(signingKey(), SignatureAlgorithm.HS256)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + props.expirationMs()))
+                .signWith(signingKey.signingKey(), signingKey.algorithm())
                 .compact();
     }
 
     public Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(signingKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    public JwtPrincipal parse(String token) {
+        Claims claims = extractAllClaims(token);
+        return new JwtPrincipal(
+                UUID.fromString(claims.getSubject()),
+                UUID.fromString(claims.get("idRol", String.class)),
+                claims.getExpiration().toInstant()
+        );
     }
 
     public UUID extractUserId(String token) {
@@ -57,6 +68,10 @@ public class JwtProvider {
         }
     }
 
+    public Map<String, Object> jwks() {
+        return keyRing.jwks();
+    }
+
     public Date extractExpiration(String token) {
         return extractAllClaims(token).getExpiration();
     }
@@ -0,0 +1,20 @@
+package co.com.bancolombia.api.jwt;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+
+public record JwtSigningProperties(
+        SignatureAlgorithm algorithm,
+        String privateKey,
+        String publicKey
+) {
+    public JwtSigningProperties {
+        algorithm = algorithm == null ? SignatureAlgorithm.HS256 : algorithm;
+        if (algorithm != SignatureAlgorithm.HS256 && algorithm != SignatureAlgorithm.ES256) {
+            throw new IllegalArgumentException("Unsupported JWT signing algorithm: " + algorithm);
+        }
+    }
+
+    public boolean isAsymmetric() {
+        return algorithm == SignatureAlgorithm.ES256;
+    }
+}
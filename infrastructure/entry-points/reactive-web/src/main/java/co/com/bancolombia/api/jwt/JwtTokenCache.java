@@ -0,0 +1,98 @@
+package co.com.bancolombia.api.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+
+/**
+ * Verified-token cache in front of {@link JwtProvider}. Entries are keyed by the SHA-256
+ * of the token and expire no later than the token's {@code exp}; invalid tokens are never cached.
+ * The cache ticker reads the wall clock as epoch nanoseconds so that {@code exp}, itself a wall-clock
+ * instant, can be compared with the time Caffeine passes to the expiry. Every key rotation empties
+ * the cache, so a principal never outlives the key that verified it.
+ */
+@Component
+public class JwtTokenCache {
+
+    static final String CACHE_NAME = "jwt.tokens";
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final Ticker WALL_CLOCK = () -> epochNanos(Instant.now());
+
+    private final JwtProvider jwtProvider;
+    private final Cache<ByteBuffer, JwtPrincipal> cache;
+
+    public JwtTokenCache(JwtProvider jwtProvider, JwtKeyRing keyRing, JwtProperties props,
+                         MeterRegistry meterRegistry) {
+        this(jwtProvider, keyRing, props, meterRegistry, WALL_CLOCK);
+    }
+
+    JwtTokenCache(JwtProvider jwtProvider, JwtKeyRing keyRing, JwtProperties props, MeterRegistry meterRegistry,
+                  Ticker ticker) {
+        this.jwtProvider = jwtProvider;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(props.cacheMaxSize())
+                .expireAfter(new UntilTokenExpires())
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        keyRing.onRotation(this::invalidateAll);
+    }
+
+    public JwtPrincipal verify(String token) {
+        return cache.get(digest(token), key -> jwtProvider.parse(token));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    static long epochNanos(Instant instant) {
+        return instant.getEpochSecond() * NANOS_PER_SECOND + instant.getNano();
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class UntilTokenExpires implements Expiry<ByteBuffer, JwtPrincipal> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, JwtPrincipal principal, long currentTime) {
+            return Math.max(0, epochNanos(principal.expiresAt()) - currentTime);
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, JwtPrincipal principal, long currentTime,
+                                      long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, JwtPrincipal principal, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -3,6 +3,9 @@ package co.com.bancolombia.api.openApi;
 import co.com.bancolombia.api.auth.AuthHandler;
 import co.com.bancolombia.api.auth.dto.AuthRequestDTO;
 import co.com.bancolombia.api.auth.dto.AuthResponseDTO;
+import co.com.bancolombia.api.auth.dto.KeyRotationRequestDTO;
+import co.com.bancolombia.api.auth.dto.TokenBatchRequestDTO;
+import co.com.bancolombia.api.auth.dto.TokenValidationDTO;
 import co.com.bancolombia.api.user.dto.ErrorResponseDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -30,6 +33,9 @@ public class AuthOpenApi {
 
     private static final String API_V1_AUTH_LOGIN = "/api/v1/auth/login";
     private static final String API_V1_AUTH_VALIDATE = "/api/v1/auth/validate";
+    private static final String API_V1_AUTH_VALIDATE_BATCH = "/api/v1/auth/validate:batch";
+    private static final String JWKS = "/.well-known/jwks.json";
+    private static final String API_V1_AUTH_KEYS_ROTATE = "/api/v1/auth/keys:rotate";
 
     @Bean
     @RouterOperations({
@@ -87,6 +93,73 @@ public class AuthOpenApi {
                                             content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
                             }
                     )
+            ),
+            @RouterOperation(
+                    path = API_V1_AUTH_VALIDATE_BATCH,
+                    produces = {MediaType.APPLICATION_JSON_VALUE},
+                    method = RequestMethod.POST,
+                    beanClass = AuthHandler.class,
+                    beanMethod = "validateTokens",
+                    operation = @Operation(
+                            operationId = "validateJwtTokensBatch",
+                            summary = "Validate JWT tokens in bulk",
+                            description = "Validates up to 500 tokens and returns per-token validity, user, role and expiry in request order",
+                            tags = {"Authentication"},
+                            security = @SecurityRequirement(name = "bearerAuth"),
+                            requestBody = @RequestBody(
+                                    required = true,
+                                    description = "Tokens to validate",
+                                    content = @Content(schema = @Schema(implementation = TokenBatchRequestDTO.class))
+                            ),
+                            responses = {
+                                    @ApiResponse(responseCode = "200", description = "Per-token validation results",
+                                            content = @Content(schema = @Schema(implementation = TokenValidationDTO.class))),
+                                    @ApiResponse(responseCode = "400", description = "Empty batch or more than 500 tokens",
+                                            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+                            }
+                    )
+            ),
+            @RouterOperation(
+                    path = JWKS,
+                    produces = {MediaType.APPLICATION_JSON_VALUE},
+                    method = RequestMethod.GET,
+                    beanClass = AuthHandler.class,
+                    beanMethod = "jwks",
+                    operation = @Operation(
+                            operationId = "getJwks",
+                            summary = "JSON Web Key Set",
+                            description = "Public keys used to verify ES256 tokens locally, without calling /validate",
+                            tags = {"Authentication"},
+                            responses = {
+                                    @ApiResponse(responseCode = "200", description = "Current verification keys")
+                            }
+                    )
+            ),
+            @RouterOperation(
+                    path = API_V1_AUTH_KEYS_ROTATE,
+                    produces = {MediaType.APPLICATION_JSON_VALUE},
+                    method = RequestMethod.POST,
+                    beanClass = AuthHandler.class,
+                    beanMethod = "rotateKeys",
+                    operation = @Operation(
+                            operationId = "rotateSigningKey",
+                            summary = "Rotate the signing key",
+                            description = "Installs a new signing key on the instance that receives the call; "
+                                    + "tokens signed with the previous key stay valid until they expire",
+                            tags = {"Authentication"},
+                            security = @SecurityRequirement(name = "bearerAuth"),
+                            requestBody = @RequestBody(
+                                    required = true,
+                                    description = "New key material for the configured algorithm",
+                                    content = @Content(schema = @Schema(implementation = KeyRotationRequestDTO.class))
+                            ),
+                            responses = {
+                                    @ApiResponse(responseCode = "200", description = "Key id and algorithm now used to sign"),
+                                    @ApiResponse(responseCode = "400", description = "Missing, weak or malformed key",
+                                            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+                                    @ApiResponse(responseCode = "403", description = "Caller's role may not rotate keys")
+                            }
+                    )
             )
     })
     public RouterFunction<ServerResponse> authRoutesDoc() {
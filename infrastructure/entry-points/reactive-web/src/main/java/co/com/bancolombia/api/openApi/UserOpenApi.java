@@ -1,12 +1,19 @@
 package co.com.bancolombia.api.openApi;
 
+import co.com.bancolombia.api.constants.ApiPaths;
 import co.com.bancolombia.api.user.UserHandler;
 import co.com.bancolombia.api.user.dto.ErrorResponseDTO;
+import co.com.bancolombia.api.user.dto.UserBatchGetRequestDTO;
+import co.com.bancolombia.api.user.dto.UserBatchGetResponseDTO;
+import co.com.bancolombia.api.user.dto.UserPageResponseDTO;
 import co.com.bancolombia.api.user.dto.UserRequestDTO;
 import co.com.bancolombia.api.user.dto.UserResponseDTO;
+import co.com.bancolombia.api.userimport.UserImportHandler;
+import co.com.bancolombia.model.user.UserImportResult;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -64,28 +71,193 @@ public class UserOpenApi {
                             operationId = "getUserById",
                             summary = "Get user by ID",
                             description = "Retrieves a user by their unique identifier",
-                            parameters = @Parameter(name = "id", description = "User ID", required = true),
+                            parameters = {
+                                    @Parameter(name = "id", description = "User ID", required = true),
+                                    @Parameter(name = "fields", in = ParameterIn.QUERY,
+                                            description = "Comma separated subset of the user keys to return; id is always included")
+                            },
                             responses = {
                                     @ApiResponse(responseCode = "200", description = "User found",
                                             content = @Content(schema = @Schema(implementation = UserResponseDTO.class))),
+                                    @ApiResponse(responseCode = "400", description = "Unknown field requested",
+                                            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
                                     @ApiResponse(responseCode = "404", description = "User not found",
                                             content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
                             }
                     )
             ),
             @RouterOperation(
-                    path = API_V1_USERS,
+                    path = API_V1_USERS + "/{id}",
+                    consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE},
                     produces = {MediaType.APPLICATION_JSON_VALUE},
+                    method = RequestMethod.PATCH,
+                    beanClass = UserHandler.class,
+                    beanMethod = "patchUser",
+                    operation = @Operation(
+                            operationId = "patchUser",
+                            summary = "Partially update a user",
+                            description = "Applies a JSON merge patch with the keys of the create request: absent "
+                                    + "keys are kept and null clears birthDate, address or phone. The update only "
+                                    + "happens while If-Match still matches the user's ETag",
+                            parameters = {
+                                    @Parameter(name = "id", description = "User ID", required = true),
+                                    @Parameter(name = "If-Match", in = ParameterIn.HEADER, required = true,
+                                            description = "ETag returned by GET /api/v1/users/{id}, or *")
+                            },
+                            requestBody = @RequestBody(
+                                    required = true,
+                                    content = @Content(schema = @Schema(implementation = UserRequestDTO.class))
+                            ),
+                            responses = {
+                                    @ApiResponse(responseCode = "200", description = "User updated, the new ETag is returned",
+                                            content = @Content(schema = @Schema(implementation = UserResponseDTO.class))),
+                                    @ApiResponse(responseCode = "400", description = "Invalid field or value",
+                                            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+                                    @ApiResponse(responseCode = "409", description = "Email already registered",
+                                            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+                                    @ApiResponse(responseCode = "412", description = "User changed since the ETag or does not exist",
+                                            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+                                    @ApiResponse(responseCode = "428", description = "If-Match header missing",
+                                            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+                            }
+                    )
+            ),
+            @RouterOperation(
+                    path = API_V1_USERS,
+                    produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+                            MediaType.TEXT_EVENT_STREAM_VALUE},
                     method = RequestMethod.GET,
                     beanClass = UserHandler.class,
                     beanMethod = "getAllUsers",
                     operation = @Operation(
                             operationId = "getAllUsers",
-                            summary = "Get all users",
-                            description = "Retrieves all users from the system",
+                            summary = "Get users page",
+                            description = "Retrieves users ordered by creation date using keyset pagination. "
+                                    + "With Accept application/x-ndjson or text/event-stream every user is streamed instead",
+                            parameters = {
+                                    @Parameter(name = "limit", in = ParameterIn.QUERY,
+                                            description = "Page size (default 50, max 200)"),
+                                    @Parameter(name = "after", in = ParameterIn.QUERY,
+                                            description = "nextCursor returned by the previous page"),
+                                    @Parameter(name = "fields", in = ParameterIn.QUERY,
+                                            description = "Comma separated subset of the user keys to return; id is always included")
+                            },
                             responses = {
                                     @ApiResponse(responseCode = "200", description = "Users retrieved successfully",
-                                            content = @Content(schema = @Schema(implementation = UserResponseDTO.class)))
+                                            content = @Content(schema = @Schema(implementation = UserPageResponseDTO.class))),
+                                    @ApiResponse(responseCode = "400", description = "Invalid limit, cursor or field",
+                                            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+                                    @ApiResponse(responseCode = "503", description = "Too many user streams open, retry later",
+                                            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+                            }
+                    )
+            ),
+            @RouterOperation(
+                    path = API_V1_USERS + "/search",
+                    produces = {MediaType.APPLICATION_JSON_VALUE},
+                    method = RequestMethod.GET,
+                    beanClass = UserHandler.class,
+                    beanMethod = "searchUsers",
+                    operation = @Operation(
+                            operationId = "searchUsers",
+                            summary = "Search users",
+                            description = "Filters users server-side and pages the result with the same keyset cursor "
+                                    + "as the user list. Every filter is optional and they are combined with AND",
+                            parameters = {
+                                    @Parameter(name = "role", in = ParameterIn.QUERY, description = "Role ID"),
+                                    @Parameter(name = "name", in = ParameterIn.QUERY,
+                                            description = "Case-insensitive name prefix"),
+                                    @Parameter(name = "lastName", in = ParameterIn.QUERY,
+                                            description = "Case-insensitive last name prefix"),
+                                    @Parameter(name = "minSalary", in = ParameterIn.QUERY,
+                                            description = "Inclusive lower bound of the base salary"),
+                                    @Parameter(name = "maxSalary", in = ParameterIn.QUERY,
+                                            description = "Inclusive upper bound of the base salary"),
+                                    @Parameter(name = "createdFrom", in = ParameterIn.QUERY,
+                                            description = "Inclusive lower bound of the creation date (ISO-8601 date-time)"),
+                                    @Parameter(name = "createdTo", in = ParameterIn.QUERY,
+                                            description = "Inclusive upper bound of the creation date (ISO-8601 date-time)"),
+                                    @Parameter(name = "limit", in = ParameterIn.QUERY,
+                                            description = "Page size (default 50, max 200)"),
+                                    @Parameter(name = "after", in = ParameterIn.QUERY,
+                                            description = "nextCursor returned by the previous page")
+                            },
+                            responses = {
+                                    @ApiResponse(responseCode = "200", description = "Matching users",
+                                            content = @Content(schema = @Schema(implementation = UserPageResponseDTO.class))),
+                                    @ApiResponse(responseCode = "400", description = "Invalid filter, limit or cursor",
+                                            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+                            }
+                    )
+            ),
+            @RouterOperation(
+                    path = API_V1_USERS + "/search/fuzzy",
+                    produces = {MediaType.APPLICATION_JSON_VALUE},
+                    method = RequestMethod.GET,
+                    beanClass = UserHandler.class,
+                    beanMethod = "fuzzySearchUsers",
+                    operation = @Operation(
+                            operationId = "fuzzySearchUsers",
+                            summary = "Fuzzy search users",
+                            description = "Finds users by partial or misspelled name, last name or email, "
+                                    + "best matches first",
+                            parameters = {
+                                    @Parameter(name = "q", in = ParameterIn.QUERY, required = true,
+                                            description = "Search term, at least 3 characters"),
+                                    @Parameter(name = "limit", in = ParameterIn.QUERY,
+                                            description = "Maximum results (default 10, capped by the server)")
+                            },
+                            responses = {
+                                    @ApiResponse(responseCode = "200", description = "Matching users ranked by similarity",
+                                            content = @Content(array = @ArraySchema(
+                                                    schema = @Schema(implementation = UserResponseDTO.class)))),
+                                    @ApiResponse(responseCode = "400", description = "Term too short or invalid limit",
+                                            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+                            }
+                    )
+            ),
+            @RouterOperation(
+                    path = ApiPaths.USERS_BATCH_GET,
+                    produces = {MediaType.APPLICATION_JSON_VALUE},
+                    method = RequestMethod.POST,
+                    beanClass = UserHandler.class,
+                    beanMethod = "batchGetUsers",
+                    operation = @Operation(
+                            operationId = "batchGetUsers",
+                            summary = "Get many users by ID",
+                            description = "Looks up to 100 users in one call. Each id is authorized like "
+                                    + "GET /api/v1/users/{id} and gets a FOUND, NOT_FOUND or FORBIDDEN result "
+                                    + "in request order",
+                            requestBody = @RequestBody(
+                                    required = true,
+                                    content = @Content(schema = @Schema(implementation = UserBatchGetRequestDTO.class))
+                            ),
+                            responses = {
+                                    @ApiResponse(responseCode = "200", description = "One result per requested id",
+                                            content = @Content(schema = @Schema(implementation = UserBatchGetResponseDTO.class))),
+                                    @ApiResponse(responseCode = "400", description = "No ids or more than 100 ids",
+                                            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+                            }
+                    )
+            ),
+            @RouterOperation(
+                    path = API_V1_USERS + ":import",
+                    consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"},
+                    produces = {MediaType.APPLICATION_NDJSON_VALUE},
+                    method = RequestMethod.POST,
+                    beanClass = UserImportHandler.class,
+                    beanMethod = "importUsers",
+                    operation = @Operation(
+                            operationId = "importUsers",
+                            summary = "Bulk import users",
+                            description = "Registers the users of an NDJSON upload (one user JSON per line) or a CSV "
+                                    + "upload with a header row using the same field names. Rows are validated like "
+                                    + "POST /api/v1/users and one result per row is streamed back as NDJSON, in file "
+                                    + "order, with status CREATED, DUPLICATE, INVALID or FAILED",
+                            responses = {
+                                    @ApiResponse(responseCode = "200", description = "Per-row results",
+                                            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                                    schema = @Schema(implementation = UserImportResult.class)))
                             }
                     )
             )
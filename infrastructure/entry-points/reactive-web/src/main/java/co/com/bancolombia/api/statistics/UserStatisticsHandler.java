@@ -0,0 +1,45 @@
+package co.com.bancolombia.api.statistics;
+
+import co.com.bancolombia.api.statistics.mapper.UserStatisticsDTOMapper;
+import co.com.bancolombia.api.user.dto.ErrorResponseDTO;
+import co.com.bancolombia.usecase.statistics.UserStatisticsUseCase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserStatisticsHandler {
+
+    private final UserStatisticsUseCase userStatisticsUseCase;
+
+    /**
+     * Headcount per role, salary distribution and daily registrations, aggregated in the database and
+     * served from a short-lived cache shared by every dashboard.
+     */
+    public Mono<ServerResponse> getUserStatistics(ServerRequest request) {
+        log.info("Fetching user statistics");
+
+        return userStatisticsUseCase.getStatistics()
+                .map(UserStatisticsDTOMapper::toResponse)
+                .flatMap(statistics -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(statistics))
+                .doOnError(throwable -> log.error("Error retrieving user statistics: {}", throwable.getMessage()))
+                .onErrorResume(throwable -> ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(ErrorResponseDTO.builder()
+                                .code("INTERNAL_ERROR")
+                                .message("Error interno del servidor")
+                                .timestamp(Instant.now())
+                                .build()));
+    }
+}
@@ -0,0 +1,75 @@
+package co.com.bancolombia.api.statistics.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@Schema(description = "Agregados de usuarios para tableros, recalculados como maximo una vez por minuto")
+public class UserStatisticsResponseDTO {
+
+    @Schema(description = "Total de usuarios registrados", example = "1520")
+    private long totalUsers;
+
+    @Schema(description = "Usuarios por rol, de mayor a menor")
+    private List<RoleCount> usersPerRole;
+
+    @Schema(description = "Distribucion del salario base")
+    private SalaryDistribution salary;
+
+    @Schema(description = "Registros por dia en orden cronologico hasta hoy; los dias sin registros aparecen con 0")
+    private List<DailyCount> registrationsPerDay;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder(toBuilder = true)
+    public static class RoleCount {
+
+        @Schema(description = "ID del rol", example = "80e86d27-20a4-44be-b90d-44eeb378d409")
+        private String idRol;
+
+        @Schema(description = "Nombre del rol; nulo si el rol ya no existe", example = "ADMIN")
+        private String nombre;
+
+        @Schema(description = "Usuarios con el rol", example = "12")
+        private long users;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder(toBuilder = true)
+    @Schema(description = "Valores con dos decimales; todos son nulos cuando no hay usuarios")
+    public static class SalaryDistribution {
+        private BigDecimal min;
+        private BigDecimal max;
+        private BigDecimal average;
+        private BigDecimal p25;
+        private BigDecimal median;
+        private BigDecimal p75;
+        private BigDecimal p90;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder(toBuilder = true)
+    public static class DailyCount {
+
+        @Schema(description = "Dia de registro", example = "2024-03-01")
+        private LocalDate day;
+
+        @Schema(description = "Usuarios registrados ese dia", example = "3")
+        private long users;
+    }
+}
@@ -0,0 +1,43 @@
+package co.com.bancolombia.api.statistics.mapper;
+
+import co.com.bancolombia.api.statistics.dto.UserStatisticsResponseDTO;
+import co.com.bancolombia.model.user.UserStatistics;
+
+public class UserStatisticsDTOMapper {
+
+    private UserStatisticsDTOMapper() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static UserStatisticsResponseDTO toResponse(UserStatistics statistics) {
+        return UserStatisticsResponseDTO.builder()
+                .totalUsers(statistics.totalUsers())
+                .usersPerRole(statistics.usersPerRole().stream()
+                        .map(role -> UserStatisticsResponseDTO.RoleCount.builder()
+                                .idRol(role.idRol())
+                                .nombre(role.nombre())
+                                .users(role.users())
+                                .build())
+                        .toList())
+                .salary(toResponse(statistics.salary()))
+                .registrationsPerDay(statistics.registrationsPerDay().stream()
+                        .map(day -> UserStatisticsResponseDTO.DailyCount.builder()
+                                .day(day.day())
+                                .users(day.users())
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    private static UserStatisticsResponseDTO.SalaryDistribution toResponse(UserStatistics.SalaryDistribution salary) {
+        return UserStatisticsResponseDTO.SalaryDistribution.builder()
+                .min(salary.min())
+                .max(salary.max())
+                .average(salary.average())
+                .p25(salary.p25())
+                .median(salary.median())
+                .p75(salary.p75())
+                .p90(salary.p90())
+                .build();
+    }
+}
@@ -0,0 +1,44 @@
+package co.com.bancolombia.api.user;
+
+import co.com.bancolombia.model.exception.InvalidDataException;
+import co.com.bancolombia.model.user.UserCursor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Encodes the keyset position of the user listing as an opaque, URL-safe cursor.
+ */
+public final class UserCursorCodec {
+
+    private static final char SEPARATOR = '|';
+
+    private UserCursorCodec() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static String encode(UserCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        String raw = cursor.creationDate().toString() + SEPARATOR + cursor.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static UserCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator <= 0 || separator == raw.length() - 1) {
+                throw new IllegalArgumentException("missing separator");
+            }
+            return new UserCursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (RuntimeException e) {
+            throw new InvalidDataException("Cursor de paginacion invalido");
+        }
+    }
+}
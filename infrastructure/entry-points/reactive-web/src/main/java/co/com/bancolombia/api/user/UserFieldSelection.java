@@ -0,0 +1,86 @@
+package co.com.bancolombia.api.user;
+
+import co.com.bancolombia.api.user.dto.UserPageResponseDTO;
+import co.com.bancolombia.api.user.dto.UserResponseDTO;
+import co.com.bancolombia.model.exception.InvalidDataException;
+import co.com.bancolombia.model.user.UserField;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Parses the {@code fields} query parameter against an allow-list and renders the selected subset of a
+ * user. Requested names use the same keys as {@link UserResponseDTO}; {@code id} is always returned.
+ */
+public final class UserFieldSelection {
+
+    private static final Map<String, UserField> FIELDS = Map.of(
+            "id", UserField.ID,
+            "name", UserField.NAME,
+            "lastName", UserField.LAST_NAME,
+            "birthDate", UserField.BIRTH_DATE,
+            "address", UserField.ADDRESS,
+            "phone", UserField.PHONE,
+            "emailAddress", UserField.EMAIL_ADDRESS,
+            "baseSalary", UserField.BASE_SALARY,
+            "id_rol", UserField.ID_ROL,
+            "role", UserField.ROLE);
+
+    private UserFieldSelection() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * @return the requested fields, or {@code null} when the parameter is absent and the full user applies
+     */
+    public static Set<UserField> parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        Set<UserField> fields = EnumSet.of(UserField.ID);
+        Arrays.stream(value.split(","))
+                .map(String::strip)
+                .filter(name -> !name.isEmpty())
+                .forEach(name -> {
+                    UserField field = FIELDS.get(name);
+                    if (field == null) {
+                        throw new InvalidDataException("El campo " + name + " no se puede seleccionar");
+                    }
+                    fields.add(field);
+                });
+        return fields;
+    }
+
+    public static Map<String, Object> select(UserResponseDTO user, Set<UserField> fields) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        for (UserField field : fields) {
+            switch (field) {
+                case ID -> body.put("id", user.getId());
+                case NAME -> body.put("name", user.getName());
+                case LAST_NAME -> body.put("lastName", user.getLastName());
+                case BIRTH_DATE -> body.put("birthDate", user.getBirthDate());
+                case ADDRESS -> body.put("address", user.getAddress());
+                case PHONE -> body.put("phone", user.getPhone());
+                case EMAIL_ADDRESS -> body.put("emailAddress", user.getEmailAddress());
+                case BASE_SALARY -> body.put("baseSalary", user.getBaseSalary());
+                case ID_ROL -> body.put("id_rol", user.getIdRol());
+                case ROLE -> body.put("role", user.getRole());
+            }
+        }
+        return body;
+    }
+
+    public static Map<String, Object> select(UserPageResponseDTO page, Set<UserField> fields) {
+        List<Map<String, Object>> items = page.getItems().stream()
+                .map(user -> select(user, fields))
+                .toList();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("items", items);
+        body.put("nextCursor", page.getNextCursor());
+        return body;
+    }
+}
@@ -1,12 +1,27 @@
 package co.com.bancolombia.api.user;
 
+import co.com.bancolombia.api.authorization.AuthorizationPolicy;
+import co.com.bancolombia.api.constants.ApiPaths;
+import co.com.bancolombia.api.crypto.CryptoSaturatedException;
+import co.com.bancolombia.api.crypto.ReactivePasswordService;
 import co.com.bancolombia.api.exception.GlobalExceptionHandler;
 import co.com.bancolombia.api.user.dto.ErrorResponseDTO;
+import co.com.bancolombia.api.user.dto.UserBatchGetRequestDTO;
+import co.com.bancolombia.api.user.dto.UserBatchGetResponseDTO;
+import co.com.bancolombia.api.user.dto.UserBatchGetResultDTO;
 import co.com.bancolombia.api.user.dto.UserRequestDTO;
+import co.com.bancolombia.api.user.dto.UserResponseDTO;
 import co.com.bancolombia.api.user.mapper.UserDTOMapper;
 import co.com.bancolombia.model.exception.BusinessException;
 import co.com.bancolombia.model.exception.InvalidDataException;
+import co.com.bancolombia.model.exception.PreconditionFailedException;
 import co.com.bancolombia.model.exception.UserExistsException;
+import co.com.bancolombia.model.role.Role;
+import co.com.bancolombia.model.user.UserCursor;
+import co.com.bancolombia.model.user.UserField;
+import co.com.bancolombia.model.user.UserPage;
+import co.com.bancolombia.model.user.UserProfile;
+import co.com.bancolombia.model.user.UserSearchCriteria;
 import co.com.bancolombia.usecase.user.interfaces.IUserUseCase;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -18,15 +33,27 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 @Slf4j
 @Component
@@ -35,8 +62,16 @@ import java.time.Duration;
 public class UserHandler {
 
     private final IUserUseCase userUseCase;
-    private final PasswordEncoder passwordEncoder;
+    private final ReactivePasswordService passwordService;
+    private final AuthorizationPolicy authorizationPolicy;
+    private final UserStreamLimiter streamLimiter;
     private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int DEFAULT_FUZZY_RESULTS = 10;
+    private static final ParameterizedTypeReference<Map<String, Object>> MERGE_PATCH_BODY =
+            new ParameterizedTypeReference<>() {
+            };
 
     @Operation(summary = "Create a new user", description = "Creates a new user in the system")
     @ApiResponses(value = {
@@ -57,7 +92,7 @@ public class UserHandler {
                 .timeout(REQUEST_TIMEOUT)
                 .doOnNext(this::logUserCreationRequest)
                 .doOnNext(this::validateRequestData)
-                .map(this::encryptPassword)
+                .flatMap(this::encryptPassword)
                 .map(UserDTOMapper::toDomain)
                 .flatMap(userUseCase::saveUser)
                 .map(UserDTOMapper::toResponse)
@@ -70,36 +105,284 @@ public class UserHandler {
                 .onErrorResume(this::handleError);
     }
 
+    /**
+     * Conditional GET: the ETag covers update_date and the embedded role, Last-Modified only update_date,
+     * so clients should revalidate with If-None-Match. The validators are checked against the stored
+     * version, read by primary key, never against the cached profile: another instance may have updated
+     * the user while the cache still holds the old one, and then the body is read from the database too.
+     * A 304 skips loading the profile and building the DTO. With {@code ?fields=} only the selected
+     * columns are read.
+     */
     public Mono<ServerResponse> getUserById(ServerRequest request) {
         String userId = request.pathVariable("id");
         log.info("Fetching user with ID: {}", userId);
 
-        return userUseCase.getUserById(userId)
-                .map(UserDTOMapper::toResponse)
-                .flatMap(response -> ServerResponse.ok()
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .bodyValue(response))
+        return Mono.defer(() -> {
+                    Set<UserField> fields = fields(request);
+                    return userUseCase.getUserVersion(userId)
+                            .flatMap(version -> notModified(request, version.getUpdateDate(), version.getRole())
+                                    .switchIfEmpty(Mono.defer(() -> (fields == null
+                                            ? userUseCase.getCurrentUserById(userId, version.getUpdateDate())
+                                            : userUseCase.getUserById(userId, fields))
+                                            .flatMap(user -> withValidators(ServerResponse.ok(),
+                                                    version.getUpdateDate(), version.getRole())
+                                                    .contentType(MediaType.APPLICATION_JSON)
+                                                    .bodyValue(userBody(UserDTOMapper.toResponse(user), fields))))));
+                })
                 .doOnSuccess(response -> log.info("User retrieved successfully: {}", userId))
                 .doOnError(throwable -> log.error("Error retrieving user {}: {}",
                         userId, throwable.getMessage()))
                 .onErrorResume(this::handleError);
     }
 
+    /**
+     * Partial update with a JSON merge patch. If-Match is mandatory and carries the ETag returned by GET;
+     * the changed columns are written by one conditional UPDATE, so a stale or unknown version answers
+     * 412 without reading the user and concurrent writers never overwrite each other.
+     */
+    public Mono<ServerResponse> patchUser(ServerRequest request) {
+        String userId = request.pathVariable("id");
+        List<String> ifMatch = request.headers().asHttpHeaders().getIfMatch();
+        log.info("Patching user with ID: {}", userId);
+        if (ifMatch.isEmpty()) {
+            return buildErrorResponse(HttpStatus.PRECONDITION_REQUIRED, "PRECONDITION_REQUIRED",
+                    "Debe enviar el encabezado If-Match con el ETag del usuario");
+        }
+
+        return request.bodyToMono(MERGE_PATCH_BODY)
+                .timeout(REQUEST_TIMEOUT)
+                .switchIfEmpty(Mono.error(() -> new InvalidDataException("El cuerpo de la solicitud es requerido")))
+                .map(UserMergePatch::toChanges)
+                .flatMap(changes -> userUseCase.patchUser(userId, changes, UserVersionTag.parseIfMatch(ifMatch)))
+                .flatMap(user -> withValidators(ServerResponse.ok(), user.getUpdateDate(), user.getRole())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(UserDTOMapper.toResponse(user)))
+                .doOnSuccess(response -> log.info("User patched successfully: {}", userId))
+                .doOnError(throwable -> log.error("Error patching user {}: {}",
+                        userId, throwable.getMessage()))
+                .onErrorResume(this::handleError);
+    }
+
     public Mono<ServerResponse> getAllUsers(ServerRequest request) {
-        log.info("Fetching all users");
+        log.info("Fetching users page");
 
-        return userUseCase.findAll()
-                .map(UserDTOMapper::toResponse)
-                .collectList()
+        return Mono.defer(() -> {
+                    UserCursor after = UserCursorCodec.decode(request.queryParam("after").orElse(null));
+                    int limit = pageLimit(request);
+                    Set<UserField> fields = fields(request);
+                    Mono<UserPage> page = fields == null
+                            ? userUseCase.getUsersPage(after, limit)
+                            : userUseCase.getUsersPage(after, limit, fields);
+                    return page.map(UserDTOMapper::toPageResponse)
+                            .map(response -> fields == null
+                                    ? response
+                                    : UserFieldSelection.select(response, fields));
+                })
+                .flatMap(page -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(page))
+                .doOnSuccess(response -> log.info("Users page retrieved successfully"))
+                .doOnError(throwable -> log.error("Error retrieving users: {}",
+                        throwable.getMessage()))
+                .onErrorResume(this::handleError);
+    }
+
+    public Mono<ServerResponse> searchUsers(ServerRequest request) {
+        // Filter values can be names or salaries, so only the parameter names are logged
+        log.info("Searching users with filters {}", request.queryParams().keySet());
+
+        return Mono.defer(() -> userUseCase.searchUsers(
+                        searchCriteria(request),
+                        UserCursorCodec.decode(request.queryParam("after").orElse(null)),
+                        pageLimit(request)))
+                .map(UserDTOMapper::toPageResponse)
+                .flatMap(page -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(page))
+                .doOnSuccess(response -> log.info("User search completed successfully"))
+                .doOnError(throwable -> log.error("Error searching users: {}",
+                        throwable.getMessage()))
+                .onErrorResume(this::handleError);
+    }
+
+    /**
+     * Ranked lookup by partial or misspelled name, last name or email. Results are ordered by trigram
+     * similarity and capped by adapters.r2dbc.fuzzy-search.max-results.
+     */
+    public Mono<ServerResponse> fuzzySearchUsers(ServerRequest request) {
+        String term = request.queryParam("q").orElse(null);
+        log.info("Fuzzy searching users");
+
+        return Mono.defer(() -> userUseCase.fuzzySearch(term, fuzzyLimit(request))
+                        .map(UserDTOMapper::toResponse)
+                        .collectList())
                 .flatMap(users -> ServerResponse.ok()
                         .contentType(MediaType.APPLICATION_JSON)
                         .bodyValue(users))
-                .doOnSuccess(response -> log.info("All users retrieved successfully"))
-                .doOnError(throwable -> log.error("Error retrieving users: {}",
+                .doOnSuccess(response -> log.info("Fuzzy user search completed successfully"))
+                .doOnError(throwable -> log.error("Error fuzzy searching users: {}",
                         throwable.getMessage()))
                 .onErrorResume(this::handleError);
     }
 
+    /**
+     * Fetches many users in one call. Each id is authorized with the rules of GET /api/v1/users/{id};
+     * the allowed ones are loaded with a single query and every id gets a result in request order.
+     */
+    public Mono<ServerResponse> batchGetUsers(ServerRequest request) {
+        log.info("Processing batch user lookup");
+
+        return request.bodyToMono(UserBatchGetRequestDTO.class)
+                .timeout(REQUEST_TIMEOUT)
+                .map(body -> body.getIds() == null ? List.<String>of() : body.getIds())
+                .zipWith(request.principal()
+                        .map(principal -> principal instanceof Authentication auth ? auth : null)
+                        .map(auth -> authorizationPolicy.idFilter(HttpMethod.GET, ApiPaths.USERSBYID, auth))
+                        .defaultIfEmpty(id -> false))
+                .flatMap(tuple -> batchGet(tuple.getT1(), tuple.getT2()))
+                .flatMap(response -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(response))
+                .doOnSuccess(response -> log.info("Batch user lookup completed successfully"))
+                .doOnError(throwable -> log.error("Error in batch user lookup: {}",
+                        throwable.getMessage()))
+                .onErrorResume(this::handleError);
+    }
+
+    private Mono<UserBatchGetResponseDTO> batchGet(List<String> ids, Predicate<String> allowed) {
+        return userUseCase.getUsersByIds(ids, allowed).map(users -> UserBatchGetResponseDTO.builder()
+                .results(ids.stream()
+                        .map(id -> batchResult(id, allowed.test(id), users.get(id)))
+                        .toList())
+                .build());
+    }
+
+    private static UserBatchGetResultDTO batchResult(String id, boolean allowed, UserProfile user) {
+        if (!allowed) {
+            return UserBatchGetResultDTO.builder().id(id).status(UserBatchGetResultDTO.Status.FORBIDDEN).build();
+        }
+        if (user == null) {
+            return UserBatchGetResultDTO.builder().id(id).status(UserBatchGetResultDTO.Status.NOT_FOUND).build();
+        }
+        return UserBatchGetResultDTO.builder()
+                .id(id)
+                .status(UserBatchGetResultDTO.Status.FOUND)
+                .user(UserDTOMapper.toResponse(user))
+                .build();
+    }
+
+    /**
+     * Streams every user as NDJSON or Server-Sent Events. Elements are written as the database cursor
+     * produces them and demand from the connection propagates back to the query, so nothing is buffered.
+     * Each stream holds a database connection until it ends, so only a bounded number run at once and
+     * the rest are answered with 503 before the query starts.
+     */
+    /**
+     * The slot is taken when the response is subscribed, not when the handler is called. The body frees it
+     * when it ends or is cancelled; a response cancelled or failed before its body is written frees it too.
+     */
+    public Mono<ServerResponse> streamUsers(ServerRequest request) {
+        return Mono.defer(() -> streamLimiter.tryAcquire()
+                .map(release -> streamResponse(request, release)
+                        .doOnCancel(release)
+                        .doOnError(throwable -> release.run()))
+                .orElseGet(() -> {
+                    log.warn("Rejecting user stream, every stream slot is in use");
+                    return buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, "SERVICE_BUSY",
+                            "Demasiadas descargas en curso, intente nuevamente");
+                }));
+    }
+
+    private Mono<ServerResponse> streamResponse(ServerRequest request, Runnable release) {
+        MediaType mediaType = request.headers().accept().contains(MediaType.TEXT_EVENT_STREAM)
+                ? MediaType.TEXT_EVENT_STREAM
+                : MediaType.APPLICATION_NDJSON;
+        log.info("Streaming all users as {}", mediaType);
+
+        Flux<UserResponseDTO> users = userUseCase.findAll()
+                .map(UserDTOMapper::toResponse)
+                .doOnComplete(() -> log.info("User stream completed"))
+                .doOnError(throwable -> log.error("Error streaming users: {}", throwable.getMessage()))
+                .doFinally(signal -> release.run());
+
+        return ServerResponse.ok()
+                .contentType(mediaType)
+                .body(users, UserResponseDTO.class);
+    }
+
+    private int pageLimit(ServerRequest request) {
+        return request.queryParam("limit")
+                .map(value -> {
+                    try {
+                        return Integer.parseInt(value);
+                    } catch (NumberFormatException e) {
+                        throw new InvalidDataException("El parametro limit debe ser numerico");
+                    }
+                })
+                .map(limit -> Math.min(limit, MAX_PAGE_SIZE))
+                .orElse(DEFAULT_PAGE_SIZE);
+    }
+
+    private Set<UserField> fields(ServerRequest request) {
+        return UserFieldSelection.parse(request.queryParam("fields").orElse(null));
+    }
+
+    private static Object userBody(UserResponseDTO user, Set<UserField> fields) {
+        return fields == null ? user : UserFieldSelection.select(user, fields);
+    }
+
+    private static Mono<ServerResponse> notModified(ServerRequest request, LocalDateTime version, Role role) {
+        return version == null
+                ? Mono.empty()
+                : request.checkNotModified(lastModified(version), UserVersionTag.format(version, role));
+    }
+
+    private static ServerResponse.BodyBuilder withValidators(ServerResponse.BodyBuilder builder,
+                                                             LocalDateTime version, Role role) {
+        return version == null
+                ? builder
+                : builder.eTag(UserVersionTag.format(version, role)).lastModified(lastModified(version));
+    }
+
+    // UserMapper stores update_date with LocalDateTime.now(), i.e. in the server time zone
+    private static Instant lastModified(LocalDateTime version) {
+        return version.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    private int fuzzyLimit(ServerRequest request) {
+        Integer limit = parseParam(request, "limit", Integer::valueOf);
+        return limit == null ? DEFAULT_FUZZY_RESULTS : limit;
+    }
+
+    private UserSearchCriteria searchCriteria(ServerRequest request) {
+        return new UserSearchCriteria(
+                textParam(request, "role"),
+                textParam(request, "name"),
+                textParam(request, "lastName"),
+                parseParam(request, "minSalary", BigDecimal::new),
+                parseParam(request, "maxSalary", BigDecimal::new),
+                parseParam(request, "createdFrom", LocalDateTime::parse),
+                parseParam(request, "createdTo", LocalDateTime::parse));
+    }
+
+    private String textParam(ServerRequest request, String name) {
+        return request.queryParam(name)
+                .filter(value -> !value.isBlank())
+                .orElse(null);
+    }
+
+    private <T> T parseParam(ServerRequest request, String name, Function<String, T> parser) {
+        String value = textParam(request, name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (RuntimeException e) {
+            throw new InvalidDataException("El parametro " + name + " no tiene un formato valido");
+        }
+    }
+
     private void logUserCreationRequest(UserRequestDTO dto) {
         log.info("User registration requested - Email: {}, Name: {} {}",
                 dto.getEmailAddress(), dto.getName(), dto.getLastName());
@@ -114,8 +397,12 @@ public class UserHandler {
         }
     }
 
-    private UserRequestDTO encryptPassword(UserRequestDTO dto) {
-        String encryptedPassword = passwordEncoder.encode(dto.getPassword());
+    private Mono<UserRequestDTO> encryptPassword(UserRequestDTO dto) {
+        return passwordService.encode(dto.getPassword())
+                .map(encryptedPassword -> withPassword(dto, encryptedPassword));
+    }
+
+    private UserRequestDTO withPassword(UserRequestDTO dto, String encryptedPassword) {
         return UserRequestDTO.builder()
                 .name(dto.getName())
                 .lastName(dto.getLastName())
@@ -133,6 +420,9 @@ public class UserHandler {
         log.error("Error processing request: {}", throwable.getMessage(), throwable);
 
         return switch (throwable) {
+            case PreconditionFailedException preconditionFailed ->
+                    buildErrorResponse(HttpStatus.PRECONDITION_FAILED, PreconditionFailedException.CODE,
+                        "El usuario fue modificado o no existe");
             case UserExistsException userExists ->
                     buildErrorResponse(HttpStatus.CONFLICT, "USER_EXISTS", 
                         "El email ya está registrado en el sistema");
@@ -142,6 +432,9 @@ public class UserHandler {
             case BusinessException businessError ->
                     buildErrorResponse(HttpStatus.BAD_REQUEST, "BUSINESS_ERROR", 
                         "Error en las reglas de negocio");
+            case CryptoSaturatedException saturated ->
+                    buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, saturated.getCode(),
+                        "Servicio ocupado, intente nuevamente");
             case NumberFormatException numberFormat ->
                     buildErrorResponse(HttpStatus.BAD_REQUEST, "INVALID_ID_FORMAT", 
                         "Formato de ID inválido");
@@ -0,0 +1,62 @@
+package co.com.bancolombia.api.user;
+
+import co.com.bancolombia.model.exception.InvalidDataException;
+import co.com.bancolombia.model.user.UserChanges;
+import co.com.bancolombia.model.user.UserField;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Reads a JSON merge patch (RFC 7396) of a user. Keys follow {@link co.com.bancolombia.api.user.dto.UserRequestDTO};
+ * an absent key leaves the column untouched and an explicit {@code null} clears it.
+ */
+public final class UserMergePatch {
+
+    private static final Map<String, Field> FIELDS = Map.of(
+            "name", new Field(UserField.NAME, UserMergePatch::trimmed),
+            "lastName", new Field(UserField.LAST_NAME, UserMergePatch::trimmed),
+            "birthDate", new Field(UserField.BIRTH_DATE, value -> LocalDate.parse(text(value))),
+            "address", new Field(UserField.ADDRESS, UserMergePatch::text),
+            "phone", new Field(UserField.PHONE, UserMergePatch::text),
+            "emailAddress", new Field(UserField.EMAIL_ADDRESS, UserMergePatch::trimmed),
+            "baseSalary", new Field(UserField.BASE_SALARY, value -> new BigDecimal(value.toString())),
+            "idRol", new Field(UserField.ID_ROL, UserMergePatch::trimmed));
+
+    private UserMergePatch() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static UserChanges toChanges(Map<String, Object> body) {
+        Map<UserField, Object> values = new EnumMap<>(UserField.class);
+        body.forEach((name, value) -> {
+            Field field = FIELDS.get(name);
+            if (field == null) {
+                throw new InvalidDataException("El campo " + name + " no se puede actualizar");
+            }
+            try {
+                values.put(field.target(), value == null ? null : field.parser().apply(value));
+            } catch (RuntimeException e) {
+                throw new InvalidDataException("El campo " + name + " no tiene un formato valido");
+            }
+        });
+        return new UserChanges(values);
+    }
+
+    private static String text(Object value) {
+        if (!(value instanceof String text)) {
+            throw new IllegalArgumentException("expected a string");
+        }
+        return text;
+    }
+
+    private static String trimmed(Object value) {
+        return text(value).trim();
+    }
+
+    private record Field(UserField target, Function<Object, Object> parser) {
+    }
+}
@@ -0,0 +1,41 @@
+package co.com.bancolombia.api.user;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bounds the number of open user streams. A stream keeps its database cursor, and with it a pooled
+ * connection, until the client has read the last user, so without a bound a few slow clients could
+ * take every connection from the regular requests.
+ */
+@Component
+public class UserStreamLimiter {
+
+    private final Semaphore permits;
+
+    public UserStreamLimiter(UserStreamProperties props) {
+        this.permits = new Semaphore(props.maxConcurrent());
+    }
+
+    /**
+     * @return the action that frees the slot, safe to run more than once, or empty when every slot is taken
+     */
+    public Optional<Runnable> tryAcquire() {
+        if (!permits.tryAcquire()) {
+            return Optional.empty();
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return Optional.of(() -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        });
+    }
+
+    int available() {
+        return permits.availablePermits();
+    }
+}
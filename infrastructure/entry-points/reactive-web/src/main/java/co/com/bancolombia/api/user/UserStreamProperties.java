@@ -0,0 +1,19 @@
+package co.com.bancolombia.api.user;
+
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * @param maxConcurrent user streams open at the same time; each one holds a pooled connection for its
+ *                      whole duration, so keep it well below the R2DBC pool size
+ */
+@Validated
+@ConfigurationProperties(prefix = "users.stream")
+public record UserStreamProperties(
+        @Positive Integer maxConcurrent
+) {
+    public UserStreamProperties {
+        maxConcurrent = maxConcurrent == null ? 4 : maxConcurrent;
+    }
+}
@@ -0,0 +1,69 @@
+package co.com.bancolombia.api.user;
+
+import co.com.bancolombia.model.role.Role;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Strong entity tag of a user representation: {@code "<update_date>-<role>"}. The first part is the hex
+ * count of microseconds of update_date, which Postgres stores exactly, so If-Match maps it back to the
+ * row version. The second part fingerprints the embedded role, which can change without touching the
+ * user row. If-Match only compares the user part because a user update never writes the role.
+ */
+public final class UserVersionTag {
+
+    private static final String ANY = "*";
+    private static final char SEPARATOR = '-';
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+
+    private UserVersionTag() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static String format(LocalDateTime version, Role role) {
+        long micros = version.toEpochSecond(ZoneOffset.UTC) * MICROS_PER_SECOND + version.getNano() / 1_000L;
+        return "\"" + Long.toHexString(micros) + SEPARATOR + Integer.toHexString(fingerprint(role)) + "\"";
+    }
+
+    /**
+     * @return the versions named by an If-Match header, or {@code null} for {@code *}. Weak and malformed
+     * tags can never match under the strong comparison If-Match requires, so they are left out.
+     */
+    public static Set<LocalDateTime> parseIfMatch(List<String> tags) {
+        Set<LocalDateTime> versions = new LinkedHashSet<>();
+        for (String tag : tags) {
+            String value = tag.strip();
+            if (ANY.equals(value)) {
+                return null;
+            }
+            LocalDateTime version = parse(value);
+            if (version != null) {
+                versions.add(version);
+            }
+        }
+        return versions;
+    }
+
+    private static int fingerprint(Role role) {
+        return role == null ? 0 : Objects.hash(role.getIdRol(), role.getNombre(), role.getDescripcion());
+    }
+
+    private static LocalDateTime parse(String tag) {
+        int separator = tag.indexOf(SEPARATOR);
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"' || separator < 0) {
+            return null;
+        }
+        try {
+            long micros = Long.parseUnsignedLong(tag.substring(1, separator), 16);
+            return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, MICROS_PER_SECOND),
+                    (int) Math.floorMod(micros, MICROS_PER_SECOND) * 1_000, ZoneOffset.UTC);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
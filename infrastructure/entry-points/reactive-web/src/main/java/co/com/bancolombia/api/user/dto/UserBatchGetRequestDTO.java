@@ -0,0 +1,21 @@
+package co.com.bancolombia.api.user.dto;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "IDs de usuario a consultar en una sola llamada")
+public class UserBatchGetRequestDTO {
+
+    @ArraySchema(maxItems = 100, schema = @Schema(description = "ID del usuario"))
+    private List<String> ids;
+}
@@ -0,0 +1,19 @@
+package co.com.bancolombia.api.user.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@Schema(description = "Usuarios consultados por lote")
+public class UserBatchGetResponseDTO {
+
+    private List<UserBatchGetResultDTO> results;
+}
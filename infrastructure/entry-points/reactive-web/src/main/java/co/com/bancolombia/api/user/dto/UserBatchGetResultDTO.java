@@ -0,0 +1,27 @@
+package co.com.bancolombia.api.user.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@Schema(description = "Resultado de un ID dentro de la consulta por lote, en el mismo orden de la solicitud")
+public class UserBatchGetResultDTO {
+
+    private String id;
+    private Status status;
+
+    @Schema(description = "Usuario encontrado; nulo si el estado no es FOUND")
+    private UserResponseDTO user;
+
+    public enum Status {
+        FOUND,
+        NOT_FOUND,
+        FORBIDDEN
+    }
+}
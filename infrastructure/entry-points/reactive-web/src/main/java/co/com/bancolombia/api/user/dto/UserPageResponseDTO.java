@@ -0,0 +1,22 @@
+package co.com.bancolombia.api.user.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@Schema(description = "Pagina de usuarios ordenada por fecha de creacion")
+public class UserPageResponseDTO {
+
+    private List<UserResponseDTO> items;
+
+    @Schema(description = "Cursor opaco para pedir la siguiente pagina en 'after'; nulo si no hay mas resultados")
+    private String nextCursor;
+}
@@ -1,9 +1,14 @@
 package co.com.bancolombia.api.user.mapper;
 
+import co.com.bancolombia.api.user.UserCursorCodec;
 import co.com.bancolombia.api.user.dto.RoleResponseDTO;
 import co.com.bancolombia.api.user.dto.UserRequestDTO;
+import co.com.bancolombia.api.user.dto.UserPageResponseDTO;
 import co.com.bancolombia.api.user.dto.UserResponseDTO;
+import co.com.bancolombia.model.role.Role;
 import co.com.bancolombia.model.user.User;
+import co.com.bancolombia.model.user.UserPage;
+import co.com.bancolombia.model.user.UserProfile;
 
 public class UserDTOMapper {
 
@@ -25,6 +30,13 @@ public class UserDTOMapper {
                 .build();
     }
 
+    public static UserPageResponseDTO toPageResponse(UserPage page){
+        return UserPageResponseDTO.builder()
+                .items(page.users().stream().map(UserDTOMapper::toResponse).toList())
+                .nextCursor(UserCursorCodec.encode(page.next()))
+                .build();
+    }
+
     public static UserResponseDTO toResponse(User user){
         return UserResponseDTO.builder()
                 .id(user.getId())
@@ -36,12 +48,31 @@ public class UserDTOMapper {
                 .emailAddress(user.getEmailAddress())
                 .baseSalary(user.getBaseSalary())
                 .idRol(user.getIdRol())
-                .role(user.getRole() != null ? RoleResponseDTO.builder()
-                        .idRol(user.getRole().getIdRol())
-                        .nombre(user.getRole().getNombre())
-                        .descripcion(user.getRole().getDescripcion())
-                        .build() : null)
+                .role(toResponse(user.getRole()))
                 .build();
     }
 
+    public static UserResponseDTO toResponse(UserProfile profile){
+        return UserResponseDTO.builder()
+                .id(profile.getId())
+                .name(profile.getName())
+                .lastName(profile.getLastName())
+                .birthDate(profile.getBirthDate())
+                .address(profile.getAddress())
+                .phone(profile.getPhone())
+                .emailAddress(profile.getEmailAddress())
+                .baseSalary(profile.getBaseSalary())
+                .idRol(profile.getIdRol())
+                .role(toResponse(profile.getRole()))
+                .build();
+    }
+
+    private static RoleResponseDTO toResponse(Role role){
+        return role != null ? RoleResponseDTO.builder()
+                .idRol(role.getIdRol())
+                .nombre(role.getNombre())
+                .descripcion(role.getDescripcion())
+                .build() : null;
+    }
+
 }
@@ -0,0 +1,51 @@
+package co.com.bancolombia.api.userimport;
+
+import co.com.bancolombia.model.user.UserImportResult;
+import co.com.bancolombia.usecase.userimport.UserImportUseCase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserImportHandler {
+
+    private static final StringDecoder LINE_DECODER = StringDecoder.allMimeTypes();
+    private static final ResolvableType STRING_TYPE = ResolvableType.forClass(String.class);
+
+    private final UserImportUseCase userImportUseCase;
+    private final UserImportParser parser;
+    private final UserImportProperties properties;
+
+    /**
+     * Registers every user of an NDJSON or CSV upload and streams one NDJSON result per row, in file order.
+     * The body is read line by line as the client sends it and results are written as each batch is stored,
+     * so memory stays bounded by the batch size whatever the size of the file.
+     */
+    public Mono<ServerResponse> importUsers(ServerRequest request) {
+        MediaType contentType = request.headers().contentType().orElse(MediaType.APPLICATION_NDJSON);
+        log.info("Importing users from a {} upload", contentType);
+
+        Flux<String> lines = LINE_DECODER.decode(request.body(BodyExtractors.toDataBuffers()),
+                STRING_TYPE, contentType, Map.of());
+        Flux<UserImportResult> results = userImportUseCase.importUsers(parser.parse(lines, contentType),
+                        properties.batchSize(), properties.hashConcurrency())
+                .doOnComplete(() -> log.info("User import completed"))
+                .doOnError(throwable -> log.error("Error importing users: {}", throwable.getMessage()));
+
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(results, UserImportResult.class);
+    }
+}
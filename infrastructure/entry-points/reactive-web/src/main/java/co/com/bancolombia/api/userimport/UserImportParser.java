@@ -0,0 +1,117 @@
+package co.com.bancolombia.api.userimport;
+
+import co.com.bancolombia.api.user.dto.UserRequestDTO;
+import co.com.bancolombia.api.user.mapper.UserDTOMapper;
+import co.com.bancolombia.model.user.UserImportRow;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.util.function.Tuple2;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns the lines of an NDJSON or CSV upload into import rows, one line at a time. A line that cannot be
+ * read becomes an invalid row instead of failing the stream, so the rest of the file is still imported.
+ * CSV needs a header row with the same field names as the JSON body of POST /api/v1/users.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserImportParser {
+
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final ObjectMapper objectMapper;
+
+    public Flux<UserImportRow> parse(Flux<String> lines, MediaType contentType) {
+        Flux<Tuple2<Long, String>> numbered = lines.index();
+        if (TEXT_CSV.isCompatibleWith(contentType)) {
+            return numbered.switchOnFirst((first, rows) -> {
+                if (!first.hasValue()) {
+                    return rows.ignoreElements().thenMany(Flux.empty());
+                }
+                List<String> header = splitCsv(first.get().getT2()).stream().map(String::strip).toList();
+                return rows.skip(1)
+                        .filter(row -> !row.getT2().isBlank())
+                        .map(row -> fromCsv(row.getT1() + 1, header, row.getT2()));
+            });
+        }
+        return numbered.filter(row -> !row.getT2().isBlank())
+                .map(row -> fromJson(row.getT1() + 1, row.getT2()));
+    }
+
+    private UserImportRow fromJson(long line, String json) {
+        try {
+            return toRow(line, objectMapper.readValue(json, UserRequestDTO.class));
+        } catch (JsonProcessingException e) {
+            return UserImportRow.invalid(line, "La linea no es un JSON valido");
+        }
+    }
+
+    private UserImportRow fromCsv(long line, List<String> header, String csv) {
+        List<String> values = splitCsv(csv);
+        if (values.size() != header.size()) {
+            return UserImportRow.invalid(line, "La fila tiene " + values.size() + " columnas y el encabezado "
+                    + header.size());
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String value = values.get(i).strip();
+            if (!value.isEmpty()) {
+                fields.put(header.get(i), value);
+            }
+        }
+        try {
+            return toRow(line, objectMapper.convertValue(fields, UserRequestDTO.class));
+        } catch (IllegalArgumentException e) {
+            return UserImportRow.invalid(line, "La fila tiene valores con formato invalido");
+        }
+    }
+
+    // The domain builder applies the same field rules as single registration
+    private static UserImportRow toRow(long line, UserRequestDTO request) {
+        try {
+            return UserImportRow.valid(line, UserDTOMapper.toDomain(request));
+        } catch (IllegalArgumentException e) {
+            return UserImportRow.invalid(line, e.getMessage());
+        }
+    }
+
+    // RFC 4180 quoting within a single line: "a, b" keeps the comma and "" is an escaped quote
+    static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        int start = !line.isEmpty() && line.charAt(0) == BYTE_ORDER_MARK ? 1 : 0;
+        for (int i = start; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (quoted) {
+                if (ch != '"') {
+                    current.append(ch);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(ch);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+}
@@ -0,0 +1,22 @@
+package co.com.bancolombia.api.userimport;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * @param batchSize       users per multi-row INSERT; 12 bind parameters per user must stay under Postgres' 65535
+ * @param hashConcurrency passwords hashed at the same time, keep it at or below crypto.password.pool-size
+ */
+@Validated
+@ConfigurationProperties(prefix = "users.import")
+public record UserImportProperties(
+        @Positive @Max(5000) Integer batchSize,
+        @Positive Integer hashConcurrency
+) {
+    public UserImportProperties {
+        batchSize = batchSize == null ? 500 : batchSize;
+        hashConcurrency = hashConcurrency == null ? Runtime.getRuntime().availableProcessors() : hashConcurrency;
+    }
+}
@@ -4,7 +4,8 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 public class HashGenerator {
     public static void main(String[] args) {
-        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+        int strength = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
 
         String admin123Hash = encoder.encode("admin123");
         String client123Hash = encoder.encode("client123");
@@ -0,0 +1,162 @@
+package co.com.bancolombia.api;
+
+import co.com.bancolombia.api.auth.AuthHandler;
+import co.com.bancolombia.api.auth.dto.KeyRotationRequestDTO;
+import co.com.bancolombia.api.auth.dto.TokenBatchRequestDTO;
+import co.com.bancolombia.api.auth.throttle.ClientAddressResolver;
+import co.com.bancolombia.api.auth.throttle.LoginRateLimiter;
+import co.com.bancolombia.api.jwt.JwtKeyRing;
+import co.com.bancolombia.api.jwt.JwtProperties;
+import co.com.bancolombia.api.jwt.JwtProvider;
+import co.com.bancolombia.api.jwt.JwtTokenCache;
+import co.com.bancolombia.usecase.auth.AuthUseCase;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class AuthRouterRestTest {
+
+    private static final String SECRET = "mySecretKeyForJWTTokenGenerationShouldBeAtLeast32Characters";
+    private static final String NEXT_SECRET = "anotherSecretKeyForJWTTokenGenerationAtLeast32Characters";
+    private static final String VALIDATE_BATCH = "/api/v1/auth/validate:batch";
+    private static final String KEYS_ROTATE = "/api/v1/auth/keys:rotate";
+
+    private JwtKeyRing keyRing;
+    private JwtProvider jwtProvider;
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties props = new JwtProperties(SECRET, 60_000, null, null, null);
+        keyRing = new JwtKeyRing(props);
+        jwtProvider = new JwtProvider(props, keyRing);
+        JwtTokenCache tokenCache = new JwtTokenCache(jwtProvider, keyRing, props, new SimpleMeterRegistry());
+        AuthHandler authHandler = new AuthHandler(mock(AuthUseCase.class), jwtProvider, tokenCache, keyRing,
+                mock(LoginRateLimiter.class), mock(ClientAddressResolver.class));
+        webTestClient = WebTestClient.bindToRouterFunction(new AuthRouterRest().authRoutes(authHandler)).build();
+    }
+
+    @Test
+    void validateBatchReportsEachTokenOnItsOwn() {
+        UUID userId = UUID.randomUUID();
+        UUID roleId = UUID.randomUUID();
+
+        validateBatch(List.of(jwtProvider.generateToken(userId, roleId), expiredToken(), "not-a-jwt"))
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.results.length()").isEqualTo(3)
+                .jsonPath("$.results[0].valid").isEqualTo(true)
+                .jsonPath("$.results[0].idUser").isEqualTo(userId.toString())
+                .jsonPath("$.results[0].idRol").isEqualTo(roleId.toString())
+                .jsonPath("$.results[0].expiresAt").exists()
+                .jsonPath("$.results[1].valid").isEqualTo(false)
+                .jsonPath("$.results[1].idUser").doesNotExist()
+                .jsonPath("$.results[2].valid").isEqualTo(false)
+                .jsonPath("$.results[2].idUser").doesNotExist();
+    }
+
+    @Test
+    void validateBatchKeepsTheRequestOrder() {
+        List<UUID> users = IntStream.range(0, 64).mapToObj(i -> UUID.randomUUID()).toList();
+        List<String> tokens = users.stream()
+                .map(userId -> jwtProvider.generateToken(userId, UUID.randomUUID()))
+                .toList();
+
+        WebTestClient.BodyContentSpec body = validateBatch(tokens)
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.results.length()").isEqualTo(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            body.jsonPath("$.results[" + i + "].idUser").isEqualTo(users.get(i).toString());
+        }
+    }
+
+    @Test
+    void validateBatchAcceptsUpToTheLimit() {
+        validateBatch(Collections.nCopies(500, "not-a-jwt"))
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.results.length()").isEqualTo(500);
+    }
+
+    @Test
+    void validateBatchRejectsEmptyAndOversizedBatches() {
+        validateBatch(Collections.nCopies(501, "not-a-jwt"))
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Between 1 and 500 tokens are required");
+        validateBatch(List.of())
+                .expectStatus().isBadRequest();
+        validateBatch(null)
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void rotateKeysInstallsTheNewKeyAndKeepsIssuedTokensValid() {
+        String issued = jwtProvider.generateToken(UUID.randomUUID(), UUID.randomUUID());
+        String previousKid = keyRing.activeKeyId();
+
+        webTestClient.post()
+                .uri(KEYS_ROTATE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(KeyRotationRequestDTO.builder().secret(NEXT_SECRET).build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.kid").isEqualTo(keyRing.activeKeyId())
+                .jsonPath("$.algorithm").isEqualTo("HS256");
+
+        assertNotEquals(previousKid, keyRing.activeKeyId());
+        assertTrue(jwtProvider.isTokenValid(issued));
+    }
+
+    @Test
+    void rotateKeysRejectsMissingOrWeakSecrets() {
+        String activeKid = keyRing.activeKeyId();
+
+        for (KeyRotationRequestDTO body : List.of(new KeyRotationRequestDTO(), KeyRotationRequestDTO.builder().secret("short").build())) {
+            webTestClient.post()
+                    .uri(KEYS_ROTATE)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(body)
+                    .exchange()
+                    .expectStatus().isBadRequest()
+                    .expectBody()
+                    .jsonPath("$.error").isEqualTo("Invalid signing key");
+        }
+        assertEquals(activeKid, keyRing.activeKeyId());
+    }
+
+    private WebTestClient.ResponseSpec validateBatch(List<String> tokens) {
+        return webTestClient.post()
+                .uri(VALIDATE_BATCH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(new TokenBatchRequestDTO(tokens))
+                .exchange();
+    }
+
+    private String expiredToken() {
+        return Jwts.builder()
+                .setHeaderParam("kid", keyRing.activeKeyId())
+                .setSubject(UUID.randomUUID().toString())
+                .claim("idRol", UUID.randomUUID().toString())
+                .setExpiration(new Date(System.currentTimeMillis() - 60_000))
+                .signWith(keyRing.activeKey(), keyRing.activeAlgorithm())
+                .compact();
+    }
+}
@@ -1,23 +1,60 @@
 package co.com.bancolombia.api;
 
+import co.com.bancolombia.api.authorization.AuthorizationPolicy;
+import co.com.bancolombia.api.crypto.ReactivePasswordService;
+import co.com.bancolombia.api.user.UserCursorCodec;
 import co.com.bancolombia.api.user.UserHandler;
+import co.com.bancolombia.api.user.UserStreamLimiter;
+import co.com.bancolombia.api.user.UserStreamProperties;
+import co.com.bancolombia.api.user.dto.UserBatchGetRequestDTO;
 import co.com.bancolombia.api.user.dto.UserRequestDTO;
+import co.com.bancolombia.api.user.dto.UserResponseDTO;
+import co.com.bancolombia.model.exception.InvalidDataException;
+import co.com.bancolombia.model.exception.PreconditionFailedException;
+import co.com.bancolombia.model.role.Role;
 import co.com.bancolombia.model.user.User;
+import co.com.bancolombia.model.user.UserChanges;
+import co.com.bancolombia.model.user.UserCursor;
+import co.com.bancolombia.model.user.UserField;
+import co.com.bancolombia.model.user.UserPage;
+import co.com.bancolombia.model.user.UserProfile;
+import co.com.bancolombia.model.user.UserSearchCriteria;
 import co.com.bancolombia.usecase.user.interfaces.IUserUseCase;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.mock.web.reactive.function.server.MockServerRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.web.reactive.server.FluxExchangeResult;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.lenient;
 
@@ -26,19 +63,24 @@ class SimpleRouterTest {
 
     private WebTestClient webTestClient;
     private IUserUseCase userUseCase;
-    private PasswordEncoder passwordEncoder;
+    private ReactivePasswordService passwordService;
+    private AuthorizationPolicy authorizationPolicy;
+    private RouterFunction<ServerResponse> routes;
+    private UserHandler userHandler;
 
     @BeforeEach
     void setUp() {
         userUseCase = mock(IUserUseCase.class);
-        passwordEncoder = mock(PasswordEncoder.class);
+        passwordService = mock(ReactivePasswordService.class);
+        authorizationPolicy = mock(AuthorizationPolicy.class);
         
-        // Configure password encoder mock with lenient for tests that don't use it
-        lenient().when(passwordEncoder.encode(any(String.class))).thenReturn("encodedPassword");
+        // Configure password service mock with lenient for tests that don't use it
+        lenient().when(passwordService.encode(any(String.class))).thenReturn(Mono.just("encodedPassword"));
         
-        UserHandler userHandler = new UserHandler(userUseCase, passwordEncoder);
+        userHandler = new UserHandler(userUseCase, passwordService, authorizationPolicy,
+                new UserStreamLimiter(new UserStreamProperties(1)));
         RouterRest routerRest = new RouterRest();
-        RouterFunction<ServerResponse> routes = routerRest.userRoutes(userHandler)
+        routes = routerRest.userRoutes(userHandler)
                 .and(routerRest.healthRoutes());
         this.webTestClient = WebTestClient.bindToRouterFunction(routes).build();
     }
@@ -109,4 +151,471 @@ class SimpleRouterTest {
                 .exchange()
                 .expectStatus().is5xxServerError();
     }
+
+    @Test
+    void getUsersPageReturnsOpaqueCursor() {
+        UserProfile user = UserProfile.builder()
+                .id("123")
+                .name("Juan")
+                .lastName("Perez")
+                .emailAddress("juan@test.com")
+                .baseSalary(new BigDecimal("2000000"))
+                .build();
+        UserCursor next = new UserCursor(LocalDateTime.of(2024, 1, 1, 0, 0), "123");
+        UserCursor after = new UserCursor(LocalDateTime.of(2023, 12, 31, 0, 0), "100");
+
+        when(userUseCase.getUsersPage(after, 1)).thenReturn(Mono.just(new UserPage(List.of(user), next)));
+
+        webTestClient.get()
+                .uri(uri -> uri.path("/api/v1/users")
+                        .queryParam("limit", 1)
+                        .queryParam("after", UserCursorCodec.encode(after))
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items[0].id").isEqualTo("123")
+                .jsonPath("$.nextCursor").isEqualTo(UserCursorCodec.encode(next));
+    }
+
+    @Test
+    void getUsersPageRejectsMalformedCursor() {
+        webTestClient.get()
+                .uri("/api/v1/users?after=not-a-cursor")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(userUseCase, never()).getUsersPage(any(), anyInt());
+    }
+
+    @Test
+    void searchUsersParsesFiltersBeforeTheIdRoute() {
+        UserProfile user = UserProfile.builder()
+                .id("123")
+                .name("Juan")
+                .lastName("Perez")
+                .build();
+        UserSearchCriteria criteria = new UserSearchCriteria("ADMIN-ID", null, "Pe",
+                new BigDecimal("1000000"), null, LocalDateTime.of(2024, 1, 1, 0, 0), null);
+
+        when(userUseCase.searchUsers(criteria, null, 20)).thenReturn(Mono.just(new UserPage(List.of(user), null)));
+
+        webTestClient.get()
+                .uri("/api/v1/users/search?role=ADMIN-ID&lastName=Pe&minSalary=1000000"
+                        + "&createdFrom=2024-01-01T00:00:00&limit=20")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items[0].id").isEqualTo("123");
+
+        verify(userUseCase, never()).getUserById(any());
+    }
+
+    @Test
+    void searchUsersRejectsMalformedFilter() {
+        webTestClient.get()
+                .uri("/api/v1/users/search?minSalary=mucho")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(userUseCase, never()).searchUsers(any(), any(), anyInt());
+    }
+
+    @Test
+    void fuzzySearchReturnsRankedUsers() {
+        UserProfile best = UserProfile.builder().id("1").name("Juan").lastName("Perez").build();
+        UserProfile other = UserProfile.builder().id("2").name("Juana").lastName("Pereira").build();
+        when(userUseCase.fuzzySearch("jaun perz", 10)).thenReturn(Flux.just(best, other));
+
+        webTestClient.get()
+                .uri("/api/v1/users/search/fuzzy?q=jaun perz")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo("1")
+                .jsonPath("$[1].id").isEqualTo("2");
+    }
+
+    @Test
+    void getUserByIdSendsValidatorsFromUpdateDate() {
+        LocalDateTime updated = LocalDateTime.of(2024, 3, 1, 10, 15, 30, 123_456_000);
+        UserProfile user = UserProfile.builder()
+                .id("123")
+                .name("Juan")
+                .lastName("Perez")
+                .updateDate(updated)
+                .build();
+        when(userUseCase.getUserVersion("123")).thenReturn(Mono.just(user));
+        when(userUseCase.getCurrentUserById(eq("123"), any())).thenReturn(Mono.just(user));
+
+        webTestClient.get()
+                .uri("/api/v1/users/123")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectHeader().exists(HttpHeaders.LAST_MODIFIED)
+                .expectBody()
+                .jsonPath("$.id").isEqualTo("123");
+    }
+
+    @Test
+    void getUserByIdAnswersNotModifiedWhenTheTagMatches() {
+        LocalDateTime updated = LocalDateTime.of(2024, 3, 1, 10, 15, 30, 123_456_000);
+        UserProfile user = UserProfile.builder().id("123").name("Juan").updateDate(updated).build();
+        when(userUseCase.getUserVersion("123")).thenReturn(Mono.just(user));
+        when(userUseCase.getCurrentUserById(eq("123"), any())).thenReturn(Mono.just(user));
+
+        String etag = webTestClient.get()
+                .uri("/api/v1/users/123")
+                .exchange()
+                .returnResult(UserResponseDTO.class)
+                .getResponseHeaders()
+                .getETag();
+
+        webTestClient.get()
+                .uri("/api/v1/users/123")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, etag)
+                .expectBody().isEmpty();
+
+        verify(userUseCase, times(1)).getCurrentUserById(eq("123"), any());
+    }
+
+    @Test
+    void getUserByIdRevalidatesAgainstTheStoredVersionNotTheCachedProfile() {
+        LocalDateTime cachedVersion = LocalDateTime.of(2024, 3, 1, 10, 15, 30, 123_456_000);
+        UserProfile cached = UserProfile.builder().id("123").name("Juan").updateDate(cachedVersion).build();
+        UserProfile stored = cached.toBuilder().updateDate(cachedVersion.plusSeconds(1)).build();
+        when(userUseCase.getUserVersion("123")).thenReturn(Mono.just(cached), Mono.just(stored));
+        when(userUseCase.getCurrentUserById("123", cachedVersion)).thenReturn(Mono.just(cached));
+        when(userUseCase.getCurrentUserById("123", stored.getUpdateDate())).thenReturn(Mono.just(stored));
+
+        String etag = webTestClient.get()
+                .uri("/api/v1/users/123")
+                .exchange()
+                .returnResult(UserResponseDTO.class)
+                .getResponseHeaders()
+                .getETag();
+
+        // Another instance patched the user; this instance's cache still holds the previous profile
+        webTestClient.get()
+                .uri("/api/v1/users/123")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value(HttpHeaders.ETAG, value -> assertThat(value).isNotEqualTo(etag));
+
+        verify(userUseCase).getCurrentUserById("123", stored.getUpdateDate());
+    }
+
+    @Test
+    void getUserByIdChangesTheTagWhenTheRoleChanges() {
+        LocalDateTime updated = LocalDateTime.of(2024, 3, 1, 10, 15, 30, 123_456_000);
+        UserProfile user = UserProfile.builder().id("123").name("Juan").idRol("DEV").updateDate(updated)
+                .role(new Role("DEV", "Desarrollador", "Equipo de desarrollo")).build();
+        UserProfile renamed = user.toBuilder()
+                .role(new Role("DEV", "Desarrollo", "Equipo de desarrollo")).build();
+        when(userUseCase.getUserVersion("123")).thenReturn(Mono.just(user), Mono.just(renamed));
+        when(userUseCase.getCurrentUserById(eq("123"), any())).thenReturn(Mono.just(user), Mono.just(renamed));
+
+        String etag = webTestClient.get()
+                .uri("/api/v1/users/123")
+                .exchange()
+                .returnResult(UserResponseDTO.class)
+                .getResponseHeaders()
+                .getETag();
+
+        webTestClient.get()
+                .uri("/api/v1/users/123")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value(HttpHeaders.ETAG, value -> assertThat(value).isNotEqualTo(etag))
+                .expectBody()
+                .jsonPath("$.role.nombre").isEqualTo("Desarrollo");
+    }
+
+    @Test
+    void getUserByIdReturnsTheNewVersionAfterAnUpdate() {
+        LocalDateTime updated = LocalDateTime.of(2024, 3, 1, 10, 15, 30);
+        UserProfile user = UserProfile.builder().id("123").name("Juan").updateDate(updated.plusSeconds(5)).build();
+        when(userUseCase.getUserVersion("123")).thenReturn(Mono.just(user));
+        when(userUseCase.getCurrentUserById(eq("123"), any())).thenReturn(Mono.just(user));
+
+        webTestClient.get()
+                .uri("/api/v1/users/123")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1-0\"")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void patchUserUsesTheEtagOfTheGetAsPrecondition() {
+        LocalDateTime updated = LocalDateTime.of(2024, 3, 1, 10, 15, 30, 123_456_000);
+        UserProfile profile = UserProfile.builder().id("123").name("Juan").updateDate(updated).build();
+        User patched = User.builder().id("123").name("Pedro").updateDate(updated.plusSeconds(1)).build();
+        when(userUseCase.getUserVersion("123")).thenReturn(Mono.just(profile));
+        when(userUseCase.getCurrentUserById(eq("123"), any())).thenReturn(Mono.just(profile));
+        when(userUseCase.patchUser(eq("123"), any(UserChanges.class), eq(Set.of(updated))))
+                .thenReturn(Mono.just(patched));
+
+        String etag = webTestClient.get()
+                .uri("/api/v1/users/123")
+                .exchange()
+                .returnResult(UserResponseDTO.class)
+                .getResponseHeaders()
+                .getETag();
+
+        String newEtag = webTestClient.patch()
+                .uri("/api/v1/users/123")
+                .contentType(MediaType.valueOf("application/merge-patch+json"))
+                .header(HttpHeaders.IF_MATCH, etag)
+                .bodyValue("{\"name\":\"Pedro\",\"phone\":null}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Pedro")
+                .returnResult()
+                .getResponseHeaders()
+                .getETag();
+
+        assertThat(newEtag).isNotNull().isNotEqualTo(etag);
+        verify(userUseCase).patchUser(eq("123"), argThat(changes -> changes.contains(UserField.PHONE)
+                && changes.get(UserField.PHONE) == null
+                && "Pedro".equals(changes.get(UserField.NAME))), eq(Set.of(updated)));
+    }
+
+    @Test
+    void patchUserAnswersPreconditionFailedWhenTheVersionChanged() {
+        when(userUseCase.patchUser(eq("123"), any(UserChanges.class), any()))
+                .thenReturn(Mono.error(new PreconditionFailedException("modificado")));
+
+        webTestClient.patch()
+                .uri("/api/v1/users/123")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"1\"")
+                .bodyValue(Map.of("name", "Pedro"))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED)
+                .expectBody()
+                .jsonPath("$.code").isEqualTo(PreconditionFailedException.CODE);
+    }
+
+    @Test
+    void patchUserRequiresIfMatch() {
+        webTestClient.patch()
+                .uri("/api/v1/users/123")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("name", "Pedro"))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_REQUIRED);
+
+        verify(userUseCase, never()).patchUser(anyString(), any(), any());
+    }
+
+    @Test
+    void patchUserRejectsFieldsThatCannotChange() {
+        webTestClient.patch()
+                .uri("/api/v1/users/123")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "*")
+                .bodyValue(Map.of("password", "secreto"))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(userUseCase, never()).patchUser(anyString(), any(), any());
+    }
+
+    @Test
+    void getUserByIdReturnsOnlyTheSelectedFields() {
+        LocalDateTime updated = LocalDateTime.of(2024, 3, 1, 10, 15, 30);
+        UserProfile user = UserProfile.builder().id("123").name("Juan").idRol("DEV").updateDate(updated).build();
+        Set<UserField> fields = EnumSet.of(UserField.ID, UserField.NAME, UserField.ID_ROL);
+        when(userUseCase.getUserVersion("123")).thenReturn(Mono.just(user));
+        when(userUseCase.getUserById("123", fields)).thenReturn(Mono.just(user));
+
+        webTestClient.get()
+                .uri("/api/v1/users/123?fields=name,id_rol")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo("123")
+                .jsonPath("$.name").isEqualTo("Juan")
+                .jsonPath("$.id_rol").isEqualTo("DEV")
+                .jsonPath("$.lastName").doesNotExist()
+                .jsonPath("$.role").doesNotExist();
+
+        verify(userUseCase, never()).getCurrentUserById(anyString(), any());
+    }
+
+    @Test
+    void getUsersPageReturnsOnlyTheSelectedFields() {
+        UserProfile user = UserProfile.builder().id("123").emailAddress("juan@test.com").build();
+        Set<UserField> fields = EnumSet.of(UserField.ID, UserField.EMAIL_ADDRESS);
+        when(userUseCase.getUsersPage(null, 50, fields)).thenReturn(Mono.just(new UserPage(List.of(user), null)));
+
+        webTestClient.get()
+                .uri("/api/v1/users?fields=emailAddress")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items[0].id").isEqualTo("123")
+                .jsonPath("$.items[0].emailAddress").isEqualTo("juan@test.com")
+                .jsonPath("$.items[0].name").doesNotExist()
+                .jsonPath("$.nextCursor").isEmpty();
+    }
+
+    @Test
+    void unknownFieldIsRejected() {
+        webTestClient.get()
+                .uri("/api/v1/users?fields=name,password")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(userUseCase, never()).getUsersPage(any(), anyInt(), any());
+    }
+
+    @Test
+    void batchGetReturnsResultsInRequestOrder() {
+        UserProfile second = UserProfile.builder().id("2").name("Ana").build();
+        when(authorizationPolicy.idFilter(eq(HttpMethod.GET), eq("/api/v1/users/{id}"), any()))
+                .thenReturn(id -> !id.equals("3"));
+        when(userUseCase.getUsersByIds(eq(List.of("1", "2", "3")), any())).thenReturn(Mono.just(Map.of("2", second)));
+
+        authenticatedClient().post()
+                .uri("/api/v1/users:batchGet")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserBatchGetRequestDTO(List.of("1", "2", "3")))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.results[0].id").isEqualTo("1")
+                .jsonPath("$.results[0].status").isEqualTo("NOT_FOUND")
+                .jsonPath("$.results[1].status").isEqualTo("FOUND")
+                .jsonPath("$.results[1].user.name").isEqualTo("Ana")
+                .jsonPath("$.results[2].id").isEqualTo("3")
+                .jsonPath("$.results[2].status").isEqualTo("FORBIDDEN")
+                .jsonPath("$.results[2].user").doesNotExist();
+    }
+
+    @Test
+    void batchGetRejectsTooManyIdsEvenWhenNoneIsAllowed() {
+        when(authorizationPolicy.idFilter(any(), any(), any())).thenReturn(id -> false);
+        when(userUseCase.getUsersByIds(anyList(), any()))
+                .thenReturn(Mono.error(new InvalidDataException("No se pueden consultar mas de 100 usuarios")));
+
+        authenticatedClient().post()
+                .uri("/api/v1/users:batchGet")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserBatchGetRequestDTO(IntStream.rangeClosed(1, 101).mapToObj(String::valueOf).toList()))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void batchGetWithoutPrincipalForbidsEveryId() {
+        when(userUseCase.getUsersByIds(eq(List.of("1")), argThat(allowed -> !allowed.test("1"))))
+                .thenReturn(Mono.just(Map.of()));
+
+        webTestClient.post()
+                .uri("/api/v1/users:batchGet")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserBatchGetRequestDTO(List.of("1")))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.results[0].status").isEqualTo("FORBIDDEN");
+
+        verify(authorizationPolicy, never()).idFilter(any(), any(), any());
+    }
+
+    @Test
+    void streamsUsersAsNdjsonWhenRequested() {
+        UserProfile user = UserProfile.builder()
+                .id("123")
+                .name("Juan")
+                .lastName("Perez")
+                .emailAddress("juan@test.com")
+                .baseSalary(new BigDecimal("2000000"))
+                .idRol("DEV")
+                .build();
+        when(userUseCase.findAll()).thenReturn(Flux.just(user, user.toBuilder().id("456").build()));
+
+        webTestClient.get()
+                .uri("/api/v1/users")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(UserResponseDTO.class)
+                .hasSize(2);
+
+        verify(userUseCase, never()).getUsersPage(any(), anyInt());
+    }
+
+    @Test
+    void rejectsStreamsBeyondTheLimitUntilOneEnds() {
+        Sinks.Many<UserProfile> openStream = Sinks.many().unicast().onBackpressureBuffer();
+        when(userUseCase.findAll()).thenReturn(openStream.asFlux(), Flux.empty());
+        // The response is only committed once the first user is written
+        openStream.tryEmitNext(UserProfile.builder().id("123").name("Juan").build());
+
+        FluxExchangeResult<UserResponseDTO> first = streamUsers()
+                .expectStatus().isOk()
+                .returnResult(UserResponseDTO.class);
+        streamUsers()
+                .expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("SERVICE_BUSY");
+
+        openStream.tryEmitComplete();
+        StepVerifier.create(first.getResponseBody()).expectNextCount(1).verifyComplete();
+
+        streamUsers().expectStatus().isOk();
+        verify(userUseCase, times(2)).findAll();
+    }
+
+    @Test
+    void streamResponseThatIsNeverSubscribedHoldsNoSlot() {
+        when(userUseCase.findAll()).thenReturn(Flux.empty());
+
+        userHandler.streamUsers(streamRequest());
+
+        streamUsers().expectStatus().isOk();
+    }
+
+    @Test
+    void cancelledStreamResponseReleasesItsSlot() {
+        when(userUseCase.findAll()).thenReturn(Flux.never(), Flux.empty());
+
+        StepVerifier.create(userHandler.streamUsers(streamRequest()), 0)
+                .thenCancel()
+                .verify();
+
+        streamUsers().expectStatus().isOk();
+    }
+
+    private static ServerRequest streamRequest() {
+        return MockServerRequest.builder()
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_NDJSON_VALUE)
+                .build();
+    }
+
+    private WebTestClient.ResponseSpec streamUsers() {
+        return webTestClient.get()
+                .uri("/api/v1/users")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange();
+    }
+
+    private WebTestClient authenticatedClient() {
+        Authentication authentication = new UsernamePasswordAuthenticationToken("caller", null, List.of());
+        return WebTestClient.bindToRouterFunction(routes)
+                .webFilter((exchange, chain) -> chain.filter(exchange.mutate()
+                        .principal(Mono.just(authentication))
+                        .build()))
+                .build();
+    }
 }
\ No newline at end of file
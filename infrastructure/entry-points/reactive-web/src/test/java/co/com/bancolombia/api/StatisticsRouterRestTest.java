@@ -0,0 +1,69 @@
+package co.com.bancolombia.api;
+
+import co.com.bancolombia.api.statistics.UserStatisticsHandler;
+import co.com.bancolombia.model.user.UserStatistics;
+import co.com.bancolombia.usecase.statistics.UserStatisticsUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StatisticsRouterRestTest {
+
+    private UserStatisticsUseCase userStatisticsUseCase;
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        userStatisticsUseCase = mock(UserStatisticsUseCase.class);
+        UserStatisticsHandler handler = new UserStatisticsHandler(userStatisticsUseCase);
+        webTestClient = WebTestClient.bindToRouterFunction(new StatisticsRouterRest().statisticsRoutes(handler))
+                .build();
+    }
+
+    @Test
+    void returnsTheStatisticsContract() {
+        UserStatistics statistics = new UserStatistics(3,
+                List.of(new UserStatistics.RoleCount("ADMIN-ID", "ADMIN", 3)),
+                new UserStatistics.SalaryDistribution(new BigDecimal("1000000.00"), new BigDecimal("5000000.00"),
+                        new BigDecimal("2666666.67"), new BigDecimal("1500000.00"), new BigDecimal("2000000.00"),
+                        new BigDecimal("3500000.00"), new BigDecimal("4400000.00")),
+                List.of(new UserStatistics.DailyCount(LocalDate.of(2024, 3, 1), 0),
+                        new UserStatistics.DailyCount(LocalDate.of(2024, 3, 2), 3)));
+        when(userStatisticsUseCase.getStatistics()).thenReturn(Mono.just(statistics));
+
+        webTestClient.get()
+                .uri("/api/v1/statistics/users")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalUsers").isEqualTo(3)
+                .jsonPath("$.usersPerRole[0].idRol").isEqualTo("ADMIN-ID")
+                .jsonPath("$.usersPerRole[0].nombre").isEqualTo("ADMIN")
+                .jsonPath("$.usersPerRole[0].users").isEqualTo(3)
+                .jsonPath("$.salary.median").isEqualTo(2000000.00)
+                .jsonPath("$.salary.p90").isEqualTo(4400000.00)
+                .jsonPath("$.registrationsPerDay.length()").isEqualTo(2)
+                .jsonPath("$.registrationsPerDay[0].users").isEqualTo(0)
+                .jsonPath("$.registrationsPerDay[1].users").isEqualTo(3);
+    }
+
+    @Test
+    void answersInternalErrorWhenTheStatisticsCannotBeLoaded() {
+        when(userStatisticsUseCase.getStatistics()).thenReturn(Mono.error(new IllegalStateException("sin conexion")));
+
+        webTestClient.get()
+                .uri("/api/v1/statistics/users")
+                .exchange()
+                .expectStatus().is5xxServerError()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("INTERNAL_ERROR");
+    }
+}
@@ -0,0 +1,77 @@
+package co.com.bancolombia.api.auth.throttle;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.reactive.function.server.MockServerRequest;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientAddressResolverTest {
+
+    private final ClientAddressResolver behindBalancer = resolver(List.of("10.0.0.0/8"));
+
+    @Test
+    void resolve_WithoutTrustedProxies_ShouldIgnoreForwardedFor() {
+        ClientAddressResolver direct = resolver(null);
+
+        assertEquals("10.0.0.5", direct.resolve("10.0.0.5", List.of("203.0.113.7")));
+    }
+
+    @Test
+    void resolve_FromTrustedProxy_ShouldUseTheForwardedClient() {
+        assertEquals("203.0.113.7", behindBalancer.resolve("10.0.0.5", List.of("203.0.113.7")));
+    }
+
+    @Test
+    void resolve_ShouldSkipTrustedHopsAndIgnoreForgedOnes() {
+        assertEquals("203.0.113.7",
+                behindBalancer.resolve("10.0.0.5", List.of("198.51.100.1, 203.0.113.7", "10.1.2.3")));
+    }
+
+    @Test
+    void resolve_FromUntrustedPeer_ShouldUseThePeer() {
+        assertEquals("198.51.100.9", behindBalancer.resolve("198.51.100.9", List.of("203.0.113.7")));
+    }
+
+    @Test
+    void resolve_WithoutForwardedFor_ShouldUseThePeer() {
+        assertEquals("10.0.0.5", behindBalancer.resolve("10.0.0.5", List.of()));
+    }
+
+    @Test
+    void resolve_WithHostnameHop_ShouldTreatItAsTheClient() {
+        assertEquals("unknown", behindBalancer.resolve("10.0.0.5", List.of("unknown")));
+    }
+
+    @Test
+    void resolve_ShouldMatchPartialPrefixesAndIpv6() {
+        ClientAddressResolver resolver = resolver(List.of("192.168.16.0/20", "2001:db8::/32"));
+
+        assertEquals("203.0.113.7", resolver.resolve("192.168.31.255", List.of("203.0.113.7")));
+        assertEquals("192.168.32.1", resolver.resolve("192.168.32.1", List.of("203.0.113.7")));
+        assertEquals("203.0.113.7", resolver.resolve("2001:db8::1", List.of("203.0.113.7")));
+    }
+
+    @Test
+    void constructor_WithInvalidRange_ShouldFail() {
+        assertThrows(IllegalArgumentException.class, () -> resolver(List.of("balancer.internal")));
+        assertThrows(IllegalArgumentException.class, () -> resolver(List.of("cafe.bad")));
+        assertThrows(IllegalArgumentException.class, () -> resolver(List.of("10.0.0.0/33")));
+    }
+
+    @Test
+    void resolve_ShouldReadTheRequestPeerAndHeader() {
+        MockServerRequest request = MockServerRequest.builder()
+                .remoteAddress(new InetSocketAddress("10.0.0.5", 443))
+                .header(ClientAddressResolver.X_FORWARDED_FOR, "203.0.113.7")
+                .build();
+
+        assertEquals("203.0.113.7", behindBalancer.resolve(request));
+    }
+
+    private static ClientAddressResolver resolver(List<String> trustedProxies) {
+        return new ClientAddressResolver(new LoginThrottleProperties(null, null, null, null, null, null, trustedProxies));
+    }
+}
@@ -0,0 +1,89 @@
+package co.com.bancolombia.api.auth.throttle;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private LoginRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        LoginThrottleProperties props = new LoginThrottleProperties(2, 60, 3, 60, 100L, Duration.ofMinutes(1), null);
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new LoginRateLimiter(props, meterRegistry, clock::get);
+    }
+
+    @Test
+    void acquire_ShouldThrottleAccountAfterCapacity() {
+        rateLimiter.acquire("juan@test.com", "10.0.0.1");
+        rateLimiter.acquire("JUAN@test.com ", "10.0.0.2");
+
+        LoginThrottledException error = assertThrows(LoginThrottledException.class,
+                () -> rateLimiter.acquire("juan@test.com", "10.0.0.3"));
+
+        assertEquals(Duration.ofSeconds(1), error.getRetryAfter());
+        assertEquals(1.0, meterRegistry.get("auth.login.throttled").tag("scope", "email").counter().count());
+    }
+
+    @Test
+    void acquire_ShouldThrottleRemoteAddressAcrossAccounts() {
+        rateLimiter.acquire("a@test.com", "10.0.0.1");
+        rateLimiter.acquire("b@test.com", "10.0.0.1");
+        rateLimiter.acquire("c@test.com", "10.0.0.1");
+
+        assertThrows(LoginThrottledException.class, () -> rateLimiter.acquire("d@test.com", "10.0.0.1"));
+        assertEquals(1.0, meterRegistry.get("auth.login.throttled").tag("scope", "ip").counter().count());
+    }
+
+    @Test
+    void acquire_RejectedByAccount_ShouldNotSpendTheAddressBudget() {
+        rateLimiter.acquire("juan@test.com", "10.0.0.9");
+        rateLimiter.acquire("juan@test.com", "10.0.0.9");
+        assertThrows(LoginThrottledException.class, () -> rateLimiter.acquire("juan@test.com", "10.0.0.1"));
+        assertThrows(LoginThrottledException.class, () -> rateLimiter.acquire("juan@test.com", "10.0.0.1"));
+
+        rateLimiter.acquire("a@test.com", "10.0.0.1");
+        rateLimiter.acquire("b@test.com", "10.0.0.1");
+        assertDoesNotThrow(() -> rateLimiter.acquire("c@test.com", "10.0.0.1"));
+    }
+
+    @Test
+    void acquire_RejectedByAddress_ShouldNotSpendTheAccountBudget() {
+        rateLimiter.acquire("a@test.com", "10.0.0.1");
+        rateLimiter.acquire("b@test.com", "10.0.0.1");
+        rateLimiter.acquire("c@test.com", "10.0.0.1");
+        assertThrows(LoginThrottledException.class, () -> rateLimiter.acquire("juan@test.com", "10.0.0.1"));
+        assertThrows(LoginThrottledException.class, () -> rateLimiter.acquire("juan@test.com", "10.0.0.1"));
+
+        rateLimiter.acquire("juan@test.com", "10.0.0.2");
+        assertDoesNotThrow(() -> rateLimiter.acquire("juan@test.com", "10.0.0.3"));
+    }
+
+    @Test
+    void acquire_WithoutKeys_ShouldNotThrottle() {
+        for (int i = 0; i < 10; i++) {
+            assertDoesNotThrow(() -> rateLimiter.acquire(null, null));
+        }
+    }
+
+    @Test
+    void acquire_ShouldRefillOverTime() {
+        rateLimiter.acquire("juan@test.com", "10.0.0.1");
+        rateLimiter.acquire("juan@test.com", "10.0.0.1");
+        assertThrows(LoginThrottledException.class, () -> rateLimiter.acquire("juan@test.com", "10.0.0.1"));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertDoesNotThrow(() -> rateLimiter.acquire("juan@test.com", "10.0.0.1"));
+    }
+}
@@ -0,0 +1,153 @@
+package co.com.bancolombia.api.authorization;
+
+import co.com.bancolombia.api.jwt.JwtPrincipal;
+import co.com.bancolombia.model.role.RolePermission;
+import co.com.bancolombia.model.role.gateways.RolePermissionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.ReactiveAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuthorizationPolicyTest {
+
+    private static final UUID ADMIN = UUID.fromString("80e86d27-20a4-44be-b90d-44eeb378d409");
+    private static final UUID CLIENT = UUID.fromString("b71ed6c9-1dd9-4c14-8a4a-fe06166d5cdb");
+    private static final String USER_BY_ID = "/api/v1/users/{id}";
+
+    private RolePermissionRepository permissionRepository;
+    private AuthorizationPolicy policy;
+
+    @BeforeEach
+    void setUp() {
+        permissionRepository = mock(RolePermissionRepository.class);
+        policy = new AuthorizationPolicy(permissionRepository, new AuthorizationPolicyProperties(null, null));
+        when(permissionRepository.findAllPermissions()).thenReturn(Flux.just(
+                permission(ADMIN, "GET", USER_BY_ID, "ALL"),
+                permission(CLIENT, "GET", USER_BY_ID, "SELF"),
+                permission("not-a-uuid", "GET", USER_BY_ID, "ALL")));
+        StepVerifier.create(policy.reload()).verifyComplete();
+    }
+
+    @Test
+    void grantsRoleWithAllScope() {
+        expect(policy.forRoute(HttpMethod.GET, USER_BY_ID), ADMIN, UUID.randomUUID(), UUID.randomUUID(), true);
+    }
+
+    @Test
+    void selfScopeOnlyMatchesOwnId() {
+        UUID userId = UUID.randomUUID();
+        ReactiveAuthorizationManager<AuthorizationContext> manager = policy.forRoute(HttpMethod.GET, USER_BY_ID);
+
+        expect(manager, CLIENT, userId, userId, true);
+        expect(manager, CLIENT, userId, UUID.randomUUID(), false);
+    }
+
+    @Test
+    void deniesRoutesAndRolesWithoutPermission() {
+        expect(policy.forRoute(HttpMethod.DELETE, USER_BY_ID), ADMIN, UUID.randomUUID(), UUID.randomUUID(), false);
+        expect(policy.forRoute(HttpMethod.GET, USER_BY_ID), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), false);
+    }
+
+    @Test
+    void reloadSwapsTheTable() {
+        ReactiveAuthorizationManager<AuthorizationContext> delete = policy.forRoute(HttpMethod.DELETE, USER_BY_ID);
+        when(permissionRepository.findAllPermissions()).thenReturn(Flux.just(permission(ADMIN, "delete", USER_BY_ID, null)));
+
+        StepVerifier.create(policy.reload()).verifyComplete();
+
+        expect(delete, ADMIN, UUID.randomUUID(), UUID.randomUUID(), true);
+        expect(policy.forRoute(HttpMethod.GET, USER_BY_ID), ADMIN, UUID.randomUUID(), UUID.randomUUID(), false);
+    }
+
+    @Test
+    void startupLoadsTheTableBeforeServing() {
+        AuthorizationPolicy fresh = new AuthorizationPolicy(permissionRepository, new AuthorizationPolicyProperties(null, null));
+
+        fresh.loadTable();
+
+        expect(fresh.forRoute(HttpMethod.GET, USER_BY_ID), ADMIN, UUID.randomUUID(), UUID.randomUUID(), true);
+    }
+
+    @Test
+    void startupFailsWhenThePermissionsCannotBeRead() {
+        AuthorizationPolicy fresh = new AuthorizationPolicy(permissionRepository, new AuthorizationPolicyProperties(null, null));
+        when(permissionRepository.findAllPermissions()).thenReturn(Flux.error(new IllegalStateException("no connection")));
+
+        assertThatThrownBy(fresh::loadTable).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void roleChangesReloadTheTable() {
+        ReactiveAuthorizationManager<AuthorizationContext> delete = policy.forRoute(HttpMethod.DELETE, USER_BY_ID);
+        when(permissionRepository.findAllPermissions()).thenReturn(Flux.just(permission(ADMIN, "DELETE", USER_BY_ID, "ALL")));
+
+        StepVerifier.create(policy.onRolesChanged()).verifyComplete();
+
+        expect(delete, ADMIN, UUID.randomUUID(), UUID.randomUUID(), true);
+    }
+
+    @Test
+    void idFilterAppliesTheRouteScopeToEachId() {
+        UUID userId = UUID.randomUUID();
+        Predicate<String> admin = policy.idFilter(HttpMethod.GET, USER_BY_ID, authentication(ADMIN, userId));
+        Predicate<String> client = policy.idFilter(HttpMethod.GET, USER_BY_ID, authentication(CLIENT, userId));
+        Predicate<String> noPermission = policy.idFilter(HttpMethod.DELETE, USER_BY_ID, authentication(ADMIN, userId));
+
+        assertThat(admin).accepts(userId.toString(), UUID.randomUUID().toString());
+        assertThat(client).accepts(userId.toString()).rejects(UUID.randomUUID().toString());
+        assertThat(noPermission).rejects(userId.toString());
+        assertThat(policy.idFilter(HttpMethod.GET, USER_BY_ID, null)).rejects(userId.toString());
+    }
+
+    @Test
+    void deniesWithoutAuthentication() {
+        AuthorizationContext context = new AuthorizationContext(mock(ServerWebExchange.class), Map.of());
+
+        StepVerifier.create(policy.forRoute(HttpMethod.GET, USER_BY_ID).check(Mono.empty(), context))
+                .expectNextMatches(decision -> !decision.isGranted())
+                .verifyComplete();
+    }
+
+    private void expect(ReactiveAuthorizationManager<AuthorizationContext> manager,
+                        UUID roleId, UUID userId, UUID pathId, boolean granted) {
+        Authentication authentication = authentication(roleId, userId);
+        AuthorizationContext context = new AuthorizationContext(mock(ServerWebExchange.class),
+                Map.of("id", pathId.toString()));
+
+        StepVerifier.create(manager.check(Mono.just(authentication), context))
+                .expectNextMatches(decision -> decision.isGranted() == granted)
+                .verifyComplete();
+    }
+
+    private static Authentication authentication(UUID roleId, UUID userId) {
+        JwtPrincipal principal = new JwtPrincipal(userId, roleId, Instant.now().plusSeconds(60));
+        return new UsernamePasswordAuthenticationToken(principal, null, List.of());
+    }
+
+    private static RolePermission permission(Object roleId, String method, String route, String scope) {
+        return RolePermission.builder()
+                .idRol(roleId.toString())
+                .httpMethod(method)
+                .route(route)
+                .scope(scope)
+                .build();
+    }
+}
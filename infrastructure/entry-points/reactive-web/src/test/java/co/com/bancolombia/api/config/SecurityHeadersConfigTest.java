@@ -0,0 +1,104 @@
+package co.com.bancolombia.api.config;
+
+import co.com.bancolombia.api.authorization.AuthorizationPolicy;
+import co.com.bancolombia.api.jwt.JwtTokenCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.WebFilterChainProxy;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SecurityHeadersConfigTest {
+
+    private final SecurityHeadersConfig filter = new SecurityHeadersConfig();
+
+    @Test
+    void defaultsToNoStore() {
+        HttpHeaders headers = filter(MockServerHttpRequest.post("/api/v1/auth/login").build(), null);
+
+        assertThat(headers.getCacheControl()).isEqualTo("no-store");
+        assertThat(headers.getPragma()).isEqualTo("no-cache");
+        assertThat(headers.getFirst("X-Content-Type-Options")).isEqualTo("nosniff");
+    }
+
+    @Test
+    void userProfilesMustBeRevalidated() {
+        HttpHeaders headers = filter(MockServerHttpRequest.get("/api/v1/users/123").build(), null);
+
+        assertThat(headers.getCacheControl()).isEqualTo("no-cache, private");
+        assertThat(headers.getPragma()).isNull();
+    }
+
+    @Test
+    void searchIsMatchedBeforeTheIdRoute() {
+        HttpHeaders headers = filter(MockServerHttpRequest.get("/api/v1/users/search").build(), null);
+
+        assertThat(headers.getCacheControl()).isEqualTo("no-store");
+    }
+
+    @Test
+    void keepsCacheControlSetByTheHandler() {
+        CacheControl handlerPolicy = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+
+        HttpHeaders headers = filter(MockServerHttpRequest.get("/.well-known/jwks.json").build(), handlerPolicy);
+
+        assertThat(headers.getCacheControl()).isEqualTo("max-age=300, public");
+    }
+
+    @Test
+    void routePoliciesSurviveTheSecurityChain() {
+        WebTestClient client = throughSecurityChain();
+
+        client.get().uri("/api/v1/users/123").exchange()
+                .expectHeader().cacheControl(CacheControl.noCache().cachePrivate());
+        client.get().uri("/api/v1/statistics/users").exchange()
+                .expectHeader().cacheControl(CacheControl.maxAge(Duration.ofMinutes(1)).cachePrivate());
+        client.get().uri("/health").exchange()
+                .expectHeader().cacheControl(CacheControl.noStore())
+                .expectHeader().valueEquals(HttpHeaders.PRAGMA, "no-cache");
+    }
+
+    // Same filter order as the application: WebFilterChainProxy runs before the unordered headers filter
+    private WebTestClient throughSecurityChain() {
+        AuthorizationPolicy policy = mock(AuthorizationPolicy.class);
+        when(policy.forRoute(any(), any()))
+                .thenReturn((authentication, context) -> Mono.just(new AuthorizationDecision(true)));
+        SecurityWebFilterChain chain = new SecurityConfig(mock(JwtTokenCache.class), policy)
+                .securityWebFilterChain(ServerHttpSecurity.http());
+        RouterFunction<ServerResponse> routes = RouterFunctions.route()
+                .GET("/api/v1/users/{id}", request -> ServerResponse.ok().build())
+                .GET("/api/v1/statistics/users", request -> ServerResponse.ok().build())
+                .GET("/health", request -> ServerResponse.ok().build())
+                .build();
+        return WebTestClient.bindToRouterFunction(routes)
+                .webFilter(new WebFilterChainProxy(chain), filter)
+                .build();
+    }
+
+    private HttpHeaders filter(MockServerHttpRequest request, CacheControl handlerPolicy) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        filter.filter(exchange, chained -> {
+            if (handlerPolicy != null) {
+                chained.getResponse().getHeaders().setCacheControl(handlerPolicy);
+            }
+            return chained.getResponse().setComplete();
+        }).block();
+        return exchange.getResponse().getHeaders();
+    }
+}
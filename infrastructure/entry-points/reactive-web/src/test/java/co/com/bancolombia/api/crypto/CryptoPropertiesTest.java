@@ -0,0 +1,24 @@
+package co.com.bancolombia.api.crypto;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CryptoPropertiesTest {
+
+    @Test
+    void defaultsKeepTheRangeOrdered() {
+        CryptoProperties props = new CryptoProperties(null, null, null, 15, null, null);
+
+        assertEquals(15, props.minStrength());
+        assertEquals(15, props.maxStrength());
+    }
+
+    @Test
+    void rejectsMinimumAboveMaximum() {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> new CryptoProperties(null, null, null, 13, 12, null));
+
+        assertTrue(error.getMessage().contains("min-strength (13)"));
+    }
+}
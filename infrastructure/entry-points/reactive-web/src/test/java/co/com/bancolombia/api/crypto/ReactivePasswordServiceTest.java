@@ -0,0 +1,105 @@
+package co.com.bancolombia.api.crypto;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactivePasswordServiceTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private SimpleMeterRegistry meterRegistry;
+    private ReactivePasswordService passwordService;
+
+    @BeforeEach
+    void setUp() {
+        PasswordEncoder blockingEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                await();
+                return "hashed:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                await();
+                return encodedPassword.equals("hashed:" + rawPassword);
+            }
+        };
+        meterRegistry = new SimpleMeterRegistry();
+        passwordService = new ReactivePasswordService(blockingEncoder, new CryptoProperties(1, 1, null, null, null, null), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        passwordService.shutdown();
+    }
+
+    @Test
+    void encodeAndMatches_ShouldRunOnCryptoThreads() {
+        release.countDown();
+
+        StepVerifier.create(passwordService.encode("secret")
+                        .flatMap(hash -> passwordService.matches("secret", hash)
+                                .map(matches -> matches && Thread.currentThread().getName().startsWith("crypto-"))))
+                .expectNext(true)
+                .verifyComplete();
+
+        assertEquals(1, meterRegistry.get("crypto.password.hash").tag("operation", "encode").timer().count());
+        assertEquals(1, meterRegistry.get("crypto.password.hash").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void encode_WhenPoolSaturated_ShouldFailFast() {
+        Mono<String> running = passwordService.encode("running").cache();
+        Mono<String> queued = passwordService.encode("queued").cache();
+        running.subscribe();
+        queued.subscribe();
+
+        StepVerifier.create(passwordService.encode("rejected"))
+                .expectError(CryptoSaturatedException.class)
+                .verify();
+
+        assertEquals(1.0, meterRegistry.get("crypto.password.rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("crypto.password.queue.depth").gauge().value());
+    }
+
+    @Test
+    void needsRehash_ShouldFlagHashesBelowCurrentStrength() {
+        ReactivePasswordService bcrypt = new ReactivePasswordService(new BCryptPasswordEncoder(5),
+                new CryptoProperties(1, 1, null, null, null, null), new SimpleMeterRegistry());
+
+        assertTrue(bcrypt.needsRehash(new BCryptPasswordEncoder(4).encode("secret")));
+        assertFalse(bcrypt.needsRehash(new BCryptPasswordEncoder(5).encode("secret")));
+        StepVerifier.create(bcrypt.matches("secret", new BCryptPasswordEncoder(4).encode("secret")))
+                .expectNext(true)
+                .verifyComplete();
+        bcrypt.shutdown();
+    }
+
+    @Test
+    void calibrate_ShouldPickHighestStrengthWithinBudget() {
+        // 10 ms at strength 10 -> 20, 40, 80 ms fit a 100 ms budget
+        assertEquals(13, BCryptCalibrator.calibrate(10, 14, 100, strength -> 10_000_000L));
+        assertEquals(10, BCryptCalibrator.calibrate(10, 14, 100, strength -> 300_000_000L));
+        assertEquals(14, BCryptCalibrator.calibrate(10, 14, 10_000, strength -> 1_000_000L));
+    }
+
+    private void await() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
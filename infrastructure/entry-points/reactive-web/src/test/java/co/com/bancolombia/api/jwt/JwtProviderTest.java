@@ -0,0 +1,272 @@
+package co.com.bancolombia.api.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.AlgorithmParameters;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtProviderTest {
+
+    private static final String SECRET = "mySecretKeyForJWTTokenGenerationShouldBeAtLeast32Characters";
+    private static final String NEXT_SECRET = "anotherSecretKeyForJWTTokenGenerationAtLeast32Characters";
+
+    private JwtKeyRing keyRing;
+    private JwtProvider jwtProvider;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties props = new JwtProperties(SECRET, 60_000, null, null, null);
+        keyRing = new JwtKeyRing(props);
+        jwtProvider = new JwtProvider(props, keyRing);
+    }
+
+    @Test
+    void generateToken_ShouldCarryKidAndClaims() {
+        UUID userId = UUID.randomUUID();
+        UUID roleId = UUID.randomUUID();
+
+        String token = jwtProvider.generateToken(userId, roleId);
+
+        assertTrue(jwtProvider.isTokenValid(token));
+        assertEquals(userId, jwtProvider.extractUserId(token));
+        assertEquals(roleId, jwtProvider.extractRoleId(token));
+        assertEquals(keyRing.activeKeyId(), Jwts.parserBuilder().setSigningKeyResolver(keyRing).build()
+                .parseClaimsJws(token).getHeader().getKeyId());
+    }
+
+    @Test
+    void parse_ShouldReturnTypedPrincipal() {
+        UUID userId = UUID.randomUUID();
+        UUID roleId = UUID.randomUUID();
+
+        JwtPrincipal principal = jwtProvider.parse(jwtProvider.generateToken(userId, roleId));
+
+        assertEquals(userId, principal.userId());
+        assertTrue(principal.hasRole(roleId));
+        assertTrue(principal.isUser(userId.toString()));
+        assertTrue(principal.expiresAt().isAfter(Instant.now()));
+    }
+
+    @Test
+    void parse_WithExpiredToken_ShouldFail() {
+        JwtProperties expiredProps = new JwtProperties(SECRET, 1, null, null, null);
+        String token = new JwtProvider(expiredProps, keyRing).generateToken(UUID.randomUUID(), UUID.randomUUID());
+
+        assertThrows(ExpiredJwtException.class, () -> {
+            Thread.sleep(5);
+            jwtProvider.parse(token);
+        });
+    }
+
+    @Test
+    void rotate_ShouldKeepVerifyingTokensSignedWithPreviousKey() {
+        String oldKid = keyRing.activeKeyId();
+        String oldToken = jwtProvider.generateToken(UUID.randomUUID(), UUID.randomUUID());
+
+        keyRing.rotate(NEXT_SECRET);
+        String newToken = jwtProvider.generateToken(UUID.randomUUID(), UUID.randomUUID());
+
+        assertNotEquals(oldKid, keyRing.activeKeyId());
+        assertTrue(jwtProvider.isTokenValid(oldToken));
+        assertTrue(jwtProvider.isTokenValid(newToken));
+    }
+
+    @Test
+    void rotate_UnderEs256_ShouldInstallTheNewEcKey() {
+        JwtProperties esProps = new JwtProperties(SECRET, 60_000, null, null,
+                new JwtSigningProperties(SignatureAlgorithm.ES256, null, null));
+        JwtKeyRing esKeyRing = new JwtKeyRing(esProps);
+        JwtProvider esProvider = new JwtProvider(esProps, esKeyRing);
+        String oldToken = esProvider.generateToken(UUID.randomUUID(), UUID.randomUUID());
+
+        esKeyRing.rotate(Keys.keyPairFor(SignatureAlgorithm.ES256));
+        String newToken = esProvider.generateToken(UUID.randomUUID(), UUID.randomUUID());
+
+        assertEquals(SignatureAlgorithm.ES256, esKeyRing.activeAlgorithm());
+        assertEquals(2, ((List<?>) esKeyRing.jwks().get("keys")).size());
+        assertTrue(esProvider.isTokenValid(oldToken));
+        assertTrue(esProvider.isTokenValid(newToken));
+    }
+
+    @Test
+    void rotate_WithKeyOfAnotherAlgorithm_ShouldFail() {
+        JwtProperties esProps = new JwtProperties(SECRET, 60_000, null, null,
+                new JwtSigningProperties(SignatureAlgorithm.ES256, null, null));
+        JwtKeyRing esKeyRing = new JwtKeyRing(esProps);
+        String activeKid = esKeyRing.activeKeyId();
+
+        assertThrows(IllegalStateException.class, () -> esKeyRing.rotate(NEXT_SECRET));
+        assertThrows(IllegalStateException.class,
+                () -> keyRing.rotate(Keys.keyPairFor(SignatureAlgorithm.ES256)));
+        assertEquals(activeKid, esKeyRing.activeKeyId());
+    }
+
+    @Test
+    void rotate_ShouldKeepRetiredKeysForTheTokenLifetime() {
+        AtomicReference<Instant> now = new AtomicReference<>(Instant.now());
+        JwtProperties props = new JwtProperties(SECRET, 60_000, null, null, null);
+        JwtKeyRing ring = new JwtKeyRing(props, now::get);
+        JwtProvider provider = new JwtProvider(props, ring);
+        String legacyToken = legacyToken();
+        String oldToken = provider.generateToken(UUID.randomUUID(), UUID.randomUUID());
+
+        for (int i = 0; i < 5; i++) {
+            ring.rotate(NEXT_SECRET + i);
+        }
+        assertTrue(provider.isTokenValid(legacyToken));
+        assertTrue(provider.isTokenValid(oldToken));
+
+        now.set(now.get().plusSeconds(61));
+        ring.rotate(NEXT_SECRET);
+
+        assertFalse(provider.isTokenValid(legacyToken));
+        assertFalse(provider.isTokenValid(oldToken));
+    }
+
+    @Test
+    void rotate_UnderEs256_ShouldAcceptPemKeyPairs() {
+        JwtProperties esProps = new JwtProperties(SECRET, 60_000, null, null,
+                new JwtSigningProperties(SignatureAlgorithm.ES256, null, null));
+        JwtKeyRing esKeyRing = new JwtKeyRing(esProps);
+        KeyPair next = Keys.keyPairFor(SignatureAlgorithm.ES256);
+
+        esKeyRing.rotate(pem(next.getPrivate().getEncoded()), pem(next.getPublic().getEncoded()));
+
+        assertEquals(next.getPublic(), esKeyRing.active().verificationKey());
+        assertThrows(IllegalArgumentException.class, () -> esKeyRing.rotate("not a key", "not a key"));
+        assertThrows(IllegalArgumentException.class, () -> esKeyRing.rotate(null, null));
+    }
+
+    @Test
+    void previousSecrets_ShouldVerifyTokensFromEarlierDeployments() {
+        JwtProperties oldProps = new JwtProperties(NEXT_SECRET, 60_000, null, null, null);
+        String oldToken = new JwtProvider(oldProps, new JwtKeyRing(oldProps))
+                .generateToken(UUID.randomUUID(), UUID.randomUUID());
+
+        assertFalse(jwtProvider.isTokenValid(oldToken));
+
+        JwtProperties rotatedProps = new JwtProperties(SECRET, 60_000, List.of(NEXT_SECRET), null, null);
+        assertTrue(new JwtProvider(rotatedProps, new JwtKeyRing(rotatedProps)).isTokenValid(oldToken));
+    }
+
+    @Test
+    void es256_ShouldSignWithEcKeyAndPublishItInJwks() throws Exception {
+        JwtProperties esProps = new JwtProperties(SECRET, 60_000, null, null,
+                new JwtSigningProperties(SignatureAlgorithm.ES256, null, null));
+        JwtKeyRing esKeyRing = new JwtKeyRing(esProps);
+        JwtProvider esProvider = new JwtProvider(esProps, esKeyRing);
+        UUID userId = UUID.randomUUID();
+
+        String token = esProvider.generateToken(userId, UUID.randomUUID());
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> keys = (List<Map<String, Object>>) esProvider.jwks().get("keys");
+        assertEquals(1, keys.size());
+        Map<String, Object> jwk = keys.get(0);
+        assertEquals(esKeyRing.activeKeyId(), jwk.get("kid"));
+        assertEquals("ES256", jwk.get("alg"));
+
+        Claims claims = Jwts.parserBuilder()
+                .setSigningKey(publicKeyOf(jwk))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+        assertEquals(userId.toString(), claims.getSubject());
+    }
+
+    @Test
+    void es256_ShouldStillAcceptHs256TokensDuringMigration() {
+        String hsToken = jwtProvider.generateToken(UUID.randomUUID(), UUID.randomUUID());
+        JwtProperties esProps = new JwtProperties(SECRET, 60_000, null, null,
+                new JwtSigningProperties(SignatureAlgorithm.ES256, null, null));
+
+        assertTrue(new JwtProvider(esProps, new JwtKeyRing(esProps)).isTokenValid(hsToken));
+        assertTrue(((List<?>) jwtProvider.jwks().get("keys")).isEmpty());
+    }
+
+    @Test
+    void isTokenValid_WithoutKid_ShouldUseLegacyHmacKey() {
+        String legacyToken = legacyToken();
+
+        assertTrue(jwtProvider.isTokenValid(legacyToken));
+        keyRing.rotate(NEXT_SECRET);
+        assertTrue(jwtProvider.isTokenValid(legacyToken));
+    }
+
+    @Test
+    void es256_ShouldAcceptLegacyHs256TokensWithoutKid() {
+        JwtProperties esProps = new JwtProperties(SECRET, 60_000, null, null,
+                new JwtSigningProperties(SignatureAlgorithm.ES256, null, null));
+
+        assertTrue(new JwtProvider(esProps, new JwtKeyRing(esProps)).isTokenValid(legacyToken()));
+    }
+
+    @Test
+    void isTokenValid_WithoutKidAndAsymmetricAlgorithm_ShouldFail() {
+        String token = Jwts.builder()
+                .setSubject(UUID.randomUUID().toString())
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.keyPairFor(SignatureAlgorithm.ES256).getPrivate(), SignatureAlgorithm.ES256)
+                .compact();
+
+        assertFalse(jwtProvider.isTokenValid(token));
+    }
+
+    private static String legacyToken() {
+        return Jwts.builder()
+                .setSubject(UUID.randomUUID().toString())
+                .claim("idRol", UUID.randomUUID().toString())
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    private static String pem(byte[] der) {
+        return "-----BEGIN KEY-----\n" + Base64.getMimeEncoder().encodeToString(der) + "\n-----END KEY-----";
+    }
+
+    private static PublicKey publicKeyOf(Map<String, Object> jwk) throws Exception {
+        AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+        parameters.init(new ECGenParameterSpec("secp256r1"));
+        ECParameterSpec spec = parameters.getParameterSpec(ECParameterSpec.class);
+        ECPoint point = new ECPoint(
+                new BigInteger(1, Base64.getUrlDecoder().decode((String) jwk.get("x"))),
+                new BigInteger(1, Base64.getUrlDecoder().decode((String) jwk.get("y"))));
+        return KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(point, spec));
+    }
+
+    @Test
+    void isTokenValid_WithUnknownKid_ShouldFail() {
+        String token = Jwts.builder()
+                .setHeaderParam("kid", "unknown")
+                .setSubject(UUID.randomUUID().toString())
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertFalse(jwtProvider.isTokenValid(token));
+    }
+}
@@ -0,0 +1,95 @@
+package co.com.bancolombia.api.jwt;
+
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtTokenCacheTest {
+
+    private static final String SECRET = "mySecretKeyForJWTTokenGenerationShouldBeAtLeast32Characters";
+
+    private final AtomicLong nanos = new AtomicLong(JwtTokenCache.epochNanos(Instant.now()));
+    private JwtKeyRing keyRing;
+    private JwtProvider jwtProvider;
+    private SimpleMeterRegistry meterRegistry;
+    private JwtTokenCache tokenCache;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties props = new JwtProperties(SECRET, 60_000, null, 100L, null);
+        keyRing = new JwtKeyRing(props, () -> Instant.EPOCH.plusNanos(nanos.get()));
+        jwtProvider = spy(new JwtProvider(props, keyRing));
+        meterRegistry = new SimpleMeterRegistry();
+        tokenCache = new JwtTokenCache(jwtProvider, keyRing, props, meterRegistry, nanos::get);
+    }
+
+    @Test
+    void verify_ShouldParseTokenOnlyOnce() {
+        UUID userId = UUID.randomUUID();
+        String token = jwtProvider.generateToken(userId, UUID.randomUUID());
+
+        JwtPrincipal first = tokenCache.verify(token);
+        JwtPrincipal second = tokenCache.verify(token);
+
+        assertEquals(userId, first.userId());
+        assertSame(first, second);
+        verify(jwtProvider, times(1)).parse(token);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", JwtTokenCache.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void verify_WithInvalidToken_ShouldFailAndNotCache() {
+        assertThrows(JwtException.class, () -> tokenCache.verify("invalid.token.value"));
+
+        assertEquals(0, tokenCache.size());
+    }
+
+    @Test
+    void verify_WithExpiredEntry_ShouldNotServeFromCache() {
+        String token = jwtProvider.generateToken(UUID.randomUUID(), UUID.randomUUID());
+        tokenCache.verify(token);
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        tokenCache.verify(token);
+        verify(jwtProvider, times(1)).parse(token);
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertEquals(0, tokenCache.size());
+        tokenCache.verify(token);
+        verify(jwtProvider, times(2)).parse(token);
+    }
+
+    @Test
+    void verify_AfterRotation_ShouldParseAgain() {
+        String token = jwtProvider.generateToken(UUID.randomUUID(), UUID.randomUUID());
+        tokenCache.verify(token);
+
+        keyRing.rotate("anotherSecretKeyForJWTTokenGenerationAtLeast32Chars");
+
+        assertEquals(0, tokenCache.size());
+        tokenCache.verify(token);
+        verify(jwtProvider, times(2)).parse(token);
+    }
+
+    @Test
+    void verify_WithRetiredKey_ShouldFailEvenIfCached() {
+        String token = jwtProvider.generateToken(UUID.randomUUID(), UUID.randomUUID());
+        tokenCache.verify(token);
+
+        keyRing.rotate("rotatedSecretKeyForJWTTokenGenerationNumber1AtLeast32Chars");
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        keyRing.rotate("rotatedSecretKeyForJWTTokenGenerationNumber2AtLeast32Chars");
+
+        assertThrows(JwtException.class, () -> tokenCache.verify(token));
+    }
+}
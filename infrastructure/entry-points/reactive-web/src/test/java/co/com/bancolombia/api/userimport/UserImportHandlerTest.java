@@ -0,0 +1,77 @@
+package co.com.bancolombia.api.userimport;
+
+import co.com.bancolombia.api.UserImportRouterRest;
+import co.com.bancolombia.model.user.UserImportResult;
+import co.com.bancolombia.model.user.UserImportRow;
+import co.com.bancolombia.usecase.userimport.UserImportUseCase;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserImportHandlerTest {
+
+    private UserImportUseCase userImportUseCase;
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        userImportUseCase = mock(UserImportUseCase.class);
+        UserImportParser parser = new UserImportParser(JsonMapper.builder()
+                .findAndAddModules()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build());
+        UserImportHandler handler = new UserImportHandler(userImportUseCase, parser, new UserImportProperties(100, 2));
+        webTestClient = WebTestClient.bindToRouterFunction(new UserImportRouterRest().userImportRoutes(handler)).build();
+    }
+
+    @Test
+    void streamsOneResultPerCsvRow() {
+        when(userImportUseCase.importUsers(any(), eq(100), eq(2))).thenAnswer(call ->
+                call.<Flux<UserImportRow>>getArgument(0).map(row -> row.error() == null
+                        ? new UserImportResult(row.line(), "id-" + row.line(), row.user().getEmailAddress(),
+                        UserImportResult.Status.CREATED, null)
+                        : UserImportResult.rejected(row.line(), null, UserImportResult.Status.INVALID, row.error())));
+
+        String body = "name,lastName,emailAddress,baseSalary,idRol,password\r\n"
+                + "Juan,Perez,juan@test.com,2000000,DEV,secret\r\n"
+                + "Ana,Gomez,no-es-correo,2000000,DEV,secret\r\n";
+
+        var results = webTestClient.post()
+                .uri("/api/v1/users:import")
+                .contentType(UserImportParser.TEXT_CSV)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(UserImportResult.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertThat(results).extracting(UserImportResult::line, UserImportResult::status)
+                .containsExactly(
+                        tuple(2L, UserImportResult.Status.CREATED),
+                        tuple(3L, UserImportResult.Status.INVALID));
+    }
+
+    @Test
+    void rejectsOtherContentTypes() {
+        webTestClient.post()
+                .uri("/api/v1/users:import")
+                .contentType(MediaType.APPLICATION_XML)
+                .bodyValue("<users/>")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
@@ -0,0 +1,73 @@
+package co.com.bancolombia.api.userimport;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserImportParserTest {
+
+    private final UserImportParser parser = new UserImportParser(JsonMapper.builder()
+            .findAndAddModules()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build());
+
+    @Test
+    void parsesNdjsonLinesAndKeepsTheirNumbers() {
+        Flux<String> lines = Flux.just(
+                "{\"name\":\"Juan\",\"lastName\":\"Perez\",\"emailAddress\":\"juan@test.com\","
+                        + "\"baseSalary\":2000000,\"idRol\":\"DEV\",\"password\":\"secret\",\"birthDate\":\"1990-05-01\"}",
+                "",
+                "{not json");
+
+        StepVerifier.create(parser.parse(lines, MediaType.APPLICATION_NDJSON))
+                .expectNextMatches(row -> row.line() == 1 && row.user().getEmailAddress().equals("juan@test.com")
+                        && row.user().getBirthDate().equals(LocalDate.of(1990, 5, 1)))
+                .expectNextMatches(row -> row.line() == 3 && row.user() == null && row.error() != null)
+                .verifyComplete();
+    }
+
+    @Test
+    void mapsCsvColumnsByHeader() {
+        Flux<String> lines = Flux.just(
+                "\uFEFFemailAddress,name,lastName,baseSalary,idRol,password,address",
+                "ana@test.com,Ana,\"Gomez, Ruiz\",1500000.50,DEV,secret,\"Calle \"\"10\"\"\"",
+                "bad@test.com,Bea,Diaz,mucho,DEV,secret,",
+                "short@test.com,Solo");
+
+        StepVerifier.create(parser.parse(lines, UserImportParser.TEXT_CSV))
+                .expectNextMatches(row -> row.line() == 2
+                        && row.user().getLastName().equals("Gomez, Ruiz")
+                        && row.user().getAddress().equals("Calle \"10\"")
+                        && row.user().getBaseSalary().compareTo(new BigDecimal("1500000.50")) == 0)
+                .expectNextMatches(row -> row.line() == 3 && row.error() != null)
+                .expectNextMatches(row -> row.line() == 4 && row.error().contains("columnas"))
+                .verifyComplete();
+    }
+
+    @Test
+    void domainRulesRejectTheRow() {
+        StepVerifier.create(parser.parse(Flux.just("{\"name\":\"Juan\",\"emailAddress\":\"no-es-correo\"}"),
+                        MediaType.APPLICATION_NDJSON))
+                .expectNextMatches(row -> row.user() == null && !row.error().isBlank())
+                .verifyComplete();
+    }
+
+    @Test
+    void splitsQuotedCsvValues() {
+        assertThat(UserImportParser.splitCsv("a,\"b,c\",\"d\"\"e\",")).containsExactly("a", "b,c", "d\"e", "");
+    }
+
+    @Test
+    void emptyCsvHasNoRows() {
+        StepVerifier.create(parser.parse(Flux.<String>empty(), UserImportParser.TEXT_CSV))
+                .verifyComplete();
+    }
+}